@@ -0,0 +1,6 @@
+package server.constants;
+
+public class ExportFormat {
+  public static final String CSV = "csv";
+  public static final String NDJSON = "ndjson";
+}
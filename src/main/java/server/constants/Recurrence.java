@@ -0,0 +1,6 @@
+package server.constants;
+
+public class Recurrence {
+  public static final String DAILY = "daily";
+  public static final String WEEKLY = "weekly";
+}
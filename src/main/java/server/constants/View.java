@@ -0,0 +1,6 @@
+package server.constants;
+
+public class View {
+  public static final String SUMMARY = "summary";
+  public static final String DETAIL = "detail";
+}
@@ -0,0 +1,31 @@
+package server.controllers;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.mvc.AbstractMvcEndpoint;
+import org.springframework.stereotype.Component;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.ResponseBody;
+import server.service.StatisticsRebuildService;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * POST /statistics/rebuild on the management port rebuilds the organization statistics tables
+ */
+@Component
+public class StatisticsRebuildEndpoint extends AbstractMvcEndpoint {
+
+  @Autowired
+  private StatisticsRebuildService statisticsRebuildService;
+
+  public StatisticsRebuildEndpoint() {
+    super("/statistics/rebuild", true);
+  }
+
+  @PostMapping
+  @ResponseBody
+  public Map<String, Object> rebuild() {
+    return Collections.singletonMap("millis", statisticsRebuildService.rebuild());
+  }
+}
@@ -28,6 +28,7 @@ import server.entities.user_to_group.permissions.PermissionFactory;
 import server.repositories.LinkRepository;
 import server.service.EntityFinder;
 import server.service.LinkResolver;
+import server.utility.ETagUtil;
 
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
@@ -120,6 +121,11 @@ public class LinkController {
       return new TypedResponse<>(response, BaseResponse.Status.DENIED, INVALID_SESSION);
     }
 
+    String eTag = ETagUtil.weakETag(linkRepository.getVersion(profileId, profileType));
+    if (ETagUtil.notModified(request, response, eTag)) {
+      return null;
+    }
+
     return new TypedResponse<>(response, BaseResponse.Status.OK, null,
         linkRepository.getLinksWithIdOfType(profileId, profileType));
   }
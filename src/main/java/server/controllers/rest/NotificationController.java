@@ -10,12 +10,15 @@ import io.swagger.annotations.Api;
 import io.swagger.annotations.ApiOperation;
 import io.swagger.annotations.ApiParam;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseBody;
 import server.controllers.FuseSessionController;
 import server.controllers.rest.response.BaseResponse;
@@ -48,13 +51,19 @@ import server.utility.NotificationEntityNames;
 
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
 import java.time.ZonedDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
-import java.util.Objects;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.BiFunction;
 import java.util.stream.Collectors;
 
 @Controller
@@ -95,6 +104,9 @@ public class NotificationController {
   @Autowired
   private OrganizationApplicantRepository organizationApplicantRepository;
 
+  @Value("${fuse.notification.coalesceWindowMinutes:60}")
+  private int coalesceWindowMinutes;
+
   public void sendFriendshipRequestNotification(Friendship friendship) {
     User reciever = friendship.getReceiver();
     User sender = friendship.getSender();
@@ -129,11 +141,11 @@ public class NotificationController {
         NotificationType.FRIEND_REQUEST,
         NotificationStatus.PENDING_INVITE
     );
-    notificationRepository.getNotificationsByDataAndType(
-        friendship.getId(),
+    notificationRepository.markDoneByDataAndType(
+        Collections.singletonList(friendship.getId()),
         notificationInfo.dataType,
         notificationInfo.notificationType
-    ).forEach(this::markNotificationDone);
+    );
   }
 
   public void sendApplicationRejectedNotification(GroupApplication application) {
@@ -166,30 +178,26 @@ public class NotificationController {
     );
   }
 
-  public <T extends Group, I extends GroupInvitation<T>> void sendJoinInvitationNotification(I groupInvitation) {
-    User receiver = groupInvitation.getReceiver();
-    T group = groupInvitation.getGroup();
-    String msg = "You have been invited to join " + group.getName() + "!";
-    sendNotification(
-        receiver,
-        msg,
-        getNotificationEntityType(group),
-        NotificationType.JOIN_INVITATION,
-        NotificationStatus.PENDING_INVITE,
-        groupInvitation.getId()
-    );
+  public <T extends Group, I extends GroupInvitation<T>> void sendJoinInvitationNotifications(List<I> groupInvitations) {
+    // Saved with one call so the list shares a transaction; IDENTITY ids still mean one INSERT per row
+    List<Notification> notifications = new ArrayList<>();
+    for (I groupInvitation : groupInvitations) {
+      T group = groupInvitation.getGroup();
+      String msg = "You have been invited to join " + group.getName() + "!";
+      notifications.add(createNotification(
+          groupInvitation.getReceiver(),
+          msg,
+          getNotificationEntityType(group),
+          NotificationType.JOIN_INVITATION,
+          NotificationStatus.PENDING_INVITE,
+          groupInvitation.getId()
+      ));
+    }
+    notificationRepository.save(notifications);
   }
 
   public <T extends Group> void sendUserJoinedNotification(User user, T group) {
-    String msg = user.getName() + " has joined the " + group.getGroupType().toLowerCase() + " " + group.getName();
-    sendGroupNotificationToAdmins(
-        group,
-        msg,
-        getNotificationEntityType(group),
-        NotificationType.JOINED,
-        NotificationStatus.INFO,
-        group.getId()
-    );
+    sendDigestToAdmins(group, user, "joined", NotificationType.JOINED, group.getId(), null);
   }
 
   public <T extends Group> void sendUserAcceptedInterviewNotification(User user, T group, Interview interview) {
@@ -219,17 +227,8 @@ public class NotificationController {
   }
 
   public void sendUserAppliedNotification(GroupApplication application) {
-    User user = application.getSender();
-    Group group = application.getGroup();
-    String msg = user.getName() + " has applied to the " + group.getGroupType().toLowerCase() + " " + group.getName();
-
-    Notification notification = new Notification();
-    notification.setInterview(application.getInterview());
-    notification.setMessage(msg);
-    notification.setInfo(getNotificationEntityType(group), NotificationType.APPLICATION, NotificationStatus.INFO);
-    notification.setObjectId(application.getId());
-
-    sendGroupNotificationToAdmins(group, notification);
+    sendDigestToAdmins(application.getGroup(), application.getSender(), "applied to", NotificationType.APPLICATION,
+        application.getId(), application.getInterview());
   }
 
   public <T extends Group, A extends GroupApplication<T>> void markAsDoneForApplicant(A application) {
@@ -238,43 +237,58 @@ public class NotificationController {
         NotificationType.APPLICATION,
         NotificationStatus.INFO
     );
-    notificationRepository.getNotificationsByData(
-        application.getId(),
-        notificationInfo.dataType
-    ).forEach(this::markNotificationDone);
+    List<Long> ids = Collections.singletonList(application.getId());
+    notificationRepository.markDoneByData(ids, notificationInfo.dataType);
+
+    // A digest is only done once every application merged into it is
+    for (Notification digest : notificationRepository.getPendingDigestsByData(ids, notificationInfo.dataType)) {
+      digest.getDigestObjectIds().removeAll(ids);
+      if (digest.getDigestObjectIds().isEmpty()) {
+        digest.setHasRead(true);
+        digest.setAction_done(true);
+      }
+      notificationRepository.save(digest);
+    }
   }
 
   public <T extends Group, A extends GroupApplication<T>> void markInvitationsAsDoneFor(A application) {
     Group group = application.getGroup();
     User applicant = application.getSender();
+    List<Long> invitationIds;
     if (isGroupProject(group)) {
-      projectInvitationRepository.findByReceiver(applicant).stream()
+      invitationIds = projectInvitationRepository.findByReceiver(applicant).stream()
           .filter(p -> p.getApplicant() != null && p.getApplicant().getId() == application.getId())
-          .forEach(this::markInvitationNotificationsAsDone);
+          .map(GroupInvitation::getId)
+          .collect(Collectors.toList());
     } else if (isGroupOrganzization(group)) {
-      organizationInvitationRepository.findByReceiver(applicant).stream()
+      invitationIds = organizationInvitationRepository.findByReceiver(applicant).stream()
           .filter(o -> o.getApplicant() != null && o.getApplicant().getId() == application.getId())
-          .forEach(this::markInvitationNotificationsAsDone);
+          .map(GroupInvitation::getId)
+          .collect(Collectors.toList());
+    } else {
+      return;
     }
+    markInvitationNotificationsAsDone(group, invitationIds);
   }
 
   public <T extends Group, I extends GroupInvitation<T>> void markInvitationNotificationsAsDone(I invitation) {
+    markInvitationNotificationsAsDone(invitation.getGroup(), Collections.singletonList(invitation.getId()));
+  }
+
+  private void markInvitationNotificationsAsDone(Group group, List<Long> invitationIds) {
+    if (invitationIds.isEmpty()) {
+      return;
+    }
     NotificationEntityNames notificationInfo = Notification.getNotificationEntities(
-        getNotificationEntityType(invitation.getGroup()),
+        getNotificationEntityType(group),
         NotificationType.JOIN_INVITATION,
         NotificationStatus.PENDING_INVITE
     );
-    notificationRepository.getNotificationsByDataAndType(
-        invitation.getId(),
+    notificationRepository.markDoneByDataAndType(
+        invitationIds,
         notificationInfo.dataType,
         notificationInfo.notificationType
-    ).forEach(this::markNotificationDone);
-  }
-
-  private void markNotificationDone(Notification notification) {
-    notification.setHasRead(true);
-    notification.setActionState(Notification.NotificationActionState.DONE);
-    notificationRepository.save(notification);
+    );
   }
 
   private NotificationEntity getNotificationEntityType(Group group) {
@@ -299,6 +313,17 @@ public class NotificationController {
       NotificationStatus notificationStatus,
       long id
   ) throws IllegalArgumentException {
+    notificationRepository.save(createNotification(user, message, dataType, notificationType, notificationStatus, id));
+  }
+
+  private Notification createNotification(
+      User user,
+      String message,
+      NotificationEntity dataType,
+      NotificationType notificationType,
+      NotificationStatus notificationStatus,
+      long id
+  ) throws IllegalArgumentException {
 
     Notification notification = new Notification();
     notification.setReceiver(user);
@@ -309,7 +334,7 @@ public class NotificationController {
     notification.setInfo(dataType, notificationType, notificationStatus);
 
     notification.setObjectId(id);
-    notificationRepository.save(notification);
+    return notification;
   }
 
   private void sendNotification( User user, Notification notification) throws IllegalArgumentException {
@@ -326,47 +351,83 @@ public class NotificationController {
       NotificationType notificationType,
       NotificationStatus notificationStatus,
       long id) throws IllegalArgumentException {
-    if (isGroupProject(group)) {
-      final Set<User> uniqueUsers = new HashSet<>(projectMemberRepository.getUsersByGroup((Project) group));
-      uniqueUsers.stream()
-          .filter(u -> projectMemberRepository.getRoles((Project) group, u).stream()
-              .filter(r -> r == ADMIN || r == OWNER)
-              .collect(Collectors.toList())
-              .size() > 0)
-          .forEach(u -> sendNotification(u, message, dataType, notificationType, notificationStatus, id));
+    getGroupAdmins(group).forEach(u -> sendNotification(u, message, dataType, notificationType, notificationStatus, id));
+  }
 
-    } else if (isGroupOrganzization(group)) {
-      final Set<User> uniqueUsers = new HashSet<>(organizationMemberRepository.getUsersByGroup((Organization) group));
-      uniqueUsers.stream()
-          .filter(u -> organizationMemberRepository.getRoles((Organization) group, u).stream()
-              .filter(r -> r == ADMIN || r == OWNER)
-              .collect(Collectors.toList())
-              .size() > 0)
-          .forEach(u -> sendNotification(u, message, dataType, notificationType, notificationStatus, id));
-    } else {
-      throw new IllegalArgumentException("Unknown group type " + group.getClass().getName());
+  private <T extends Group> void sendGroupNotificationToAdmins(T group, Notification notification) throws IllegalArgumentException {
+    for (User admin : getGroupAdmins(group)) {
+      // Every admin gets their own row; saving the same instance again would only move it to the next receiver
+      Notification copy = new Notification();
+      copy.setMessage(notification.getMessage());
+      copy.setNotification_type(notification.getNotification_type());
+      copy.setData_type(notification.getData_type());
+      copy.setObjectId(notification.getObjectId());
+      copy.setInterview(notification.getInterview());
+      copy.setGroupId(group.getId());
+      sendNotification(admin, copy);
     }
   }
 
+  /**
+   * Notifies the admins of a group that a user has done something to it. Events of the same type that arrive within
+   * the coalescing window of the admin's latest unread digest are merged into it instead of adding a new row, so a
+   * busy group produces one digest like "Jane and 4 others have applied to the project Fuse".
+   */
+  private <T extends Group> void sendDigestToAdmins(T group, User actor, String action, NotificationType notificationType,
+                                                   long objectId, Interview interview) throws IllegalArgumentException {
+    NotificationEntity dataType = getNotificationEntityType(group);
+    NotificationEntityNames names = Notification.getNotificationEntities(dataType, notificationType, NotificationStatus.INFO);
+    LocalDateTime now = ZonedDateTime.now(ZoneOffset.UTC).toLocalDateTime();
+    LocalDateTime since = now.minusMinutes(coalesceWindowMinutes);
+
+    for (User admin : getGroupAdmins(group)) {
+      Notification notification = null;
+      if (coalesceWindowMinutes > 0) {
+        notification = notificationRepository.getDigestCandidates(admin, names.notificationType, group.getId(), since)
+            .stream()
+            .findFirst()
+            .orElse(null);
+      }
+      if (notification == null) {
+        notification = new Notification();
+        notification.setInfo(dataType, notificationType, NotificationStatus.INFO);
+        notification.setGroupId(group.getId());
+        notification.setDigest(true);
+        notification.setDigestStarted(now);
+        notification.setDigestCount(0);
+      }
+      notification.setDigestCount(notification.getDigestCount() + 1);
+      notification.setMessage(getDigestMessage(actor, notification.getDigestCount(), action, group));
+      notification.setObjectId(objectId);
+      notification.getDigestObjectIds().add(objectId);
+      notification.setInterview(interview);
+      notification.setHasRead(false);
+      sendNotification(admin, notification);
+    }
+  }
 
-  private <T extends Group> void sendGroupNotificationToAdmins(T group, Notification notification) throws IllegalArgumentException {
+  private String getDigestMessage(User actor, int count, String action, Group group) {
+    String target = " " + action + " the " + group.getGroupType().toLowerCase() + " " + group.getName();
+    if (count <= 1) {
+      return actor.getName() + " has" + target;
+    }
+    int others = count - 1;
+    return actor.getName() + " and " + others + (others == 1 ? " other" : " others") + " have" + target;
+  }
+
+  private <T extends Group> Set<User> getGroupAdmins(T group) throws IllegalArgumentException {
     if (isGroupProject(group)) {
       final Set<User> uniqueUsers = new HashSet<>(projectMemberRepository.getUsersByGroup((Project) group));
-      uniqueUsers.stream()
+      return uniqueUsers.stream()
           .filter(u -> projectMemberRepository.getRoles((Project) group, u).stream()
-              .filter(r -> r == ADMIN || r == OWNER)
-              .collect(Collectors.toList())
-              .size() > 0)
-          .forEach(u -> sendNotification(u, notification));
-
+              .anyMatch(r -> r == ADMIN || r == OWNER))
+          .collect(Collectors.toSet());
     } else if (isGroupOrganzization(group)) {
       final Set<User> uniqueUsers = new HashSet<>(organizationMemberRepository.getUsersByGroup((Organization) group));
-      uniqueUsers.stream()
+      return uniqueUsers.stream()
           .filter(u -> organizationMemberRepository.getRoles((Organization) group, u).stream()
-              .filter(r -> r == ADMIN || r == OWNER)
-              .collect(Collectors.toList())
-              .size() > 0)
-          .forEach(u -> sendNotification(u, notification));
+              .anyMatch(r -> r == ADMIN || r == OWNER))
+          .collect(Collectors.toSet());
     } else {
       throw new IllegalArgumentException("Unknown group type " + group.getClass().getName());
     }
@@ -380,60 +441,21 @@ public class NotificationController {
       @ApiParam(value = "Id of notification to mark")
       @PathVariable(value = "id") Long id,
       HttpServletRequest request, HttpServletResponse response) {
-    List<String> errors = new ArrayList<>();
-    Optional<FuseSession> session = fuseSessionController.getSession(request);
-    if (!session.isPresent()) {
-      errors.add(INVALID_SESSION);
-      return new GeneralResponse(response, BaseResponse.Status.DENIED, errors);
-    }
-    Notification notification = notificationRepository.findOne(id);
-    if (!Objects.equals(notification.getReceiver().getId(), session.get().getUser().getId())) {
-      errors.add(INSUFFICIENT_PRIVELAGES);
-      return new GeneralResponse(response, BaseResponse.Status.DENIED, errors);
-    }
-    notification.setHasRead(true);
-    notificationRepository.save(notification);
-    return new GeneralResponse(response, OK);
+    return updateNotification(id, request, response, notificationRepository::markRead);
   }
 
   @CrossOrigin
   @PutMapping(path = "/{id}/done")
   @ResponseBody
   public GeneralResponse actionDone(@PathVariable(value = "id") Long id, HttpServletRequest request, HttpServletResponse response) throws Exception {
-    List<String> errors = new ArrayList<>();
-    Optional<FuseSession> session = fuseSessionController.getSession(request);
-    if (!session.isPresent()) {
-      errors.add(INVALID_SESSION);
-      return new GeneralResponse(response, BaseResponse.Status.DENIED, errors);
-    }
-    Notification notification = notificationRepository.findOne(id);
-    if (!Objects.equals(notification.getReceiver().getId(), session.get().getUser().getId())) {
-      errors.add(INSUFFICIENT_PRIVELAGES);
-      return new GeneralResponse(response, BaseResponse.Status.DENIED, errors);
-    }
-    notification.setAction_done(true);
-    notificationRepository.save(notification);
-    return new GeneralResponse(response, OK);
+    return updateNotification(id, request, response, (user, ids) -> notificationRepository.setActionDone(user, ids, true));
   }
 
   @CrossOrigin
   @PutMapping(path = "/{id}/not-done")
   @ResponseBody
   public GeneralResponse actionNotDone(@PathVariable(value = "id") Long id, HttpServletRequest request, HttpServletResponse response) throws Exception {
-    List<String> errors = new ArrayList<>();
-    Optional<FuseSession> session = fuseSessionController.getSession(request);
-    if (!session.isPresent()) {
-      errors.add(INVALID_SESSION);
-      return new GeneralResponse(response, BaseResponse.Status.DENIED, errors);
-    }
-    Notification notification = notificationRepository.findOne(id);
-    if (!Objects.equals(notification.getReceiver().getId(), session.get().getUser().getId())) {
-      errors.add(INSUFFICIENT_PRIVELAGES);
-      return new GeneralResponse(response, BaseResponse.Status.DENIED, errors);
-    }
-    notification.setAction_done(false);
-    notificationRepository.save(notification);
-    return new GeneralResponse(response, OK);
+    return updateNotification(id, request, response, (user, ids) -> notificationRepository.setActionDone(user, ids, false));
   }
 
   @CrossOrigin
@@ -444,22 +466,117 @@ public class NotificationController {
       @ApiParam(value = "Id of notification to delete")
       @PathVariable(value = "id") Long id,
       HttpServletRequest request, HttpServletResponse response) {
+    return updateNotification(id, request, response, notificationRepository::markDeleted);
+  }
+
+  @CrossOrigin
+  @ApiOperation(value = "Mark several notifications as read",
+      notes = "Either pass a list of notification ids in the body, or a 'before' cursor to mark every notification "
+          + "with an id up to and including the cursor")
+  @PutMapping(path = "/read")
+  @ResponseBody
+  public GeneralResponse readNotifications(
+      @ApiParam(value = "Ids of the notifications to mark")
+      @RequestBody(required = false) List<Long> ids,
+      @ApiParam(value = "Mark all notifications with an id less than or equal to this one")
+      @RequestParam(value = "before", required = false) Long before,
+      HttpServletRequest request, HttpServletResponse response) {
+    return updateNotifications(ids, before, request, response,
+        notificationRepository::markRead,
+        notificationRepository::markReadBefore);
+  }
+
+  @CrossOrigin
+  @ApiOperation(value = "Mark the action of several notifications as done")
+  @PutMapping(path = "/done")
+  @ResponseBody
+  public GeneralResponse actionsDone(
+      @ApiParam(value = "Ids of the notifications to mark")
+      @RequestBody(required = false) List<Long> ids,
+      @ApiParam(value = "Mark all notifications with an id less than or equal to this one")
+      @RequestParam(value = "before", required = false) Long before,
+      HttpServletRequest request, HttpServletResponse response) {
+    return updateNotifications(ids, before, request, response,
+        (user, notificationIds) -> notificationRepository.setActionDone(user, notificationIds, true),
+        (user, cursor) -> notificationRepository.setActionDoneBefore(user, cursor, true));
+  }
+
+  @CrossOrigin
+  @ApiOperation(value = "Mark the action of several notifications as not done")
+  @PutMapping(path = "/not-done")
+  @ResponseBody
+  public GeneralResponse actionsNotDone(
+      @ApiParam(value = "Ids of the notifications to mark")
+      @RequestBody(required = false) List<Long> ids,
+      @ApiParam(value = "Mark all notifications with an id less than or equal to this one")
+      @RequestParam(value = "before", required = false) Long before,
+      HttpServletRequest request, HttpServletResponse response) {
+    return updateNotifications(ids, before, request, response,
+        (user, notificationIds) -> notificationRepository.setActionDone(user, notificationIds, false),
+        (user, cursor) -> notificationRepository.setActionDoneBefore(user, cursor, false));
+  }
+
+  @CrossOrigin
+  @ApiOperation(value = "Delete several notifications")
+  @PutMapping(path = "/delete")
+  @ResponseBody
+  public GeneralResponse deleteNotifications(
+      @ApiParam(value = "Ids of the notifications to delete")
+      @RequestBody(required = false) List<Long> ids,
+      @ApiParam(value = "Delete all notifications with an id less than or equal to this one")
+      @RequestParam(value = "before", required = false) Long before,
+      HttpServletRequest request, HttpServletResponse response) {
+    return updateNotifications(ids, before, request, response,
+        notificationRepository::markDeleted,
+        notificationRepository::markDeletedBefore);
+  }
+
+  /**
+   * Applies a single-row update to a notification owned by the session user; the ownership check is part of the
+   * UPDATE itself, so nothing is loaded beforehand
+   */
+  private GeneralResponse updateNotification(Long id, HttpServletRequest request, HttpServletResponse response,
+                                             BiFunction<User, Collection<Long>, Integer> update) {
     List<String> errors = new ArrayList<>();
     Optional<FuseSession> session = fuseSessionController.getSession(request);
     if (!session.isPresent()) {
       errors.add(INVALID_SESSION);
       return new GeneralResponse(response, BaseResponse.Status.DENIED, errors);
     }
-    Notification notification = notificationRepository.findOne(id);
-    if (notification.getReceiver().getId().equals(session.get().getUser().getId())) {
+    if (update.apply(session.get().getUser(), Collections.singletonList(id)) == 0) {
       errors.add(INSUFFICIENT_PRIVELAGES);
       return new GeneralResponse(response, BaseResponse.Status.DENIED, errors);
     }
-    notification.setDeleted(true);
-    notificationRepository.save(notification);
     return new GeneralResponse(response, OK);
   }
 
+  /**
+   * Applies an update to either an explicit list of notifications or every notification up to a cursor in one
+   * statement; notifications not owned by the session user are silently skipped
+   */
+  private GeneralResponse updateNotifications(List<Long> ids, Long before,
+                                              HttpServletRequest request, HttpServletResponse response,
+                                              BiFunction<User, Collection<Long>, Integer> updateByIds,
+                                              BiFunction<User, Long, Integer> updateBefore) {
+    List<String> errors = new ArrayList<>();
+    Optional<FuseSession> session = fuseSessionController.getSession(request);
+    if (!session.isPresent()) {
+      errors.add(INVALID_SESSION);
+      return new GeneralResponse(response, BaseResponse.Status.DENIED, errors);
+    }
+    if ((ids == null || ids.isEmpty()) == (before == null)) {
+      errors.add(INVALID_FIELDS);
+      return new GeneralResponse(response, BaseResponse.Status.BAD_DATA, errors);
+    }
+
+    User user = session.get().getUser();
+    int updated = before != null ? updateBefore.apply(user, before) : updateByIds.apply(user, ids);
+
+    Map<String, Object> result = new HashMap<>();
+    result.put("updated", updated);
+    return new GeneralResponse(response, OK, errors, result);
+  }
+
   @ApiOperation(value = "Get all notifications")
   @GetMapping
   @ResponseBody
@@ -3,19 +3,25 @@ package server.controllers.rest;
 import static server.controllers.rest.response.BaseResponse.Status.BAD_DATA;
 import static server.controllers.rest.response.BaseResponse.Status.DENIED;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.annotations.Api;
 import io.swagger.annotations.ApiOperation;
 import io.swagger.annotations.ApiParam;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseBody;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import server.controllers.FuseSessionController;
 import server.controllers.rest.errors.BadDataException;
 import server.controllers.rest.errors.DeniedException;
+import server.controllers.rest.response.GeneralResponse;
 import server.controllers.rest.response.TypedResponse;
 import server.entities.dto.TimeInterval;
 import server.entities.dto.group.project.ProjectInterviewSlots;
@@ -24,6 +30,8 @@ import server.entities.dto.user.ProjectMemberCount;
 import server.entities.dto.user.User;
 import server.entities.dto.user.UserInterviewSlots;
 import server.entities.dto.user.UserProjectCount;
+import server.handlers.OrganizationDashboardHelper;
+import server.handlers.StatisticsExportHelper;
 import server.handlers.StatisticsHelper;
 import server.handlers.InterviewSlotsHelper;
 
@@ -45,6 +53,69 @@ public class StatisticsController {
   @Autowired
   private StatisticsHelper statisticsHelper;
 
+  @Autowired
+  private OrganizationDashboardHelper organizationDashboardHelper;
+
+  @Autowired
+  private StatisticsExportHelper statisticsExportHelper;
+
+  @Autowired
+  private ObjectMapper objectMapper;
+
+  @GetMapping("organizations/{id}/dashboard")
+  @ResponseBody
+  @ApiOperation("Returns every statistic of an organization at once, as of at most a few seconds ago")
+  public TypedResponse<OrganizationDashboard> getDashboard(@ApiParam("Id of the organization")
+                                                           @PathVariable(value = "id") Long id,
+                                                           HttpServletRequest request, HttpServletResponse response)
+
+  {
+    try {
+      return new TypedResponse<>(response, organizationDashboardHelper.getDashboard(id, sessionController.getUserFromSession(request)));
+    } catch (DeniedException e) {
+      return new TypedResponse<>(response, DENIED, e.getMessage());
+    } catch (BadDataException e) {
+      return new TypedResponse<>(response, BAD_DATA, e.getMessage());
+    }
+  }
+
+  @GetMapping("organizations/{id}/export/{section}")
+  @ApiOperation("Streams one statistic of an organization, or its interview slots, as CSV or NDJSON")
+  public ResponseEntity<StreamingResponseBody> export(@ApiParam("Id of the organization")
+                                                      @PathVariable(value = "id") Long id,
+                                                      @ApiParam("project-interview-summary, project-interview-breakdown, "
+                                                          + "member-interview-summary, member-interview-breakdown, "
+                                                          + "invalid-profiles-summary, invalid-profiles-breakdown or interview-slots")
+                                                      @PathVariable(value = "section") String section,
+                                                      @ApiParam("csv or ndjson")
+                                                      @RequestParam(value = "format", defaultValue = "csv") String format,
+                                                      @RequestParam(value = "time", required = false) TimeInterval timeInterval,
+                                                      HttpServletRequest request, HttpServletResponse response)
+
+  {
+    if (timeInterval == null) {
+      timeInterval = new TimeInterval();
+    }
+    GeneralResponse error;
+    try {
+      User user = sessionController.getUserFromSession(request);
+      StreamingResponseBody body = statisticsExportHelper.export(id, user, section, format,
+          timeInterval.getStartDateTime(), timeInterval.getEndDateTime());
+      return ResponseEntity.ok()
+          .contentType(statisticsExportHelper.getMediaType(format))
+          .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"organization-" + id + "-" + section + "." + format + "\"")
+          .body(body);
+    } catch (DeniedException e) {
+      error = new GeneralResponse(response, DENIED, e.getMessage());
+    } catch (BadDataException e) {
+      error = new GeneralResponse(response, BAD_DATA, e.getMessage());
+    }
+    GeneralResponse body = error;
+    return ResponseEntity.status(response.getStatus())
+        .contentType(MediaType.APPLICATION_JSON_UTF8)
+        .body(out -> objectMapper.writeValue(out, body));
+  }
+
   @GetMapping("organizations/{id}/projects/interviews")
   @ResponseBody
   @ApiOperation("Returns all projects associated with an organization")
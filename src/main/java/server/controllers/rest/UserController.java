@@ -2,6 +2,8 @@ package server.controllers.rest;
 
 import static server.constants.RegistrationStatus.REGISTERED;
 import static server.constants.RegistrationStatus.UNREGISTERED;
+import static server.constants.View.DETAIL;
+import static server.constants.View.SUMMARY;
 import static server.controllers.rest.response.BaseResponse.Status.BAD_DATA;
 import static server.controllers.rest.response.BaseResponse.Status.DENIED;
 import static server.controllers.rest.response.BaseResponse.Status.ERROR;
@@ -56,6 +58,7 @@ import server.entities.dto.user.Friendship;
 import server.entities.dto.user.UnregisteredUser;
 import server.entities.dto.user.User;
 import server.entities.dto.user.UserProfile;
+import server.entities.dto.user.UserSummary;
 import server.entities.user_to_group.permissions.PermissionFactory;
 import server.entities.user_to_group.permissions.UserPermission;
 import server.handlers.InvitationHandler;
@@ -70,6 +73,7 @@ import server.repositories.group.organization.OrganizationRepository;
 import server.repositories.group.project.ProjectApplicantRepository;
 import server.repositories.group.project.ProjectInvitationRepository;
 import server.repositories.group.project.ProjectRepository;
+import server.utility.ETagUtil;
 import springfox.documentation.annotations.ApiIgnore;
 
 import javax.servlet.http.HttpServletRequest;
@@ -253,12 +257,16 @@ public class UserController {
     }
   }
 
-  @ApiOperation(value = "Get a user by their id")
+  @ApiOperation(value = "Get a user by their id",
+      notes = "The summary view only has the fields needed to list the user and is read with a single query; the "
+          + "detail view is the full user with their profile and the friend request state.")
   @GetMapping(path = "/{id}")
   @ResponseBody
-  public TypedResponse<User> getUserbyID(
+  public TypedResponse<Object> getUserbyID(
       @ApiParam(value = "The ID of the user")
       @PathVariable(value = "id") Long id,
+      @ApiParam(value = "Which view of the user to return", allowableValues = "summary,detail")
+      @RequestParam(value = "view", required = false, defaultValue = DETAIL) String view,
       HttpServletRequest request, HttpServletResponse response) {
     List<String> errors = new ArrayList<>();
     Optional<FuseSession> session = fuseSessionController.getSession(request);
@@ -267,18 +275,32 @@ public class UserController {
       return new TypedResponse<>(response, Status.DENIED, errors);
     }
 
-    if (id == null) {
+    if (id == null || (!SUMMARY.equals(view) && !DETAIL.equals(view))) {
       errors.add(INVALID_FIELDS);
       return new TypedResponse<>(response, BAD_DATA, errors);
     }
 
+    User current = session.get().getUser();
+    String version = userRepository.getVersion(id, current.getId());
+    if (version != null && ETagUtil.notModified(request, response, ETagUtil.weakETag(version, view, current.getId().toString()))) {
+      return null;
+    }
+
+    if (SUMMARY.equals(view)) {
+      UserSummary summary = userRepository.getSummary(id);
+      if (summary == null) {
+        errors.add(NO_USER_FOUND);
+        return new TypedResponse<>(response, BAD_DATA, errors);
+      }
+      return new TypedResponse<>(response, OK, null, summary);
+    }
+
     User byId = userRepository.findOne(id);
     if (byId == null) {
       errors.add(NO_USER_FOUND);
       return new TypedResponse<>(response, BAD_DATA, errors);
     }
 
-    User current = session.get().getUser();
     if (!Objects.equals(current.getId(), byId.getId())) {
       List<Friendship> friendships = friendRepository.getFriendships(current, byId);
       if (friendships.size() == 0) {
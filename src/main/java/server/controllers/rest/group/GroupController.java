@@ -6,13 +6,16 @@ import static server.constants.RoleValue.DEFAULT_USER;
 import static server.constants.RoleValue.INVITED_TO_INTERVIEW;
 import static server.constants.RoleValue.INVITED_TO_JOIN;
 import static server.constants.RoleValue.OWNER;
+import static server.constants.View.DETAIL;
+import static server.constants.View.SUMMARY;
 import static server.controllers.rest.response.BaseResponse.Status.BAD_DATA;
 import static server.controllers.rest.response.BaseResponse.Status.DENIED;
 import static server.controllers.rest.response.BaseResponse.Status.ERROR;
 import static server.controllers.rest.response.BaseResponse.Status.OK;
 import static server.controllers.rest.response.CannedResponse.*;
 import static server.utility.JoinPermissionsUtil.genericSetJoinPermissions;
-import static server.utility.PagingUtil.getPagedResults;
+import static server.utility.RolesUtility.MEMBER_ROLES_MASK;
+import static server.utility.RolesUtility.fromRoleMask;
 import static server.utility.RolesUtility.getRoleFromInvitationType;
 
 import io.swagger.annotations.ApiOperation;
@@ -22,6 +25,9 @@ import org.hibernate.SessionFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -43,16 +49,26 @@ import server.controllers.rest.response.TypedResponse;
 import server.entities.MemberRelationship;
 import server.entities.PossibleError;
 import server.entities.dto.FuseSession;
+import server.entities.dto.TimeInterval;
 import server.entities.dto.Link;
 import server.entities.dto.UploadFile;
+import server.entities.dto.group.ApplicantPage;
 import server.entities.dto.group.Group;
 import server.entities.dto.group.GroupApplication;
 import server.entities.dto.group.GroupInvitation;
 import server.entities.dto.group.GroupMember;
 import server.entities.dto.group.GroupProfile;
+import server.entities.dto.group.GroupSummary;
+import server.entities.dto.group.InvitationResult;
 import server.entities.dto.group.interview.Interview;
 import server.entities.dto.user.User;
 import server.entities.user_to_group.permissions.UserToGroupPermission;
+import server.events.ApplicationRejectedEvent;
+import server.events.InterviewInvitedEvent;
+import server.events.JoinInvitedEvent;
+import server.events.NotificationEventBus;
+import server.events.UserAppliedEvent;
+import server.events.UserJoinedEvent;
 import server.handlers.InterviewHelper;
 import server.repositories.UserRepository;
 import server.repositories.group.GroupApplicantRepository;
@@ -61,28 +77,33 @@ import server.repositories.group.GroupMemberRepository;
 import server.repositories.group.GroupProfileRepository;
 import server.repositories.group.GroupRepository;
 import server.repositories.group.InterviewRepository;
+import server.service.GroupInviteService;
 import server.utility.ApplicantUtil;
+import server.utility.ETagUtil;
 import server.utility.ElasticsearchClient;
+import server.utility.GroupLocks;
 import server.utility.InterviewUtil;
 import server.utility.UserFindHelper;
 import springfox.documentation.annotations.ApiIgnore;
 
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.time.ZoneOffset;
 import java.time.ZonedDateTime;
 import java.util.ArrayList;
-import java.util.Comparator;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
-import java.util.stream.StreamSupport;
 
 @SuppressWarnings("unused")
 public abstract class GroupController<T extends Group, R extends GroupMember<T>, I extends GroupInvitation<T>> {
@@ -102,6 +123,9 @@ public abstract class GroupController<T extends Group, R extends GroupMember<T>,
   @Autowired
   private NotificationController notificationController;
 
+  @Autowired
+  private NotificationEventBus notificationEventBus;
+
   @Autowired
   private InterviewRepository interviewRepository;
 
@@ -111,18 +135,38 @@ public abstract class GroupController<T extends Group, R extends GroupMember<T>,
   @Autowired
   private UserFindHelper userFindHelper;
 
+  @Autowired
+  private GroupInviteService groupInviteService;
+
   @Autowired
   private GroupProfileRepository groupProfileRepository;
 
   @Autowired
   private SessionFactory sessionFactory;
 
+  @Autowired
+  private GroupLocks groupLocks;
+
   private Logger logger = LoggerFactory.getLogger(GroupController.class);
 
+  private static final int DEFAULT_PAGE_SIZE = 15;
+
+  private static final int MAX_PAGE_SIZE = 100;
+
+  private static final int MAX_BULK_INVITES = 1000;
+
+  private static final Map<String, String> SORT_FIELDS = new HashMap<>();
+
+  static {
+    SORT_FIELDS.put("id", "id");
+    SORT_FIELDS.put("name", "name");
+    SORT_FIELDS.put("members", "numberOfMembers");
+  }
+
   @PostMapping
   @ResponseBody
   @ApiOperation("Create a new entity")
-  public synchronized TypedResponse<Group> create(
+  public TypedResponse<Group> create(
           @ApiParam("Entity information")
           @RequestBody T entity, HttpServletRequest request, HttpServletResponse response) {
     List<String> errors = new ArrayList<>();
@@ -152,21 +196,31 @@ public abstract class GroupController<T extends Group, R extends GroupMember<T>,
       return new TypedResponse<>(response, possibleValidationError);
     }
 
-    List<T> entities = getGroupsWith(user, entity);
-    entity.setOwner(user);
+    // Only creations of the same name by the same owner wait on each other; the unique index on the active name
+    // catches the same race between server instances
+    return groupLocks.withLock(GroupLocks.groupNameKey(user, entity), () -> {
+      List<T> entities = getGroupsWith(user, entity);
+      entity.setOwner(user);
 
-    if (entities.size() == 0) {
-      entity.setDeleted(false);
-      Group savedEntity = getGroupRepository().save(entity);
-      addRelationship(user, entity, OWNER);
-      addRelationship(user, entity, ADMIN);
-      createInterviewTemplate(entity);
-      savedEntity.indexAsync();
-      return new TypedResponse<>(response, OK, null, savedEntity);
-    } else {
-      errors.add("entity name already exists for user");
-      return new TypedResponse<>(response, errors);
-    }
+      if (entities.size() == 0) {
+        entity.setDeleted(false);
+        Group savedEntity;
+        try {
+          savedEntity = getGroupRepository().save(entity);
+        } catch (DataIntegrityViolationException e) {
+          errors.add(NAME_ALREADY_EXISTS);
+          return new TypedResponse<>(response, errors);
+        }
+        addRelationship(user, entity, OWNER);
+        addRelationship(user, entity, ADMIN);
+        createInterviewTemplate(entity);
+        savedEntity.indexAsync();
+        return new TypedResponse<>(response, OK, null, savedEntity);
+      } else {
+        errors.add(NAME_ALREADY_EXISTS);
+        return new TypedResponse<>(response, errors);
+      }
+    });
   }
 
 
@@ -241,15 +295,7 @@ public abstract class GroupController<T extends Group, R extends GroupMember<T>,
     application.setTime(now.toString());
     getGroupApplicantRepository().save(application);
 
-    try {
-      try {
-        notificationController.sendUserAppliedNotification(application);
-      } catch (Exception e) {
-        logger.error(e.getMessage(), e);
-      }
-    } catch (Exception e) {
-      logger.error(e.getMessage(), e);
-    }
+    notificationEventBus.publish(new UserAppliedEvent(application));
 
     Map<String, Object> result = new HashMap<>();
     result.put("applied", true);
@@ -313,7 +359,7 @@ public abstract class GroupController<T extends Group, R extends GroupMember<T>,
   @PostMapping(path = "/{id}/join")
   @ApiOperation("Join the group as the current user or applies if application is needed first")
   @ResponseBody
-  protected synchronized GeneralResponse join(
+  protected GeneralResponse join(
           @ApiParam("The id of the group to join")
           @PathVariable("id") Long id, HttpServletRequest request, HttpServletResponse response) {
     List<String> errors = new ArrayList<>();
@@ -332,42 +378,52 @@ public abstract class GroupController<T extends Group, R extends GroupMember<T>,
     }
     User user = session.get().getUser();
 
-    switch (getUserToGroupPermission(user, group).canJoin()) {
-      case OK:
-        try {
-          notificationController.sendUserJoinedNotification(user, group);
-          addRelationship(user, group, DEFAULT_USER);
-        } catch (Exception e) {
-          logger.error(e.getMessage(), e);
-          errors.add(e.getMessage());
+    // Joins of different groups run in parallel; the unique (group, user, role) index backs this up across instances
+    return groupLocks.withLock(GroupLocks.groupKey(group), () -> {
+      UserToGroupPermission<T> permission = getUserToGroupPermissionTyped(user, group);
+      switch (permission.canJoin()) {
+        case OK:
+          try {
+            addRelationship(user, group, DEFAULT_USER, permission);
+            notificationEventBus.publish(new UserJoinedEvent(user, group));
+          } catch (DataIntegrityViolationException e) {
+            errors.add(ALREADY_JOINED_MSG);
+            return new GeneralResponse(response, ERROR, errors);
+          } catch (Exception e) {
+            logger.error(e.getMessage(), e);
+            errors.add(e.getMessage());
+            return new GeneralResponse(response, ERROR, errors);
+          }
+          return new GeneralResponse(response);
+        case HAS_INVITE:
+          try {
+            addRelationship(user, group, DEFAULT_USER, permission);
+            removeRelationship(user, group, INVITED_TO_JOIN, permission);
+            notificationEventBus.publish(new UserJoinedEvent(user, group));
+          } catch (DataIntegrityViolationException e) {
+            errors.add(ALREADY_JOINED_MSG);
+            return new GeneralResponse(response, ERROR, errors);
+          } catch (Exception e) {
+            logger.error(e.getMessage(), e);
+            errors.add(e.getMessage());
+            return new GeneralResponse(response, ERROR, errors);
+          }
+          return new GeneralResponse(response);
+        case NEED_INVITE:
+          // Apply if an invite is needed
+          return generalApply(id, request, response);
+        case ALREADY_JOINED:
+          errors.add(ALREADY_JOINED_MSG);
           return new GeneralResponse(response, ERROR, errors);
-        }
-        return new GeneralResponse(response);
-      case HAS_INVITE:
-        try {
-          notificationController.sendUserJoinedNotification(user, group);
-          addRelationship(user, group, DEFAULT_USER);
-          removeRelationship(user, group, INVITED_TO_JOIN);
-        } catch (Exception e) {
-          logger.error(e.getMessage(), e);
-          errors.add(e.getMessage());
+        case NOT_ALLOWED:
+          errors.add(NOT_ALLOWED_MSG);
           return new GeneralResponse(response, ERROR, errors);
-        }
-        return new GeneralResponse(response);
-      case NEED_INVITE:
-        // Apply if an invite is needed
-        return generalApply(id, request, response);
-      case ALREADY_JOINED:
-        errors.add(ALREADY_JOINED_MSG);
-        return new GeneralResponse(response, ERROR, errors);
-      case NOT_ALLOWED:
-        errors.add(NOT_ALLOWED_MSG);
-        return new GeneralResponse(response, ERROR, errors);
-      case ERROR:
-      default:
-        errors.add(SERVER_ERROR);
-        return new GeneralResponse(response, ERROR, errors);
-    }
+        case ERROR:
+        default:
+          errors.add(SERVER_ERROR);
+          return new GeneralResponse(response, ERROR, errors);
+      }
+    });
   }
 
   private GeneralResponse generalInvite(I groupInvitation, HttpServletRequest request, HttpServletResponse response) {
@@ -459,6 +515,103 @@ public abstract class GroupController<T extends Group, R extends GroupMember<T>,
     return generalInvite(invite, request, response);
   }
 
+  @ApiOperation(value = "Invite many users to join at once",
+      notes = "Users are identified by id, or by email when the id is left out. Returns one result per user, in the "
+          + "order they were given, with either the id of the new invitation or the reason none was sent.")
+  @PostMapping(path = "/{id}/invite")
+  @ResponseBody
+  public GeneralResponse inviteAll(
+          @ApiParam("The id of the group to invite the users to")
+          @PathVariable("id") Long id,
+          @ApiParam("The users to invite")
+          @RequestBody List<User> receivers,
+          HttpServletRequest request, HttpServletResponse response) {
+    List<String> errors = new ArrayList<>();
+
+    Optional<FuseSession> session = fuseSessionController.getSession(request);
+    if (!session.isPresent()) {
+      errors.add(INVALID_SESSION);
+      return new GeneralResponse(response, DENIED, errors);
+    }
+
+    if (receivers == null || receivers.isEmpty() || receivers.size() > MAX_BULK_INVITES) {
+      errors.add(INVALID_FIELDS);
+      return new GeneralResponse(response, BAD_DATA, errors);
+    }
+
+    T group = getGroupRepository().findOne(id);
+    if (group == null || group.getDeleted()) {
+      errors.add(NO_GROUP_FOUND);
+      return new GeneralResponse(response, BAD_DATA, errors);
+    }
+
+    User sessionUser = session.get().getUser();
+    if (!getUserToGroupPermission(sessionUser, group).canInvite()) {
+      errors.add(INSUFFICIENT_PRIVELAGES);
+      return new GeneralResponse(response, DENIED, errors);
+    }
+
+    // Same lock as joins, so nobody joins between the role check below and the inserts
+    return groupLocks.withLock(GroupLocks.groupKey(group), () -> {
+      Map<User, User> resolved = userFindHelper.findUsersByEmailIfIdNotSet(receivers);
+      Map<Long, Integer> roleMasks = getRoleMasks(group, resolved.values());
+      int blockingRoles = MEMBER_ROLES_MASK | (1 << INVITED_TO_JOIN);
+
+      List<InvitationResult> results = new ArrayList<>();
+      Map<Long, InvitationResult> invited = new LinkedHashMap<>();
+      List<I> invitations = new ArrayList<>();
+      for (User receiver : receivers) {
+        InvitationResult result = receiver == null ? new InvitationResult(null, null)
+            : new InvitationResult(receiver.getId(), receiver.getEmail());
+        results.add(result);
+
+        User user = resolved.get(receiver);
+        if (user == null) {
+          result.setError(NO_USER_FOUND);
+        } else if ((roleMasks.getOrDefault(user.getId(), 0) & blockingRoles) != 0 || invited.containsKey(user.getId())) {
+          result.setError(ALREADY_JOINED_OR_INVITED);
+        } else {
+          I invitation = getInvitation();
+          invitation.setGroup(group);
+          invitation.setReceiver(user);
+          invitation.setSender(sessionUser);
+          invitation.setType("join");
+          invitation.setStatus(PENDING);
+          invitations.add(invitation);
+          invited.put(user.getId(), result);
+        }
+      }
+
+      if (invitations.isEmpty()) {
+        return new GeneralResponse(response, OK, errors, results);
+      }
+
+      List<I> saved;
+      try {
+        saved = groupInviteService.inviteAll(invitations, getGroupInvitationRepository(),
+            users -> addRelationships(users, group, INVITED_TO_JOIN));
+      } catch (DataIntegrityViolationException e) {
+        // Another server instance invited or added one of the users in the meantime; the whole batch was rolled back
+        errors.add(ALREADY_JOINED_OR_INVITED);
+        return new GeneralResponse(response, BAD_DATA, errors);
+      }
+      saved.forEach(invitation -> invited.get(invitation.getReceiver().getId()).setInvitationId(invitation.getId()));
+      return new GeneralResponse(response, OK, errors, results);
+    });
+  }
+
+  // Role bitmask of every given user in the group, from a single query; users without any role are left out
+  private Map<Long, Integer> getRoleMasks(T group, Collection<User> users) {
+    Map<Long, Integer> roleMasks = new HashMap<>();
+    if (users.isEmpty()) {
+      return roleMasks;
+    }
+    for (Object[] row : getRelationshipRepository().getRolesForUsers(group, new ArrayList<>(users))) {
+      roleMasks.merge(((Number) row[0]).longValue(), 1 << ((Number) row[1]).intValue(), (a, b) -> a | b);
+    }
+    return roleMasks;
+  }
+
 
   @ApiOperation(value = "Add a new interview slot", notes = "This creates a new interview slot that can be used when scheduling interviews.")
   @PostMapping(path = "/{id}/interview_slots/add")
@@ -487,8 +640,42 @@ public abstract class GroupController<T extends Group, R extends GroupMember<T>,
       errors.add("Group not found!");
       return new TypedResponse<>(response, BaseResponse.Status.BAD_DATA, errors);
     }
-    interviewHelper.saveNewInterviewsForGroup(interviews, group);
-    return new GeneralResponse(response, OK);
+
+    // Slots added to one group at the same time must not overlap each other either
+    return groupLocks.withLock(GroupLocks.groupKey(group), () -> {
+      if (interviewHelper.overlapsExistingSlots(interviews, group.getGroupType(), group.getId(), null)) {
+        errors.add(INTERVIEW_SLOTS_OVERLAP);
+        return new GeneralResponse(response, BAD_DATA, errors);
+      }
+      interviewHelper.saveNewInterviewsForGroup(interviews, group);
+      return new GeneralResponse(response, OK);
+    });
+  }
+
+  @ApiOperation("Returns the free time between the interview slots of a group")
+  @GetMapping(path = "/{id}/interview_slots/free")
+  @ResponseBody
+  public TypedResponse<List<TimeInterval>> getFreeInterviewWindows(
+          @ApiParam("ID of the group to get the free time for")
+          @PathVariable("id") long id,
+          @RequestParam(value = "time", required = false) TimeInterval timeInterval,
+          @ApiParam("Shortest window to return, in minutes")
+          @RequestParam(value = "minutes", defaultValue = "0") long minutes,
+          HttpServletRequest request, HttpServletResponse response) {
+    List<String> errors = new ArrayList<>();
+    Group group = getGroupRepository().findOne(id);
+    if (group == null || group.getDeleted()) {
+      errors.add("Group not found!");
+      return new TypedResponse<>(response, BaseResponse.Status.BAD_DATA, errors);
+    }
+    if (timeInterval == null) {
+      timeInterval = new TimeInterval();
+    }
+    LocalDateTime currentDateTime = ZonedDateTime.now(ZoneOffset.UTC).toLocalDateTime();
+    LocalDateTime from = timeInterval.getStartDateTime().isBefore(currentDateTime) ? currentDateTime : timeInterval.getStartDateTime();
+
+    return new TypedResponse<>(response, OK, new ArrayList<>(),
+        interviewHelper.getFreeWindows(group, from, timeInterval.getEndDateTime(), Duration.ofMinutes(minutes)));
   }
 
   @ApiOperation("Returns the available interview slots")
@@ -560,40 +747,34 @@ public abstract class GroupController<T extends Group, R extends GroupMember<T>,
       errors.add(INVALID_FIELDS);
       return new GeneralResponse(response, BAD_DATA, errors);
     }
-    if (interview.getStart() != null && interview.getEnd() != null) {
-      ZonedDateTime startZonedDateTime = ZonedDateTime.parse(interview.getStart());
-      LocalDateTime startDateTime = startZonedDateTime.withZoneSameInstant(ZoneOffset.UTC).toLocalDateTime();
-      ZonedDateTime endZonedDateTime = ZonedDateTime.parse(interview.getEnd());
-      LocalDateTime endDateTime = endZonedDateTime.withZoneSameInstant(ZoneOffset.UTC).toLocalDateTime();
-      if (endDateTime.isBefore(startDateTime)) {
-        errors.add("Invalid time");
-        return new GeneralResponse(response, DENIED, errors);
-      }
-      interview.setStart(interview.getStart());
-      interview.setEnd(interview.getEnd());
-    } else {
-      if (interview.getStart() != null) {
-        ZonedDateTime startZonedDateTime = ZonedDateTime.parse(interview.getStart());
-        LocalDateTime startDateTime = startZonedDateTime.withZoneSameInstant(ZoneOffset.UTC).toLocalDateTime();
-        if (startDateTime.isAfter(interview.getEndDateTime())) {
-          errors.add("Invalid time");
-          return new GeneralResponse(response, DENIED, errors);
-        }
-        interview.setStart(interview.getStart());
-      }
+    T group = getGroupRepository().findOne(interviewToSave.getGroupId());
+    if (group == null || !group.getGroupType().equals(interviewToSave.getGroupType())
+        || !getUserToGroupPermission(session.get().getUser(), group).canUpdate()) {
+      errors.add(INSUFFICIENT_PRIVELAGES);
+      return new GeneralResponse(response, DENIED, errors);
+    }
 
-      if (interview.getEnd() != null) {
-        ZonedDateTime endZonedDateTime = ZonedDateTime.parse(interview.getEnd());
-        LocalDateTime endDateTime = endZonedDateTime.withZoneSameInstant(ZoneOffset.UTC).toLocalDateTime();
-        if (endDateTime.isBefore(interview.getStartDateTime())) {
-          errors.add("Invalid time");
-          return new GeneralResponse(response, DENIED, errors);
-        }
-        interview.setEnd(interview.getEnd());
-      }
+    // Times missing from the request keep their current value
+    LocalDateTime startDateTime = interview.getStartDateTime() != null ? interview.getStartDateTime() : interviewToSave.getStartDateTime();
+    LocalDateTime endDateTime = interview.getEndDateTime() != null ? interview.getEndDateTime() : interviewToSave.getEndDateTime();
+    if (endDateTime.isBefore(startDateTime)) {
+      errors.add("Invalid time");
+      return new GeneralResponse(response, DENIED, errors);
     }
-    interviewRepository.save(interviewToSave);
-    return new GeneralResponse(response, OK);
+    interview.setStartDateTime(startDateTime);
+    interview.setEndDateTime(endDateTime);
+
+    return groupLocks.withLock(GroupLocks.groupKey(group), () -> {
+      if (interviewHelper.overlapsExistingSlots(Collections.singletonList(interview), interviewToSave.getGroupType(),
+          interviewToSave.getGroupId(), interviewToSave.getId())) {
+        errors.add(INTERVIEW_SLOTS_OVERLAP);
+        return new GeneralResponse(response, BAD_DATA, errors);
+      }
+      interviewToSave.setStartDateTime(startDateTime);
+      interviewToSave.setEndDateTime(endDateTime);
+      interviewRepository.save(interviewToSave);
+      return new GeneralResponse(response, OK);
+    });
   }
 
 
@@ -759,12 +940,24 @@ public abstract class GroupController<T extends Group, R extends GroupMember<T>,
       return new TypedResponse<>(response, BaseResponse.Status.BAD_DATA, errors);
     }
 
-    List<User> allMembers = new ArrayList<>(getMembersOf(group));
+    if (page < 0 || pageSize <= 0) {
+      errors.add(INVALID_FIELDS);
+      return new TypedResponse<>(response, BaseResponse.Status.BAD_DATA, errors);
+    }
+
+    int limit = Math.min(pageSize, MAX_PAGE_SIZE);
+    List<Object[]> memberRoles = getRelationshipRepository()
+            .getMemberRoleMasks(group.getId(), MEMBER_ROLES_MASK, limit, page * limit);
 
-    List<MemberRelationship> memberRelationships = getPagedResults(allMembers, page, pageSize).stream()
-            .map(user -> getUserToGroupPermission(user, group))
-            .filter(UserToGroupPermission::isMember)
-            .map(UserToGroupPermission::toRelationship)
+    Map<Long, User> users = new HashMap<>();
+    List<Long> userIds = memberRoles.stream().map(row -> ((Number) row[0]).longValue()).collect(Collectors.toList());
+    if (!userIds.isEmpty()) {
+      userRepository.findAll(userIds).forEach(user -> users.put(user.getId(), user));
+    }
+
+    List<MemberRelationship> memberRelationships = memberRoles.stream()
+            .map(row -> new MemberRelationship(users.get(((Number) row[0]).longValue()),
+                    fromRoleMask(((Number) row[1]).longValue())))
             .collect(Collectors.toList());
 
     return new TypedResponse<>(response, BaseResponse.Status.OK, null, memberRelationships);
@@ -772,8 +965,18 @@ public abstract class GroupController<T extends Group, R extends GroupMember<T>,
 
   @GetMapping
   @ResponseBody
-  @ApiOperation("Gets all of the groups of this type")
-  protected TypedResponse<Iterable<T>> getAll(HttpServletRequest request, HttpServletResponse response) {
+  @ApiOperation(value = "Gets all of the groups of this type",
+      notes = "Returns every group unless page or size is given; a page defaults to 15 groups, at most 100.")
+  protected TypedResponse<Iterable<T>> getAll(
+          @ApiParam(value = "The page of results to pull")
+          @RequestParam(value = "page", required = false) Integer page,
+          @ApiParam(value = "The number of results per page")
+          @RequestParam(value = "size", required = false) Integer pageSize,
+          @ApiParam(value = "Field to sort by (one of 'id', 'name', 'members')")
+          @RequestParam(value = "sort", required = false, defaultValue = "id") String sort,
+          @ApiParam(value = "Sort direction (one of 'asc', 'desc')")
+          @RequestParam(value = "order", required = false, defaultValue = "asc") String order,
+          HttpServletRequest request, HttpServletResponse response) {
     List<String> errors = new ArrayList<>();
 
     Optional<FuseSession> session = fuseSessionController.getSession(request);
@@ -783,19 +986,36 @@ public abstract class GroupController<T extends Group, R extends GroupMember<T>,
     }
     User user = session.get().getUser();
 
-    return new TypedResponse<>(response, OK, null,
-            StreamSupport.stream(getGroupRepository().findAll().spliterator(), false)
-                    .map(item -> this.setJoinPermissions(user, item))
-                    .collect(Collectors.toList())
-    );
+    String sortField = SORT_FIELDS.get(sort.toLowerCase());
+    Sort.Direction direction = Sort.Direction.fromStringOrNull(order);
+    if ((page != null && page < 0) || (pageSize != null && pageSize <= 0) || sortField == null || direction == null) {
+      errors.add(INVALID_FIELDS);
+      return new TypedResponse<>(response, BAD_DATA, errors);
+    }
+
+    Sort ordering = new Sort(direction, sortField).and(new Sort(Sort.Direction.ASC, "id"));
+    List<T> groups;
+    if (page == null && pageSize == null) {
+      // Unpaged requests keep getting the whole list, as before paging was added
+      groups = getGroupRepository().findByDeletedFalse(ordering);
+    } else {
+      groups = getGroupRepository().findByDeletedFalse(new PageRequest(page == null ? 0 : page,
+          Math.min(pageSize == null ? DEFAULT_PAGE_SIZE : pageSize, MAX_PAGE_SIZE), ordering));
+    }
+    return new TypedResponse<>(response, OK, null, setJoinPermissions(user, groups));
   }
 
   @GetMapping(path = "/{id}")
-  @ApiOperation("Gets the group entity by id")
+  @ApiOperation(value = "Gets the group entity by id",
+      notes = "The summary view only has the fields needed to list the group and is read with a single query; the "
+          + "detail view is the full group with its profile, owner and the current user's permissions.")
   @ResponseBody
-  protected TypedResponse<T> getById(
+  protected TypedResponse<Object> getById(
           @ApiParam("ID of the gruop to get the id for")
-          @PathVariable(value = "id") Long id, HttpServletRequest request, HttpServletResponse response) {
+          @PathVariable(value = "id") Long id,
+          @ApiParam(value = "Which view of the group to return", allowableValues = "summary,detail")
+          @RequestParam(value = "view", required = false, defaultValue = DETAIL) String view,
+          HttpServletRequest request, HttpServletResponse response) {
     List<String> errors = new ArrayList<>();
 
     Optional<FuseSession> session = fuseSessionController.getSession(request);
@@ -804,10 +1024,29 @@ public abstract class GroupController<T extends Group, R extends GroupMember<T>,
       return new TypedResponse<>(response, DENIED, errors);
     }
 
+    if (!SUMMARY.equals(view) && !DETAIL.equals(view)) {
+      errors.add(INVALID_FIELDS);
+      return new TypedResponse<>(response, BAD_DATA, errors);
+    }
+
+    User user = session.get().getUser();
+    String version = getGroupRepository().getVersion(id, user.getId());
+    if (version != null && ETagUtil.notModified(request, response, ETagUtil.weakETag(version, view, user.getId().toString()))) {
+      return null;
+    }
+
+    if (SUMMARY.equals(view)) {
+      GroupSummary summary = getGroupRepository().getSummary(id);
+      if (summary != null) {
+        return new TypedResponse<>(response, OK, null, summary);
+      }
+      errors.add("Invalid ID! Object does not exist!");
+      return new TypedResponse<>(response, BAD_DATA, errors);
+    }
+
     T group = getGroupRepository().findOne(id);
 
     if (group != null && !group.getDeleted()) {
-      User user = session.get().getUser();
       group = setJoinPermissions(user, group);
 
       return new TypedResponse<>(response, OK, null, group);
@@ -818,14 +1057,22 @@ public abstract class GroupController<T extends Group, R extends GroupMember<T>,
   }
 
   @GetMapping(path = "/{id}/applicants/{status}")
-  @ApiOperation("Get applicants by status")
+  @ApiOperation(value = "Get applicants by status",
+      notes = "Returns one page of the applicants along with the number of applicants for every status. Applicants "
+          + "with a scheduled interview are ordered by interview time, the ones without a time last.")
   @ResponseBody
-  public TypedResponse<List<GroupApplication>> getApplicants(@ApiParam("ID of entity")
+  public TypedResponse<ApplicantPage<GroupApplication>> getApplicants(@ApiParam("ID of entity")
                                                              @PathVariable(value = "id")
                                                                  Long id,
                                                              @ApiParam("Applicant status (one of 'accepted', 'declined', 'pending' 'interviewed', 'interview_scheduled')")
                                                              @PathVariable(value = "status")
                                                                  String status,
+                                                             @ApiParam(value = "The page of results to pull")
+                                                             @RequestParam(value = "page", required = false, defaultValue = "0")
+                                                                 int page,
+                                                             @ApiParam(value = "The number of results per page")
+                                                             @RequestParam(value = "size", required = false, defaultValue = "50")
+                                                                 int pageSize,
                                                              HttpServletRequest request, HttpServletResponse response) {
     List<String> errors = new ArrayList<>();
 
@@ -840,31 +1087,47 @@ public abstract class GroupController<T extends Group, R extends GroupMember<T>,
       return new TypedResponse<>(response, BaseResponse.Status.BAD_DATA, errors);
     }
 
-    UserToGroupPermission permission = getUserToGroupPermission(session.get().getUser(), getGroupRepository().findOne(id));
+    if (page < 0 || pageSize <= 0) {
+      errors.add(INVALID_FIELDS);
+      return new TypedResponse<>(response, BAD_DATA, errors);
+    }
+
+    T group = getGroupRepository().findOne(id);
+    if (group == null) {
+      errors.add(NO_GROUP_FOUND);
+      return new TypedResponse<>(response, BAD_DATA, errors);
+    }
+
+    UserToGroupPermission permission = getUserToGroupPermission(session.get().getUser(), group);
     boolean canUpdate = permission.canUpdate();
     if (!canUpdate) {
       errors.add(INSUFFICIENT_PRIVELAGES);
       return new TypedResponse<>(response, DENIED, errors);
     }
 
-    GroupApplicantRepository groupApplicantRepository = getGroupApplicantRepository();
-    List<GroupApplication> applicants = groupApplicantRepository.getApplicants(getGroupRepository().findOne(id), status);
-
-    if (status.equals("interview_scheduled")) {
-      List<GroupApplication> applicantsTmp = applicants.stream()
-          .filter(a -> a.getDateTime() != null)
-          .sorted(Comparator.comparing(GroupApplication::getDateTime))
-          .collect(Collectors.toList());
-      applicantsTmp.addAll(
-          applicants
-              .stream()
-              .filter(a -> a.getDateTime() == null)
-              .collect(Collectors.toList())
-      );
-      applicants = applicantsTmp;
-    }
-
-    return new TypedResponse<>(response, OK, null, applicants);
+    GroupApplicantRepository<GroupApplication, T> groupApplicantRepository = getGroupApplicantRepository();
+    int size = Math.min(pageSize, MAX_PAGE_SIZE);
+    PageRequest pageRequest = new PageRequest(page, size);
+    List<GroupApplication> applicants = status.equals("interview_scheduled") ?
+        groupApplicantRepository.getApplicantsPageByTime(group, status, pageRequest) :
+        groupApplicantRepository.getApplicantsPage(group, status, pageRequest);
+
+    Map<String, Long> statusCounts = new LinkedHashMap<>();
+    GroupApplication.ValidStatuses().forEach(s -> statusCounts.put(s, 0L));
+    for (Object[] row : groupApplicantRepository.countApplicantsByStatus(group)) {
+      if (row[0] != null) {
+        statusCounts.put((String) row[0], ((Number) row[1]).longValue());
+      }
+    }
+
+    ApplicantPage<GroupApplication> applicantPage = new ApplicantPage<>();
+    applicantPage.setItems(applicants);
+    applicantPage.setStatusCounts(statusCounts);
+    applicantPage.setTotalItems(statusCounts.getOrDefault(status, 0L));
+    applicantPage.setStart((long) page * size);
+    applicantPage.setEnd((long) page * size + applicants.size());
+    applicantPage.setPageSize(size);
+    return new TypedResponse<>(response, OK, null, applicantPage);
   }
 
   @CrossOrigin
@@ -917,13 +1180,7 @@ public abstract class GroupController<T extends Group, R extends GroupMember<T>,
 
     switch (status) {
       case "declined":
-        try {
-          notificationController.sendApplicationRejectedNotification(applicationToSave);
-        } catch (Exception e) {
-          logger.error(e.getMessage(), e);
-          errors.add(e.getMessage());
-          return new GeneralResponse(response, ERROR, errors);
-        }
+        notificationEventBus.publish(new ApplicationRejectedEvent(applicationToSave));
         break;
       case "interview_scheduled":
         T group = getGroupRepository().findOne(applicationToSave.getGroup().getId());
@@ -941,11 +1198,7 @@ public abstract class GroupController<T extends Group, R extends GroupMember<T>,
         interviewInvitation.setStatus(PENDING);
 
         interviewInvitation = getGroupInvitationRepository().save(interviewInvitation);
-        try {
-          notificationController.sendInterviewInvitation(interviewInvitation);
-        } catch (Exception e) {
-          logger.error(e.getMessage(), e);
-        }
+        notificationEventBus.publish(new InterviewInvitedEvent(interviewInvitation));
         break;
       case "invited":
         I invitationToJoin = getInvitation();
@@ -968,11 +1221,7 @@ public abstract class GroupController<T extends Group, R extends GroupMember<T>,
             getGroupRepository().findOne(applicationToSave.getGroup().getId()));
 
         if (errors.size() == 0) {
-          try {
-            notificationController.sendJoinInvitationNotification(invitationToJoin);
-          } catch (Exception e) {
-            logger.error(e.getMessage(), e);
-          }
+          notificationEventBus.publish(new JoinInvitedEvent(invitationToJoin));
         }
 
         break;
@@ -1157,9 +1406,28 @@ public abstract class GroupController<T extends Group, R extends GroupMember<T>,
 
   protected abstract UserToGroupPermission<T> getUserToGroupPermissionTyped(User user, T group);
 
-  protected abstract void removeRelationship(User user, T group, int role);
+  protected void removeRelationship(User user, T group, int role) {
+    removeRelationship(user, group, role, null);
+  }
+
+  /**
+   * Removes the role and drops the memoized roles of the dependent permission of the same user and group, if given
+   */
+  protected abstract void removeRelationship(User user, T group, int role, UserToGroupPermission<T> dependent);
+
+  protected void addRelationship(User user, T group, int role) {
+    addRelationship(user, group, role, null);
+  }
+
+  /**
+   * Adds the role and drops the memoized roles of the dependent permission of the same user and group, if given
+   */
+  protected abstract void addRelationship(User user, T group, int role, UserToGroupPermission<T> dependent);
 
-  protected abstract void addRelationship(User user, T group, int role);
+  /**
+   * Gives all users the same non-member role with one batched insert
+   */
+  protected abstract void addRelationships(Collection<User> users, T group, int role);
 
   protected abstract void saveInvitation(I invitation);
 
@@ -1230,12 +1498,12 @@ public abstract class GroupController<T extends Group, R extends GroupMember<T>,
     }
 
     User user = userOptional.get();
-    UserToGroupPermission permission = getUserToGroupPermission(user, group);
+    UserToGroupPermission<T> permission = getUserToGroupPermissionTyped(user, group);
 
     if (permission.hasRole(access)) {
       return new GeneralResponse(response, OK);
     }
-    addRelationship(user, group, access);
+    addRelationship(user, group, access, permission);
     return new GeneralResponse(response, OK);
   }
 
@@ -1278,12 +1546,12 @@ public abstract class GroupController<T extends Group, R extends GroupMember<T>,
     }
 
     User user = userOptional.get();
-    UserToGroupPermission permission = getUserToGroupPermission(user, group);
+    UserToGroupPermission<T> permission = getUserToGroupPermissionTyped(user, group);
 
     if (!permission.hasRole(access)) {
       return new GeneralResponse(response, OK);
     }
-    removeRelationship(user, group, access);
+    removeRelationship(user, group, access, permission);
     return new GeneralResponse(response, OK);
   }
 
@@ -1328,7 +1596,7 @@ public abstract class GroupController<T extends Group, R extends GroupMember<T>,
     UserToGroupPermission<T> permission = getUserToGroupPermissionTyped(user, group);
 
     Iterable<Integer> roles = permission.getRoles();
-    roles.forEach(integer -> removeRelationship(user, group, integer));
+    roles.forEach(integer -> removeRelationship(user, group, integer, permission));
 
     return new GeneralResponse(response, OK);
   }
@@ -1339,6 +1607,17 @@ public abstract class GroupController<T extends Group, R extends GroupMember<T>,
     return group;
   }
 
+  protected List<T> setJoinPermissions(User user, List<T> groups) {
+    Map<Long, ? extends UserToGroupPermission<T>> permissions = getUserToGroupPermissions(user, groups);
+    groups.forEach(group -> genericSetJoinPermissions(user, group, permissions.get(group.getId())));
+    return groups;
+  }
+
+  /**
+   * Permissions of one user for a whole list of groups, keyed by group id, loaded with a fixed number of queries
+   */
+  protected abstract Map<Long, ? extends UserToGroupPermission<T>> getUserToGroupPermissions(User user, List<T> groups);
+
   protected abstract GroupApplication<T> getApplication();
 
   protected abstract I getInvitation();
@@ -4,6 +4,7 @@ import static server.constants.RoleValue.ADMIN;
 import static server.constants.RoleValue.CREATE_PROJECT_IN_ORGANIZATION;
 import static server.controllers.rest.response.BaseResponse.Status.OK;
 import static server.controllers.rest.response.CannedResponse.INSUFFICIENT_PRIVELAGES;
+import static server.controllers.rest.response.CannedResponse.INTERVIEW_SLOTS_OVERLAP;
 import static server.controllers.rest.response.CannedResponse.INVALID_FIELDS;
 import static server.controllers.rest.response.CannedResponse.INVALID_SESSION;
 import static server.controllers.rest.response.CannedResponse.NO_GROUP_FOUND;
@@ -18,11 +19,13 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Controller;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
+import server.controllers.rest.errors.BadDataException;
 import server.controllers.rest.response.BaseResponse;
 import server.controllers.rest.response.GeneralResponse;
 import server.controllers.rest.response.TypedResponse;
 import server.entities.PossibleError;
 import server.entities.dto.FuseSession;
+import server.entities.dto.TimeInterval;
 import server.entities.dto.group.GroupApplication;
 import server.entities.dto.group.GroupProfile;
 import server.entities.dto.group.interview.Interview;
@@ -32,7 +35,10 @@ import server.entities.dto.user.User;
 import server.entities.user_to_group.permissions.PermissionFactory;
 import server.entities.user_to_group.permissions.UserToGroupPermission;
 import server.entities.user_to_group.permissions.UserToOrganizationPermission;
+import server.entities.user_to_group.permissions.UserToProjectPermission;
 import server.entities.user_to_group.relationships.RelationshipFactory;
+import server.entities.user_to_group.relationships.UserToGroupRelationship;
+import server.handlers.InterviewHelper;
 import server.handlers.InterviewTemplateHelper;
 import server.repositories.group.GroupApplicantRepository;
 import server.repositories.group.GroupInvitationRepository;
@@ -40,6 +46,7 @@ import server.repositories.group.GroupMemberRepository;
 import server.repositories.group.GroupRepository;
 import server.repositories.group.organization.*;
 import server.repositories.group.project.ProjectRepository;
+import server.utility.GroupLocks;
 
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
@@ -86,6 +93,12 @@ public class OrganizationController extends GroupController<Organization, Organi
   @Autowired
   private InterviewTemplateHelper interviewTemplateHelper;
 
+  @Autowired
+  private InterviewHelper interviewHelper;
+
+  @Autowired
+  private GroupLocks groupLocks;
+
 
 
   @GetMapping("/{id}/can_create_project")
@@ -150,11 +163,10 @@ public class OrganizationController extends GroupController<Organization, Organi
       return new TypedResponse<>(response, errors);
     }
 
-    return new TypedResponse<>(response, OK, errors,
-        organizationRepository.getAllProjectsByOrganization(organization).stream()
-            .map(item -> setJoinPermissionsForProject(loggedInUser, item))
-            .collect(Collectors.toList())
-    );
+    List<Project> projects = organizationRepository.getAllProjectsByOrganization(organization);
+    Map<Long, UserToProjectPermission> permissions = permissionFactory.createUserToProjectPermissions(loggedInUser, projects);
+    projects.forEach(project -> genericSetJoinPermissions(loggedInUser, project, permissions.get(project.getId())));
+    return new TypedResponse<>(response, OK, errors, projects);
   }
 
   @PostMapping("/{id}/grantProjectCreatePermission/{user_id}")
@@ -281,19 +293,26 @@ public class OrganizationController extends GroupController<Organization, Organi
   }
 
   @Override
-  protected void removeRelationship(User user, Organization group, int role) {
-    relationshipFactory.createUserToOrganizationRelationship(user, group).removeRelationship(role);
-    group.setNumberOfMembers((long) new HashSet<>(organizationMemberRepository.getUsersByGroup(group)).size());
-    organizationRepository.save(group);
-    group.indexAsync();
+  protected void removeRelationship(User user, Organization group, int role, UserToGroupPermission<Organization> dependent) {
+    UserToGroupRelationship<Organization> relationship = relationshipFactory.createUserToOrganizationRelationship(user, group, dependent);
+    relationship.removeRelationship(role);
+    if (relationship.getMemberDelta() != 0) {
+      group.indexAsync();
+    }
   }
 
   @Override
-  protected void addRelationship(User user, Organization group, int role) {
-    relationshipFactory.createUserToOrganizationRelationship(user, group).addRelationship(role);
-    group.setNumberOfMembers((long) new HashSet<>(organizationMemberRepository.getUsersByGroup(group)).size());
-    organizationRepository.save(group);
-    group.indexAsync();
+  protected void addRelationships(Collection<User> users, Organization group, int role) {
+    relationshipFactory.addOrganizationRelationships(users, group, role);
+  }
+
+  @Override
+  protected void addRelationship(User user, Organization group, int role, UserToGroupPermission<Organization> dependent) {
+    UserToGroupRelationship<Organization> relationship = relationshipFactory.createUserToOrganizationRelationship(user, group, dependent);
+    relationship.addRelationship(role);
+    if (relationship.getMemberDelta() != 0) {
+      group.indexAsync();
+    }
   }
 
   protected void addProjectRelationship(User user, Project group, int role) {
@@ -334,6 +353,10 @@ public class OrganizationController extends GroupController<Organization, Organi
           @ApiParam("The id of the organization")
           @PathVariable(value = "id") Long organizationId,
           @RequestBody InterviewTemplate template,
+          @ApiParam("Repeat the template daily or weekly")
+          @RequestParam(value = "repeat", required = false) String repeat,
+          @ApiParam("Last time the repeated template may start")
+          @RequestParam(value = "until", required = false) String until,
           HttpServletRequest request, HttpServletResponse response
   ){
 
@@ -369,10 +392,33 @@ public class OrganizationController extends GroupController<Organization, Organi
       return new GeneralResponse(response,BaseResponse.Status.DENIED, errors);
     }
 
-    interviewTemplateHelper.createTemplate(organization, template.getStart(), template.getEnd());
-
-    return new GeneralResponse(response,BaseResponse.Status.OK,errors);
+    List<TimeInterval> occurrences;
+    try {
+      occurrences = interviewTemplateHelper.getOccurrences(startDateTime, endDateTime, repeat, until);
+    } catch (BadDataException e) {
+      errors.add(e.getMessage());
+      return new GeneralResponse(response, BaseResponse.Status.BAD_DATA, errors);
+    }
 
+    // The same locks as adding slots to a single project, so nothing can add an overlapping slot before the batch
+    List<Project> projects = organizationRepository.getAllProjectsByOrganization(organization);
+    return groupLocks.withLocks(projects.stream().map(GroupLocks::groupKey).collect(Collectors.toList()), () -> {
+      List<Interview> slots = occurrences.stream().map(occurrence -> {
+        Interview slot = new Interview();
+        slot.setStartDateTime(occurrence.getStartDateTime());
+        slot.setEndDateTime(occurrence.getEndDateTime());
+        return slot;
+      }).collect(Collectors.toList());
+      for (Project project : projects) {
+        if (interviewHelper.overlapsExistingSlots(slots, project.getGroupType(), project.getId(), null)) {
+          errors.add(INTERVIEW_SLOTS_OVERLAP + " in project " + project.getName());
+          return new GeneralResponse(response, BaseResponse.Status.BAD_DATA, errors);
+        }
+      }
+
+      interviewTemplateHelper.createTemplates(organization, occurrences);
+      return new GeneralResponse(response, BaseResponse.Status.OK, errors);
+    });
   }
 
 
@@ -439,6 +485,11 @@ public class OrganizationController extends GroupController<Organization, Organi
     return permissionFactory.createUserToOrganizationPermission(user, group);
   }
 
+  @Override
+  protected Map<Long, UserToOrganizationPermission> getUserToGroupPermissions(User user, List<Organization> groups) {
+    return permissionFactory.createUserToOrganizationPermissions(user, groups);
+  }
+
   @Override
   protected PossibleError validateGroup(User user, Organization group) {
     return new PossibleError(OK);
@@ -460,10 +511,15 @@ public class OrganizationController extends GroupController<Organization, Organi
     return group;
   }
 
-  private Project setJoinPermissionsForProject(User user, Project res) {
-    UserToGroupPermission permission = permissionFactory.createUserToProjectPermission(user, res);
-    genericSetJoinPermissions(user, res, permission);
-    return res;
+  @Override
+  protected List<Organization> setJoinPermissions(User user, List<Organization> groups) {
+    Map<Long, UserToOrganizationPermission> permissions = getUserToGroupPermissions(user, groups);
+    for (Organization group : groups) {
+      UserToOrganizationPermission permission = permissions.get(group.getId());
+      genericSetJoinPermissions(user, group, permission);
+      group.setCanCreateProject(permission.canCreateProjectsInOrganization());
+    }
+    return groups;
   }
 
   private UserToOrganizationPermission getUserToOrganizationPermission(User user, Organization org) {
@@ -22,7 +22,9 @@ import server.entities.dto.user.User;
 import server.entities.user_to_group.permissions.PermissionFactory;
 import server.entities.user_to_group.permissions.UserToGroupPermission;
 import server.entities.user_to_group.permissions.UserToOrganizationPermission;
+import server.entities.user_to_group.permissions.UserToProjectPermission;
 import server.entities.user_to_group.relationships.RelationshipFactory;
+import server.entities.user_to_group.relationships.UserToGroupRelationship;
 import server.handlers.InterviewTemplateHelper;
 import server.repositories.group.*;
 import server.repositories.group.organization.OrganizationInterviewTemplateRepository;
@@ -36,8 +38,9 @@ import server.repositories.group.project.ProjectRepository;
 import java.time.ZoneOffset;
 import java.time.ZonedDateTime;
 import java.util.ArrayList;
-import java.util.HashSet;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 @Controller
@@ -116,19 +119,31 @@ public class ProjectController extends GroupController<Project, ProjectMember, P
   }
 
   @Override
-  protected void removeRelationship(User user, Project group, int role) {
-    relationshipFactory.createUserToProjectRelationship(user, group).removeRelationship(role);
-    group.setNumberOfMembers((long) new HashSet<>(projectMemberRepository.getUsersByGroup(group)).size());
-    projectRepository.save(group);
-    group.indexAsync();
+  protected Map<Long, UserToProjectPermission> getUserToGroupPermissions(User user, List<Project> groups) {
+    return permissionFactory.createUserToProjectPermissions(user, groups);
   }
 
   @Override
-  protected void addRelationship(User user, Project group, int role) {
-    relationshipFactory.createUserToProjectRelationship(user, group).addRelationship(role);
-    group.setNumberOfMembers((long) new HashSet<>(projectMemberRepository.getUsersByGroup(group)).size());
-    projectRepository.save(group);
-    group.indexAsync();
+  protected void removeRelationship(User user, Project group, int role, UserToGroupPermission<Project> dependent) {
+    UserToGroupRelationship<Project> relationship = relationshipFactory.createUserToProjectRelationship(user, group, dependent);
+    relationship.removeRelationship(role);
+    if (relationship.getMemberDelta() != 0) {
+      group.indexAsync();
+    }
+  }
+
+  @Override
+  protected void addRelationships(Collection<User> users, Project group, int role) {
+    relationshipFactory.addProjectRelationships(users, group, role);
+  }
+
+  @Override
+  protected void addRelationship(User user, Project group, int role, UserToGroupPermission<Project> dependent) {
+    UserToGroupRelationship<Project> relationship = relationshipFactory.createUserToProjectRelationship(user, group, dependent);
+    relationship.addRelationship(role);
+    if (relationship.getMemberDelta() != 0) {
+      group.indexAsync();
+    }
   }
 
   @Override
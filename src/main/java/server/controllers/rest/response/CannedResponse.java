@@ -16,8 +16,15 @@ public class CannedResponse {
   public static final String INVALID_REGISTRATION_KEY = "invalid registration key";
   public static final String INTERVIEW_NOT_AVAILABLE = "interview not available";
   public static final String EMAIL_ALREADY_EXISTS = "Email already exists";
+  public static final String NAME_ALREADY_EXISTS = "entity name already exists for user";
   public static final String NO_INVITATION_FOUND = "No invitation found";
   public static final String FRIEND_FOUND = "User is your friend already";
   public static final String FILE_NOT_FOUND = "File not found ";
   public static final String NOT_ALLOWED_MSG = "Must join organization first ";
+  public static final String INTERVIEW_SLOTS_OVERLAP = "Interview slots overlap";
+  public static final String INVALID_RECURRENCE = "Invalid recurrence ";
+  public static final String INVALID_RECURRENCE_END = "Invalid end of recurrence ";
+  public static final String TOO_MANY_OCCURRENCES = "Too many occurrences, at most ";
+  public static final String UNKNOWN_EXPORT = "Unknown export ";
+  public static final String UNSUPPORTED_EXPORT_FORMAT = "Unsupported export format ";
 }
@@ -31,9 +31,18 @@ public class MemberRelationship {
     roles = null;
   }
 
+  public MemberRelationship(User user, Iterable<Integer> roleIds) {
+    this.user = user;
+    setRoleIds(roleIds);
+  }
+
   public <T extends Group> void setPermissions(UserToGroupPermission<T> permissions) {
+    setRoleIds(permissions.getRoles());
+  }
+
+  public void setRoleIds(Iterable<Integer> roleIds) {
     roles = new HashSet<>();
-    permissions.getRoles().forEach(
+    roleIds.forEach(
         role -> {
           switch (role) {
             case DEFAULT_USER:
@@ -6,7 +6,9 @@ import server.entities.dto.group.interview.Interview;
 import server.entities.dto.user.User;
 import server.utility.NotificationEntityNames;
 
+import javax.persistence.CollectionTable;
 import javax.persistence.Column;
+import javax.persistence.ElementCollection;
 import javax.persistence.Entity;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
@@ -20,7 +22,9 @@ import java.time.LocalDateTime;
 import java.time.ZoneOffset;
 import java.time.ZonedDateTime;
 import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 @Entity
 @Table(name = "notification")
@@ -62,6 +66,29 @@ public class Notification {
   @OneToOne
   private Interview interview;
 
+  // Id of the project or organization the notification is about; used to coalesce notifications into digests
+  @Column(name = "group_id")
+  private Long groupId;
+
+  // Number of events merged into this notification
+  @Column(name = "digest_count")
+  private int digestCount = 1;
+
+  // Whether this notification is a digest that later events of the same type can be merged into
+  @Column(name = "digest")
+  private boolean digest;
+
+  // When the digest was started; the coalescing window is measured from here, not from the latest event
+  @Column(name = "digest_started")
+  private LocalDateTime digestStarted;
+
+  // Ids of every object merged into the digest, so each one can be marked done on its own
+  @JsonIgnore
+  @ElementCollection
+  @CollectionTable(name = "notification_digest_item", joinColumns = @JoinColumn(name = "notification_id"))
+  @Column(name = "object_id")
+  private Set<Long> digestObjectIds = new HashSet<>();
+
   @Transient
   private Object data;
 
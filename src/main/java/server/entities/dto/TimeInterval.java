@@ -13,6 +13,11 @@ public class TimeInterval {
     endDateTime = startDateTime.plusDays(1);
   }
 
+  public TimeInterval(LocalDateTime startDateTime, LocalDateTime endDateTime) {
+    this.startDateTime = startDateTime;
+    this.endDateTime = endDateTime;
+  }
+
   private LocalDateTime startDateTime;
 
   private LocalDateTime endDateTime;
@@ -0,0 +1,17 @@
+package server.entities.dto.group;
+
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import server.entities.dto.TypedPagedResults;
+
+import java.util.Map;
+
+/**
+ * One page of the applicants to a group with a given status, together with how many applicants there are with each
+ * status
+ */
+@Data
+@EqualsAndHashCode(callSuper = true)
+public class ApplicantPage<T extends GroupApplication> extends TypedPagedResults<T> {
+  private Map<String, Long> statusCounts;
+}
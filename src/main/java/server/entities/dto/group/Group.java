@@ -39,6 +39,8 @@ public abstract class Group<Profile extends GroupProfile> extends BaseIndexable
 
   private String name;
 
+  // Only changed through atomic increments when someone joins or leaves, never by saving the entity
+  @Column(name = "number_of_members", updatable = false)
   private Long numberOfMembers;
 
   @Column(name = "restriction")
@@ -0,0 +1,41 @@
+package server.entities.dto.group;
+
+import lombok.Data;
+
+/**
+ * The fields of a group needed to show it in a list or on a card, read with one query instead of loading the group,
+ * its owner and its profile as entities
+ */
+@Data
+public class GroupSummary {
+  private Long id;
+
+  private String groupType;
+
+  private String name;
+
+  private String restriction;
+
+  private Long numberOfMembers;
+
+  private Long ownerId;
+
+  private String ownerName;
+
+  private String headline;
+
+  private Long thumbnail_id;
+
+  public GroupSummary(Long id, String groupType, String name, String restriction, Long numberOfMembers,
+                      Long ownerId, String ownerName, String headline, Long thumbnail_id) {
+    this.id = id;
+    this.groupType = groupType;
+    this.name = name;
+    this.restriction = "INVITE".equals(restriction) ? "INVITE" : "NONE";
+    this.numberOfMembers = numberOfMembers;
+    this.ownerId = ownerId;
+    this.ownerName = ownerName;
+    this.headline = headline;
+    this.thumbnail_id = thumbnail_id;
+  }
+}
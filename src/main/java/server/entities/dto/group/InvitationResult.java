@@ -0,0 +1,22 @@
+package server.entities.dto.group;
+
+import lombok.Data;
+
+/**
+ * Outcome of inviting one of the users of a bulk invite: the id of the new invitation, or why none was sent
+ */
+@Data
+public class InvitationResult {
+  private Long userId;
+
+  private String email;
+
+  private Long invitationId;
+
+  private String error;
+
+  public InvitationResult(Long userId, String email) {
+    this.userId = userId;
+    this.email = email;
+  }
+}
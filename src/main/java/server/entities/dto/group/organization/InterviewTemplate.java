@@ -3,6 +3,8 @@ package server.entities.dto.group.organization;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.Data;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import javax.persistence.*;
 import java.time.LocalDateTime;
 import java.time.ZoneOffset;
@@ -12,6 +14,8 @@ import java.time.format.DateTimeFormatter;
 @Data
 @Entity
 @Table(name = "interview_template")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 public class InterviewTemplate {
 
     @Id
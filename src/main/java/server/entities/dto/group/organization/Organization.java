@@ -4,13 +4,48 @@ import com.fasterxml.jackson.annotation.JsonManagedReference;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.ToString;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import server.entities.dto.group.Group;
+import server.entities.dto.statistics.MemberProjectOrganizationInterviewBreakdownView;
+import server.entities.dto.statistics.MemberProjectOrganizationInterviewSummaryView;
+import server.repositories.group.organization.OrganizationRepository;
 
 import javax.persistence.*;
 
 @ToString(exclude = "profile")
 @Entity
 @Table(name = "organization")
+@NamedNativeQueries({
+    @NamedNativeQuery(name = "Organization.getMemberProjectOrganizationInterviewSummary",
+        query = OrganizationRepository.MEMBER_INTERVIEW_SUMMARY, resultSetMapping = "MemberInterviewSummary"),
+    @NamedNativeQuery(name = "Organization.getMemberProjectOrganizationInterviewBreakdown",
+        query = OrganizationRepository.MEMBER_INTERVIEW_BREAKDOWN, resultSetMapping = "MemberInterviewBreakdown")
+})
+// The member interview statistics are aggregated on read, so they are mapped to plain classes instead of entities
+@SqlResultSetMappings({
+    @SqlResultSetMapping(name = "MemberInterviewSummary", classes = @ConstructorResult(
+        targetClass = MemberProjectOrganizationInterviewSummaryView.class,
+        columns = {
+            @ColumnResult(name = "id", type = String.class),
+            @ColumnResult(name = "org_id", type = Long.class),
+            @ColumnResult(name = "member_id", type = Long.class),
+            @ColumnResult(name = "member_name", type = String.class),
+            @ColumnResult(name = "num_interviews", type = Long.class),
+            @ColumnResult(name = "num_projects_with_interviews", type = Long.class)
+        })),
+    @SqlResultSetMapping(name = "MemberInterviewBreakdown", classes = @ConstructorResult(
+        targetClass = MemberProjectOrganizationInterviewBreakdownView.class,
+        columns = {
+            @ColumnResult(name = "id", type = String.class),
+            @ColumnResult(name = "org_id", type = Long.class),
+            @ColumnResult(name = "member_id", type = Long.class),
+            @ColumnResult(name = "member_name", type = String.class),
+            @ColumnResult(name = "num_interviews", type = Long.class)
+        }))
+})
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 public class Organization extends Group<OrganizationProfile> {
 
   @JsonManagedReference
@@ -4,9 +4,12 @@ package server.entities.dto.group.organization;
 import com.fasterxml.jackson.annotation.JsonBackReference;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.Data;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import server.entities.dto.Link;
 import server.entities.dto.group.GroupProfile;
 
+import javax.persistence.Cacheable;
 import javax.persistence.Entity;
 import javax.persistence.JoinColumn;
 import javax.persistence.OneToMany;
@@ -19,6 +22,8 @@ import java.util.stream.Collectors;
 @Data
 @Entity
 @Table(name = "organization_profile")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 public class OrganizationProfile extends GroupProfile<Organization> {
 
   @OneToOne
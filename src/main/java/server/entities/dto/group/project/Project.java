@@ -4,9 +4,12 @@ import com.fasterxml.jackson.annotation.JsonManagedReference;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.ToString;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import server.entities.dto.group.Group;
 import server.entities.dto.group.organization.Organization;
 
+import javax.persistence.Cacheable;
 import javax.persistence.CascadeType;
 import javax.persistence.Entity;
 import javax.persistence.JoinColumn;
@@ -19,6 +22,8 @@ import java.util.Map;
 @ToString(exclude = "profile")
 @Entity
 @Table(name = "project")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 public class Project extends Group<ProjectProfile> {
 
   @Getter
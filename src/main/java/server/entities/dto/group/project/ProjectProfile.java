@@ -3,9 +3,12 @@ package server.entities.dto.group.project;
 import com.fasterxml.jackson.annotation.JsonBackReference;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.Data;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import server.entities.dto.Link;
 import server.entities.dto.group.GroupProfile;
 
+import javax.persistence.Cacheable;
 import javax.persistence.Entity;
 import javax.persistence.JoinColumn;
 import javax.persistence.OneToMany;
@@ -18,6 +21,8 @@ import java.util.stream.Collectors;
 @Data
 @Entity
 @Table(name = "project_profile")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 public class ProjectProfile extends GroupProfile<Project> {
 
   @OneToOne
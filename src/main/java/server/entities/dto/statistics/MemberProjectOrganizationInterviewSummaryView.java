@@ -1,33 +1,33 @@
 package server.entities.dto.statistics;
 
-import jdk.nashorn.internal.ir.annotations.Immutable;
 import lombok.Data;
 
-import javax.persistence.Column;
-import javax.persistence.Entity;
-import javax.persistence.Id;
-import javax.persistence.Table;
-
+/**
+ * Upcoming interviews per organization member. The counts depend on the current time, so they are not stored:
+ * OrganizationRepository aggregates them from organization_interview_stat for one organization at a time and maps
+ * the rows to this class through a result set mapping declared on {@link server.entities.dto.group.organization.Organization}.
+ */
 @Data
-@Entity
-@Immutable
-@Table(name="member_project_organization_interview_summary")
 public class MemberProjectOrganizationInterviewSummaryView {
-    @Id
-    private String id;
+  private String id;
+
+  private Long memberId;
 
-    @Column(name="member_id")
-    private Long memberId;
+  private String member_name;
 
-    @Column(name="member_name")
-    private String member_name;
+  private Long organizationId;
 
-    @Column(name="org_id")
-    private Long organizationId;
+  private Long numberOfInterviews;
 
-    @Column(name="num_interviews")
-    private Long numberOfInterviews;
+  private Long numberOfProjectsWithInterviews;
 
-    @Column(name="num_projects_with_interviews")
-    private Long numberOfProjectsWithInterviews;
+  public MemberProjectOrganizationInterviewSummaryView(String id, Long organizationId, Long memberId, String member_name,
+                                                       Long numberOfInterviews, Long numberOfProjectsWithInterviews) {
+    this.id = id;
+    this.organizationId = organizationId;
+    this.memberId = memberId;
+    this.member_name = member_name;
+    this.numberOfInterviews = numberOfInterviews;
+    this.numberOfProjectsWithInterviews = numberOfProjectsWithInterviews;
+  }
 }
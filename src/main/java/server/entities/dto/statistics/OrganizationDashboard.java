@@ -0,0 +1,39 @@
+package server.entities.dto.statistics;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import lombok.Data;
+
+/**
+ * Every section of the organization statistics page in one response. The sections are kept as JSON trees, already
+ * serialized while their entities were attached, so one snapshot can be cached and handed to many requests.
+ */
+@Data
+public class OrganizationDashboard {
+  private Long organizationId;
+
+  private String generatedAt;
+
+  private String interviewSlotsStart;
+
+  private String interviewSlotsEnd;
+
+  private JsonNode projectInterviewSlots;
+
+  private JsonNode memberInterviewSlots;
+
+  private JsonNode projectMemberCounts;
+
+  private JsonNode memberProjectCounts;
+
+  private JsonNode invalidProfilesSummary;
+
+  private JsonNode invalidProfilesBreakdown;
+
+  private JsonNode projectInterviewSummary;
+
+  private JsonNode projectInterviewBreakdown;
+
+  private JsonNode memberInterviewSummary;
+
+  private JsonNode memberInterviewBreakdown;
+}
@@ -14,7 +14,7 @@ import java.time.ZonedDateTime;
 @Data
 @Entity
 @Immutable
-@Table(name="project_organization_interview_breakdown")
+@Table(name="organization_interview_stat")
 public class ProjectOrganizationInterviewBreakdownView {
 
   @Id
@@ -12,7 +12,7 @@ import java.time.LocalDateTime;
 @Data
 @Entity
 @Immutable
-@Table(name="project_organization_interview_summary")
+@Table(name="organization_project_stat")
 public class ProjectOrganizationInterviewSummaryView {
   @Id
   private String id;
@@ -11,7 +11,7 @@ import javax.persistence.Table;
 @Data
 @Entity
 @Immutable
-@Table(name="users_with_invalid_profiles_breakdown")
+@Table(name="organization_member_stat")
 public class UsersWithInvalidProfilesBreakdownView {
   @Id
   private String id;
@@ -12,7 +12,7 @@ import javax.persistence.Table;
 @Data
 @Entity
 @Immutable
-@Table(name="users_with_invalid_profiles_summary")
+@Table(name="organization_profile_stat")
 public class UsersWithInvalidProfilesSummaryView {
   @Id
   private Long id;
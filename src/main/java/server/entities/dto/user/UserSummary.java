@@ -0,0 +1,25 @@
+package server.entities.dto.user;
+
+import lombok.Data;
+
+/**
+ * The fields of a user needed to show them in a list or on a card, read with one query instead of loading the user
+ * and their profile as entities
+ */
+@Data
+public class UserSummary {
+  private Long id;
+
+  private String name;
+
+  private String headline;
+
+  private Long thumbnail_id;
+
+  public UserSummary(Long id, String name, String headline, Long thumbnail_id) {
+    this.id = id;
+    this.name = name;
+    this.headline = headline;
+    this.thumbnail_id = thumbnail_id;
+  }
+}
@@ -0,0 +1,40 @@
+package server.entities.user_to_group.permissions;
+
+import server.entities.dto.group.Group;
+import server.entities.dto.group.organization.Organization;
+import server.entities.dto.group.project.Project;
+
+import java.util.Map;
+
+/**
+ * Permissions of one user for a set of projects and organizations, as created by
+ * {@link PermissionFactory#createUserToGroupPermissions}
+ */
+public class GroupPermissions {
+
+  private final Map<Long, UserToProjectPermission> projectPermissions;
+  private final Map<Long, UserToOrganizationPermission> organizationPermissions;
+
+  GroupPermissions(Map<Long, UserToProjectPermission> projectPermissions,
+                   Map<Long, UserToOrganizationPermission> organizationPermissions) {
+    this.projectPermissions = projectPermissions;
+    this.organizationPermissions = organizationPermissions;
+  }
+
+  public UserToProjectPermission get(Project project) {
+    return projectPermissions.get(project.getId());
+  }
+
+  public UserToOrganizationPermission get(Organization organization) {
+    return organizationPermissions.get(organization.getId());
+  }
+
+  public UserToGroupPermission<?> get(Group group) {
+    if (group instanceof Project) {
+      return get((Project) group);
+    } else if (group instanceof Organization) {
+      return get((Organization) group);
+    }
+    return null;
+  }
+}
@@ -5,6 +5,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import server.controllers.FuseSessionController;
+import server.entities.dto.group.Group;
 import server.entities.dto.group.organization.Organization;
 import server.entities.dto.group.project.Project;
 import server.entities.dto.user.User;
@@ -13,6 +14,18 @@ import server.repositories.group.organization.OrganizationMemberRepository;
 import server.repositories.group.project.ProjectApplicantRepository;
 import server.repositories.group.project.ProjectMemberRepository;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
 @Service
 @Transactional
 public class PermissionFactory {
@@ -35,6 +48,9 @@ public class PermissionFactory {
   @Autowired
   private OrganizationApplicantRepository organizationApplicantRepository;
 
+  @Autowired
+  private RoleCache roleCache;
+
   public UserPermission createUserPermission(User user) {
     UserPermission permission = new UserPermission(user);
     permission.setFuseSessionController(fuseSessionController);
@@ -44,6 +60,7 @@ public class PermissionFactory {
   public UserToOrganizationPermission createUserToOrganizationPermission(User user, Organization organization) {
     UserToOrganizationPermission permission = new UserToOrganizationPermission(user, organization);
     permission.setSession(sessionFactory.getCurrentSession());
+    permission.setRoleCache(roleCache);
     permission.setRepository(organizationMemberRepository);
     permission.setOrganizationApplicantRepository(organizationApplicantRepository);
     return permission;
@@ -52,6 +69,7 @@ public class PermissionFactory {
   public UserToProjectPermission createUserToProjectPermission(User user, Project project) {
     UserToProjectPermission permission = new UserToProjectPermission(user, project);
     permission.setSession(sessionFactory.getCurrentSession());
+    permission.setRoleCache(roleCache);
     permission.setRepository(projectMemberRepository);
     permission.setProjectApplicantRepository(projectApplicantRepository);
     if (project.getOrganization() != null) {
@@ -59,4 +77,141 @@ public class PermissionFactory {
     }
     return permission;
   }
+
+  /**
+   * Creates the permissions of one user for many organizations with one roles query and one applications query
+   * instead of several queries per organization
+   */
+  public Map<Long, UserToOrganizationPermission> createUserToOrganizationPermissions(User user,
+                                                                                     Collection<Organization> organizations) {
+    return createUserToOrganizationPermissions(user, organizations, true);
+  }
+
+  /**
+   * Creates the permissions of one user for many projects. Besides the roles and applications query for the projects,
+   * the memberships of their parent organizations are loaded with a single query.
+   */
+  public Map<Long, UserToProjectPermission> createUserToProjectPermissions(User user, Collection<Project> projects) {
+    // Nested organization permissions only decide whether the user may join, so their applications are not needed
+    Map<Long, UserToOrganizationPermission> organizationPermissions =
+        createUserToOrganizationPermissions(user, getParentOrganizations(projects), false);
+    return createUserToProjectPermissions(user, projects, organizationPermissions);
+  }
+
+  /**
+   * Creates the permissions of one user for a mixed list of projects and organizations, such as a page of search
+   * results. Uses one roles and one applications query per group type, and the parent organizations of the projects
+   * share the organization queries.
+   */
+  public GroupPermissions createUserToGroupPermissions(User user, Collection<? extends Group> groups) {
+    List<Project> projects = new ArrayList<>();
+    Map<Long, Organization> organizations = new LinkedHashMap<>();
+    for (Group group : groups) {
+      if (group instanceof Project) {
+        projects.add((Project) group);
+      } else if (group instanceof Organization) {
+        organizations.put(group.getId(), (Organization) group);
+      }
+    }
+    getParentOrganizations(projects).forEach(organization -> organizations.putIfAbsent(organization.getId(), organization));
+
+    Map<Long, UserToOrganizationPermission> organizationPermissions =
+        createUserToOrganizationPermissions(user, organizations.values(), true);
+    return new GroupPermissions(createUserToProjectPermissions(user, projects, organizationPermissions),
+        organizationPermissions);
+  }
+
+  private Map<Long, UserToProjectPermission> createUserToProjectPermissions(
+      User user, Collection<Project> projects, Map<Long, UserToOrganizationPermission> organizationPermissions) {
+    Map<Long, UserToProjectPermission> permissions = new HashMap<>();
+    if (projects.isEmpty()) {
+      return permissions;
+    }
+
+    Map<Long, Integer> roleMasks = getRoleMasks(user, projects,
+        missing -> projectMemberRepository.getRolesForGroups(missing, user));
+    Set<Long> applied = new HashSet<>(projectApplicantRepository.getAppliedGroupIds(projects, user));
+
+    for (Project project : projects) {
+      UserToProjectPermission permission = new UserToProjectPermission(user, project);
+      permission.setSession(sessionFactory.getCurrentSession());
+      permission.setRoleCache(roleCache);
+      permission.setRepository(projectMemberRepository);
+      permission.setProjectApplicantRepository(projectApplicantRepository);
+      permission.setPreloadedRoleMask(roleMasks.get(project.getId()));
+      permission.setPreloadedApplied(applied.contains(project.getId()));
+      if (project.getOrganization() != null) {
+        permission.setUserToOrganizationPermission(organizationPermissions.get(project.getOrganization().getId()));
+      }
+      permissions.put(project.getId(), permission);
+    }
+    return permissions;
+  }
+
+  private Collection<Organization> getParentOrganizations(Collection<Project> projects) {
+    return projects.stream()
+        .map(Project::getOrganization)
+        .filter(Objects::nonNull)
+        .collect(Collectors.toMap(Organization::getId, organization -> organization, (a, b) -> a))
+        .values();
+  }
+
+  private Map<Long, UserToOrganizationPermission> createUserToOrganizationPermissions(User user,
+                                                                                      Collection<Organization> organizations,
+                                                                                      boolean withApplications) {
+    Map<Long, UserToOrganizationPermission> permissions = new HashMap<>();
+    if (organizations.isEmpty()) {
+      return permissions;
+    }
+
+    Map<Long, Integer> roleMasks = getRoleMasks(user, organizations,
+        missing -> organizationMemberRepository.getRolesForGroups(missing, user));
+    Set<Long> applied = withApplications ?
+        new HashSet<>(organizationApplicantRepository.getAppliedGroupIds(organizations, user)) :
+        null;
+
+    for (Organization organization : organizations) {
+      UserToOrganizationPermission permission = createUserToOrganizationPermission(user, organization);
+      permission.setPreloadedRoleMask(roleMasks.get(organization.getId()));
+      if (applied != null) {
+        permission.setPreloadedApplied(applied.contains(organization.getId()));
+      }
+      permissions.put(organization.getId(), permission);
+    }
+    return permissions;
+  }
+
+  /**
+   * Role bitmasks of the user for each group, keyed by group id. Groups missing from the role cache are loaded with
+   * one query returning (group id, role id) rows.
+   */
+  private <G extends Group> Map<Long, Integer> getRoleMasks(User user, Collection<G> groups,
+                                                            Function<List<G>, List<Object[]>> rolesQuery) {
+    Map<Long, Integer> roleMasks = new HashMap<>();
+    List<G> missing = new ArrayList<>();
+    for (G group : groups) {
+      Integer cached = roleCache.getRoleMask(user, group);
+      if (cached != null) {
+        roleMasks.put(group.getId(), cached);
+      } else {
+        missing.add(group);
+      }
+    }
+    if (missing.isEmpty()) {
+      return roleMasks;
+    }
+
+    Map<Long, Long> generations = new HashMap<>();
+    missing.forEach(group -> generations.put(group.getId(), roleCache.getGeneration(user, group)));
+    Map<Long, Integer> loaded = new HashMap<>();
+    for (Object[] row : rolesQuery.apply(missing)) {
+      loaded.merge(((Number) row[0]).longValue(), 1 << ((Number) row[1]).intValue(), (a, b) -> a | b);
+    }
+    for (G group : missing) {
+      int roleMask = loaded.getOrDefault(group.getId(), 0);
+      roleMasks.put(group.getId(), roleMask);
+      roleCache.putRoleMask(user, group, roleMask, generations.get(group.getId()));
+    }
+    return roleMasks;
+  }
 }
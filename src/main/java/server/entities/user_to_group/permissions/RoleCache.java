@@ -0,0 +1,127 @@
+package server.entities.user_to_group.permissions;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.endpoint.PublicMetrics;
+import org.springframework.boot.actuate.metrics.Metric;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import server.entities.dto.group.Group;
+import server.entities.dto.user.User;
+
+import javax.annotation.PostConstruct;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bounded cache of role bitmasks (see {@link UserToGroupPermission}) keyed by user, group type and group, shared by
+ * all requests of this instance. Entries are dropped whenever a relationship between the user and the group changes
+ * here, and every invalidation bumps a generation counter so that a load which started before it cannot put the old
+ * roles back afterwards.
+ * <p>
+ * Nothing tells the other server instances, so a role change made through another instance (or directly in the
+ * database) stays invisible here until the entry expires, i.e. for up to fuse.permissions.roleCacheTtlSeconds.
+ */
+@Component
+public class RoleCache implements PublicMetrics {
+
+  @Value("${fuse.permissions.roleCacheSize:100000}")
+  private long maximumSize;
+
+  @Value("${fuse.permissions.roleCacheTtlSeconds:10}")
+  private long ttlSeconds;
+
+  private static final int GENERATION_STRIPES = 1024;
+
+  private Cache<String, Integer> cache;
+
+  // Invalidation counters, striped by key so unrelated invalidations rarely discard each other's loads
+  private final AtomicLongArray generations = new AtomicLongArray(GENERATION_STRIPES);
+
+  @PostConstruct
+  public void init() {
+    cache = CacheBuilder.newBuilder()
+        .maximumSize(maximumSize)
+        .expireAfterWrite(ttlSeconds, TimeUnit.SECONDS)
+        .recordStats()
+        .build();
+  }
+
+  public Integer getRoleMask(User user, Group group) {
+    String key = key(user, group);
+    return key == null ? null : cache.getIfPresent(key);
+  }
+
+  /**
+   * The generation to pass to {@link #putRoleMask}; read it before loading the roles
+   */
+  public long getGeneration(User user, Group group) {
+    String key = key(user, group);
+    return key == null ? 0 : generations.get(stripe(key));
+  }
+
+  /**
+   * Caches roles loaded after {@link #getGeneration} returned generation. If the roles were invalidated since, the
+   * entry is dropped again, because the load may have read them before the change.
+   */
+  public void putRoleMask(User user, Group group, int roleMask, long generation) {
+    String key = key(user, group);
+    if (key == null) {
+      return;
+    }
+    cache.put(key, roleMask);
+    if (generations.get(stripe(key)) != generation) {
+      cache.invalidate(key);
+    }
+  }
+
+  public void invalidate(User user, Group group) {
+    String key = key(user, group);
+    if (key == null) {
+      return;
+    }
+    invalidate(key);
+    // Another request may load the old roles again before this transaction commits, so drop them once more after
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+        @Override
+        public void afterCompletion(int status) {
+          invalidate(key);
+        }
+      });
+    }
+  }
+
+  private void invalidate(String key) {
+    generations.incrementAndGet(stripe(key));
+    cache.invalidate(key);
+  }
+
+  private static int stripe(String key) {
+    return (key.hashCode() & Integer.MAX_VALUE) % GENERATION_STRIPES;
+  }
+
+  private static String key(User user, Group group) {
+    if (user == null || user.getId() == null || group == null || group.getId() == null) {
+      return null;
+    }
+    return user.getId() + ":" + group.getGroupType() + ":" + group.getId();
+  }
+
+  @Override
+  public Collection<Metric<?>> metrics() {
+    CacheStats stats = cache.stats();
+    Collection<Metric<?>> metrics = new ArrayList<>();
+    metrics.add(new Metric<>("permissions.roleCache.size", cache.size()));
+    metrics.add(new Metric<>("permissions.roleCache.hits", stats.hitCount()));
+    metrics.add(new Metric<>("permissions.roleCache.misses", stats.missCount()));
+    metrics.add(new Metric<>("permissions.roleCache.hitRatio", stats.hitRate()));
+    metrics.add(new Metric<>("permissions.roleCache.evictions", stats.evictionCount()));
+    return metrics;
+  }
+}
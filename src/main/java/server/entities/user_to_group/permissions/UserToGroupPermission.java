@@ -1,9 +1,12 @@
 package server.entities.user_to_group.permissions;
 
 import static server.constants.RoleValue.ADMIN;
-import static server.constants.RoleValue.DEFAULT_USER;
 import static server.constants.RoleValue.INVITED_TO_JOIN;
 import static server.constants.RoleValue.OWNER;
+import static server.utility.RolesUtility.MEMBER_ROLES_MASK;
+import static server.utility.RolesUtility.fromRoleMask;
+import static server.utility.RolesUtility.toRoleMask;
+import lombok.Setter;
 import org.hibernate.Session;
 import org.springframework.transaction.annotation.Transactional;
 import server.entities.MemberRelationship;
@@ -11,6 +14,8 @@ import server.entities.dto.group.Group;
 import server.entities.dto.user.User;
 import server.entities.user_to_group.permissions.results.JoinResult;
 
+import java.util.List;
+
 
 @Transactional
 public abstract class UserToGroupPermission<T extends Group> {
@@ -18,6 +23,19 @@ public abstract class UserToGroupPermission<T extends Group> {
   protected final User user;
   protected final T group;
 
+  private static final int NOT_LOADED = -1;
+  private static final int ADMIN_ROLES_MASK = (1 << ADMIN) | (1 << OWNER);
+
+  // Roles of the user in the group with bit n set for role n, loaded on first use
+  private int roleMask = NOT_LOADED;
+
+  @Setter
+  private RoleCache roleCache;
+
+  // Set when the permissions for a whole list of groups are created at once, so no per-group query is needed
+  @Setter
+  protected Boolean preloadedApplied;
+
   public UserToGroupPermission(User user, T group) {
     this.user = user;
     this.group = group;
@@ -49,21 +67,11 @@ public abstract class UserToGroupPermission<T extends Group> {
   protected abstract Session getSession();
 
   public boolean isMember() {
-    for (Integer roleId : getRoles()) {
-      if (roleId == ADMIN || roleId == DEFAULT_USER) {
-        return true;
-      }
-    }
-    return false;
+    return (getRoleMask() & MEMBER_ROLES_MASK) != 0;
   }
 
   protected boolean hasInvite() {
-    for (Integer roleId : getRoles()) {
-      if (roleId == INVITED_TO_JOIN) {
-        return true;
-      }
-    }
-    return false;
+    return hasRole(INVITED_TO_JOIN);
   }
 
   public boolean canInvite() {
@@ -71,16 +79,42 @@ public abstract class UserToGroupPermission<T extends Group> {
   }
 
   public boolean hasRole(int roleToCheck) {
-    for (Integer role : getRoles()) {
-      if (role == roleToCheck) {
-        return true;
+    return (getRoleMask() & (1 << roleToCheck)) != 0;
+  }
+
+  public List<Integer> getRoles() {
+    return fromRoleMask(getRoleMask());
+  }
+
+  public void setPreloadedRoleMask(int roleMask) {
+    this.roleMask = roleMask;
+  }
+
+  /**
+   * Drops the memoized roles so the next check reads them again; called when the user's relationship to the group
+   * changes, together with {@link RoleCache#invalidate}
+   */
+  public void invalidateRoles() {
+    roleMask = NOT_LOADED;
+  }
+
+  protected int getRoleMask() {
+    if (roleMask == NOT_LOADED) {
+      Integer cached = roleCache == null ? null : roleCache.getRoleMask(user, group);
+      if (cached != null) {
+        roleMask = cached;
+      } else {
+        long generation = roleCache == null ? 0 : roleCache.getGeneration(user, group);
+        roleMask = toRoleMask(loadRoles());
+        if (roleCache != null) {
+          roleCache.putRoleMask(user, group, roleMask, generation);
+        }
       }
     }
-    return false;
+    return roleMask;
   }
 
-
-  public abstract Iterable<Integer> getRoles();
+  protected abstract Iterable<Integer> loadRoles();
 
   public boolean canUpdate() {
     return isAdmin();
@@ -93,12 +127,7 @@ public abstract class UserToGroupPermission<T extends Group> {
   }
 
   private boolean isAdmin() {
-    for (Integer roleId : getRoles()) {
-      if (roleId == ADMIN || roleId == OWNER) {
-        return true;
-      }
-    }
-    return false;
+    return (getRoleMask() & ADMIN_ROLES_MASK) != 0;
   }
 
 
@@ -13,8 +13,6 @@ import server.repositories.group.organization.OrganizationMemberRepository;
 
 import javax.annotation.Resource;
 import javax.transaction.Transactional;
-import java.util.HashSet;
-import java.util.Set;
 
 public class UserToOrganizationPermission extends UserToGroupPermission<Organization> {
 
@@ -42,21 +40,21 @@ public class UserToOrganizationPermission extends UserToGroupPermission<Organiza
   }
 
   @Override
-  public Iterable<Integer> getRoles() {
+  protected Iterable<Integer> loadRoles() {
     return repository.getRoles(group, user);
   }
 
   @Override
   public boolean hasApplied() {
+    if (preloadedApplied != null) {
+      return preloadedApplied;
+    }
     return organizationApplicantRepository.getNumApplications(group, user) != 0;
   }
 
   public boolean canCreateProjectsInOrganization() {
-    Set<Integer> roles = new HashSet<>(repository.getRoles(group, user));
-
-
     if (group.getCanEveryoneCreate())
       return true;
-    return roles.contains(CREATE_PROJECT_IN_ORGANIZATION) || roles.contains(ADMIN) || roles.contains(OWNER);
+    return hasRole(CREATE_PROJECT_IN_ORGANIZATION) || hasRole(ADMIN) || hasRole(OWNER);
   }
 }
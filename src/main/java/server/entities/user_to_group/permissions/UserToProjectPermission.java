@@ -36,12 +36,15 @@ public class UserToProjectPermission extends UserToGroupPermission<Project> {
   }
 
   @Override
-  public Iterable<Integer> getRoles() {
+  protected Iterable<Integer> loadRoles() {
     return repository.getRoles(group, user);
   }
 
   @Override
   public boolean hasApplied() {
+    if (preloadedApplied != null) {
+      return preloadedApplied;
+    }
     return projectApplicantRepository.getNumApplications(group, user) != 0;
   }
 }
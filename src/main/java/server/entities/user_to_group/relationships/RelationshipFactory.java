@@ -1,12 +1,25 @@
 package server.entities.user_to_group.relationships;
 
+import static server.utility.RolesUtility.MEMBER_ROLES_MASK;
+
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
+import server.entities.dto.group.Group;
 import server.entities.dto.group.organization.Organization;
 import server.entities.dto.group.project.Project;
 import server.entities.dto.user.User;
+import server.entities.user_to_group.permissions.RoleCache;
+import server.entities.user_to_group.permissions.UserToGroupPermission;
+import server.handlers.OrganizationDashboardCache;
 import server.repositories.group.organization.OrganizationMemberRepository;
+import server.repositories.group.organization.OrganizationRepository;
 import server.repositories.group.project.ProjectMemberRepository;
+import server.repositories.group.project.ProjectRepository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 
 @Service
 public class RelationshipFactory {
@@ -17,15 +30,86 @@ public class RelationshipFactory {
   @Autowired
   private ProjectMemberRepository projectMemberRepository;
 
+  @Autowired
+  private ProjectRepository projectRepository;
+
+  @Autowired
+  private OrganizationRepository organizationRepository;
+
+  @Autowired
+  private RoleCache roleCache;
+
+  @Autowired
+  private OrganizationDashboardCache dashboardCache;
+
+  @Autowired
+  private JdbcTemplate jdbcTemplate;
+
   public UserToProjectRelationship createUserToProjectRelationship(User user, Project project) {
+    return createUserToProjectRelationship(user, project, null);
+  }
+
+  /**
+   * The relationship of a user to a project that also drops the memoized roles of the given permission, which must be
+   * for the same user and project, whenever it changes them. The permission may be null.
+   */
+  public UserToProjectRelationship createUserToProjectRelationship(User user, Project project,
+                                                                   UserToGroupPermission<Project> dependent) {
     UserToProjectRelationship relationship = new UserToProjectRelationship(user, project);
     relationship.setProjectMemberRepository(projectMemberRepository);
+    relationship.setProjectRepository(projectRepository);
+    relationship.setRoleCache(roleCache);
+    if (dependent != null) {
+      relationship.invalidates(dependent);
+    }
     return relationship;
   }
 
   public UserToOrganizationRelationship createUserToOrganizationRelationship(User user, Organization organization) {
+    return createUserToOrganizationRelationship(user, organization, null);
+  }
+
+  /**
+   * The relationship of a user to an organization that also drops the memoized roles of the given permission, which
+   * must be for the same user and organization, whenever it changes them. The permission may be null.
+   */
+  public UserToOrganizationRelationship createUserToOrganizationRelationship(User user, Organization organization,
+                                                                             UserToGroupPermission<Organization> dependent) {
     UserToOrganizationRelationship relationship = new UserToOrganizationRelationship(user, organization);
     relationship.setOrganizationMemberRepository(organizationMemberRepository);
+    relationship.setOrganizationRepository(organizationRepository);
+    relationship.setRoleCache(roleCache);
+    if (dependent != null) {
+      relationship.invalidates(dependent);
+    }
     return relationship;
   }
+
+  public void addProjectRelationships(Collection<User> users, Project project, int role) {
+    addRelationships("project_member", "project_id", users, project, role);
+  }
+
+  public void addOrganizationRelationships(Collection<User> users, Organization organization, int role) {
+    addRelationships("organization_member", "organization_id", users, organization, role);
+  }
+
+  /**
+   * Gives all users the same role in a group with one batched insert. Callers must have checked that none of the
+   * users has the role yet. Member roles are refused because they change the member count, which is kept per user by
+   * {@link UserToGroupRelationship}.
+   */
+  private void addRelationships(String table, String groupColumn, Collection<User> users, Group group, int role) {
+    if ((MEMBER_ROLES_MASK & (1 << role)) != 0) {
+      throw new IllegalArgumentException("Member roles have to be added one user at a time");
+    }
+    if (users.isEmpty()) {
+      return;
+    }
+
+    List<Object[]> rows = new ArrayList<>();
+    users.forEach(user -> rows.add(new Object[]{group.getId(), user.getId(), role}));
+    jdbcTemplate.batchUpdate("INSERT INTO " + table + " (" + groupColumn + ", user_id, role_id) VALUES (?, ?, ?)", rows);
+    users.forEach(user -> roleCache.invalidate(user, group));
+    dashboardCache.invalidateGroup(group);
+  }
 }
@@ -1,18 +1,79 @@
 package server.entities.user_to_group.relationships;
 
+import static server.constants.RoleValue.ADMIN;
+import static server.constants.RoleValue.DEFAULT_USER;
+
+import lombok.Getter;
+import lombok.Setter;
 import server.entities.dto.group.Group;
 import server.entities.dto.user.User;
+import server.entities.user_to_group.permissions.RoleCache;
+import server.entities.user_to_group.permissions.UserToGroupPermission;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
 
 public abstract class UserToGroupRelationship<T extends Group> {
 
   protected final User user;
   protected final T group;
 
+  // Permissions for the same user and group whose memoized roles go stale when this relationship changes
+  private final List<UserToGroupPermission<T>> dependentPermissions = new ArrayList<>();
+
+  @Setter
+  private RoleCache roleCache;
+
+  // +1 when the last change made the user a member of the group, -1 when it removed them, 0 otherwise
+  @Getter
+  private int memberDelta;
+
   public UserToGroupRelationship(User user, T group) {
     this.user = user;
     this.group = group;
   }
 
+  public UserToGroupRelationship<T> invalidates(UserToGroupPermission<T> permission) {
+    dependentPermissions.add(permission);
+    return this;
+  }
+
+  protected void rolesChanged(Set<Integer> rolesBefore, Set<Integer> rolesAfter) {
+    memberDelta = (isMember(rolesAfter) ? 1 : 0) - (isMember(rolesBefore) ? 1 : 0);
+    if (memberDelta != 0) {
+      adjustMemberCount(memberDelta);
+      long current = group.getNumberOfMembers() == null ? 0 : group.getNumberOfMembers();
+      group.setNumberOfMembers(current + memberDelta);
+    }
+    if (roleCache != null) {
+      roleCache.invalidate(user, group);
+    }
+    dependentPermissions.forEach(UserToGroupPermission::invalidateRoles);
+  }
+
+  /**
+   * Atomically adds delta to the stored member count of the group, without reading the members
+   */
+  protected abstract void adjustMemberCount(int delta);
+
+  private static boolean isMember(Set<Integer> roles) {
+    return roles.contains(DEFAULT_USER) || roles.contains(ADMIN);
+  }
+
+  protected static Set<Integer> with(Set<Integer> roles, int role) {
+    Set<Integer> result = new HashSet<>(roles);
+    result.add(role);
+    return result;
+  }
+
+  protected static Set<Integer> without(Set<Integer> roles, int role) {
+    Set<Integer> result = new HashSet<>(roles);
+    result.remove(role);
+    return result;
+  }
+
   public abstract boolean addRelationship(int role);
 
   public abstract boolean removeRelationship(int role);
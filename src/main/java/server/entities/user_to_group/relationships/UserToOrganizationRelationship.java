@@ -5,6 +5,7 @@ import server.entities.dto.group.organization.Organization;
 import server.entities.dto.group.organization.OrganizationMember;
 import server.entities.dto.user.User;
 import server.repositories.group.organization.OrganizationMemberRepository;
+import server.repositories.group.organization.OrganizationRepository;
 
 import java.util.HashSet;
 import java.util.Set;
@@ -14,6 +15,9 @@ public class UserToOrganizationRelationship extends UserToGroupRelationship<Orga
   @Setter
   private OrganizationMemberRepository organizationMemberRepository;
 
+  @Setter
+  private OrganizationRepository organizationRepository;
+
   public UserToOrganizationRelationship(User user, Organization group) {
     super(user, group);
   }
@@ -31,6 +35,7 @@ public class UserToOrganizationRelationship extends UserToGroupRelationship<Orga
     relationship.setRoleId(role);
 
     organizationMemberRepository.save(relationship);
+    rolesChanged(roles, with(roles, role));
     return true;
   }
 
@@ -42,6 +47,12 @@ public class UserToOrganizationRelationship extends UserToGroupRelationship<Orga
     }
 
     organizationMemberRepository.delete(group, user, role);
+    rolesChanged(roles, without(roles, role));
     return true;
   }
+
+  @Override
+  protected void adjustMemberCount(int delta) {
+    organizationRepository.adjustMemberCount(group.getId(), delta);
+  }
 }
@@ -5,6 +5,7 @@ import server.entities.dto.group.project.Project;
 import server.entities.dto.group.project.ProjectMember;
 import server.entities.dto.user.User;
 import server.repositories.group.project.ProjectMemberRepository;
+import server.repositories.group.project.ProjectRepository;
 
 import java.util.HashSet;
 import java.util.Set;
@@ -14,6 +15,9 @@ public class UserToProjectRelationship extends UserToGroupRelationship<Project>
   @Setter
   private ProjectMemberRepository projectMemberRepository;
 
+  @Setter
+  private ProjectRepository projectRepository;
+
   public UserToProjectRelationship(User user, Project group) {
     super(user, group);
   }
@@ -31,6 +35,7 @@ public class UserToProjectRelationship extends UserToGroupRelationship<Project>
     relationship.setRoleId(role);
 
     projectMemberRepository.save(relationship);
+    rolesChanged(roles, with(roles, role));
     return true;
   }
 
@@ -42,6 +47,12 @@ public class UserToProjectRelationship extends UserToGroupRelationship<Project>
     }
 
     projectMemberRepository.delete(group, user, role);
+    rolesChanged(roles, without(roles, role));
     return true;
   }
+
+  @Override
+  protected void adjustMemberCount(int delta) {
+    projectRepository.adjustMemberCount(group.getId(), delta);
+  }
 }
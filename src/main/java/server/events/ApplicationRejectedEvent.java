@@ -0,0 +1,18 @@
+package server.events;
+
+import server.controllers.rest.NotificationController;
+import server.entities.dto.group.GroupApplication;
+
+public class ApplicationRejectedEvent extends NotificationEvent {
+
+  private final GroupApplication application;
+
+  public ApplicationRejectedEvent(GroupApplication application) {
+    this.application = application;
+  }
+
+  @Override
+  public void dispatch(NotificationController notificationController) {
+    notificationController.sendApplicationRejectedNotification(application);
+  }
+}
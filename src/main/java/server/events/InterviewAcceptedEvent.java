@@ -0,0 +1,24 @@
+package server.events;
+
+import server.controllers.rest.NotificationController;
+import server.entities.dto.group.Group;
+import server.entities.dto.group.interview.Interview;
+import server.entities.dto.user.User;
+
+public class InterviewAcceptedEvent extends NotificationEvent {
+
+  private final User user;
+  private final Group group;
+  private final Interview interview;
+
+  public InterviewAcceptedEvent(User user, Group group, Interview interview) {
+    this.user = user;
+    this.group = group;
+    this.interview = interview;
+  }
+
+  @Override
+  public void dispatch(NotificationController notificationController) {
+    notificationController.sendUserAcceptedInterviewNotification(user, group, interview);
+  }
+}
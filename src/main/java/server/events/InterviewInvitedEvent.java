@@ -0,0 +1,19 @@
+package server.events;
+
+import server.controllers.rest.NotificationController;
+import server.entities.dto.group.GroupInvitation;
+
+public class InterviewInvitedEvent extends NotificationEvent {
+
+  private final GroupInvitation invitation;
+
+  public InterviewInvitedEvent(GroupInvitation invitation) {
+    this.invitation = invitation;
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public void dispatch(NotificationController notificationController) {
+    notificationController.sendInterviewInvitation(invitation);
+  }
+}
@@ -0,0 +1,21 @@
+package server.events;
+
+import server.controllers.rest.NotificationController;
+import server.entities.dto.group.Group;
+import server.entities.dto.user.User;
+
+public class JoinInviteDeclinedEvent extends NotificationEvent {
+
+  private final User user;
+  private final Group group;
+
+  public JoinInviteDeclinedEvent(User user, Group group) {
+    this.user = user;
+    this.group = group;
+  }
+
+  @Override
+  public void dispatch(NotificationController notificationController) {
+    notificationController.sendUserDeclinedJoinInvite(user, group);
+  }
+}
@@ -0,0 +1,26 @@
+package server.events;
+
+import server.controllers.rest.NotificationController;
+import server.entities.dto.group.GroupInvitation;
+
+import java.util.Collections;
+import java.util.List;
+
+public class JoinInvitedEvent extends NotificationEvent {
+
+  private final List<? extends GroupInvitation> invitations;
+
+  public JoinInvitedEvent(GroupInvitation invitation) {
+    this(Collections.singletonList(invitation));
+  }
+
+  public JoinInvitedEvent(List<? extends GroupInvitation> invitations) {
+    this.invitations = invitations;
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public void dispatch(NotificationController notificationController) {
+    notificationController.sendJoinInvitationNotifications(invitations);
+  }
+}
@@ -0,0 +1,18 @@
+package server.events;
+
+import server.controllers.rest.NotificationController;
+
+/**
+ * A domain event that results in one or more notifications; events are published by controllers and turned into
+ * notifications off the request path by the {@link NotificationEventBus}
+ */
+public abstract class NotificationEvent {
+
+  private final long publishedAt = System.nanoTime();
+
+  public long getPublishedAt() {
+    return publishedAt;
+  }
+
+  public abstract void dispatch(NotificationController notificationController);
+}
@@ -0,0 +1,168 @@
+package server.events;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.endpoint.PublicMetrics;
+import org.springframework.boot.actuate.metrics.Metric;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import server.controllers.rest.NotificationController;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-process bus that turns {@link NotificationEvent}s into notifications on a bounded worker pool.
+ * Events published inside a transaction are only queued once it commits, so a rolled back action never notifies
+ * anyone. When the queue is full the publishing thread processes the event itself.
+ */
+@Component
+public class NotificationEventBus implements PublicMetrics {
+
+  private static final Logger logger = LoggerFactory.getLogger(NotificationEventBus.class);
+
+  @Autowired
+  private NotificationController notificationController;
+
+  @Autowired
+  private PlatformTransactionManager transactionManager;
+
+  @Value("${fuse.notification.eventWorkers:4}")
+  private int workers;
+
+  @Value("${fuse.notification.eventQueueCapacity:1000}")
+  private int queueCapacity;
+
+  @Value("${fuse.notification.eventMaxAttempts:3}")
+  private int maxAttempts;
+
+  private ThreadPoolExecutor executor;
+
+  private final AtomicLong processed = new AtomicLong();
+  private final AtomicLong failed = new AtomicLong();
+  private final AtomicLong retried = new AtomicLong();
+  private final AtomicLong totalLatencyMillis = new AtomicLong();
+  private final AtomicLong maxLatencyMillis = new AtomicLong();
+  private final AtomicLong lastLatencyMillis = new AtomicLong();
+
+  @PostConstruct
+  public void start() {
+    AtomicInteger threadNumber = new AtomicInteger();
+    executor = new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS,
+        new ArrayBlockingQueue<>(queueCapacity),
+        runnable -> {
+          Thread thread = new Thread(runnable, "notification-events-" + threadNumber.incrementAndGet());
+          thread.setDaemon(true);
+          return thread;
+        },
+        new ThreadPoolExecutor.CallerRunsPolicy());
+  }
+
+  @PreDestroy
+  public void stop() throws InterruptedException {
+    executor.shutdown();
+    if (!executor.awaitTermination(30, TimeUnit.SECONDS)) {
+      logger.warn("Dropping " + executor.getQueue().size() + " notification events on shutdown");
+      executor.shutdownNow();
+    }
+  }
+
+  public void publish(NotificationEvent event) {
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+        @Override
+        public void afterCommit() {
+          enqueue(event);
+        }
+      });
+    } else {
+      enqueue(event);
+    }
+  }
+
+  private void enqueue(NotificationEvent event) {
+    try {
+      executor.execute(() -> process(event));
+    } catch (Exception e) {
+      failed.incrementAndGet();
+      logger.error("Unable to queue " + event.getClass().getSimpleName(), e);
+    }
+  }
+
+  private void process(NotificationEvent event) {
+    // Requires new: when the caller runs the event itself it is still inside the afterCommit callback of its own
+    // transaction, which must not be joined
+    TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+    transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    for (int attempt = 1; ; attempt++) {
+      try {
+        // Each attempt is one transaction, so a failed fan-out leaves no partial notifications behind
+        transactionTemplate.execute(status -> {
+          event.dispatch(notificationController);
+          return null;
+        });
+        break;
+      } catch (Exception e) {
+        if (attempt >= maxAttempts) {
+          failed.incrementAndGet();
+          logger.error("Giving up on " + event.getClass().getSimpleName() + " after " + attempt + " attempts", e);
+          break;
+        }
+        retried.incrementAndGet();
+        logger.warn("Retrying " + event.getClass().getSimpleName() + ": " + e.getMessage());
+        try {
+          Thread.sleep(100L * attempt);
+        } catch (InterruptedException interrupted) {
+          Thread.currentThread().interrupt();
+          failed.incrementAndGet();
+          return;
+        }
+      }
+    }
+
+    long latency = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - event.getPublishedAt());
+    processed.incrementAndGet();
+    totalLatencyMillis.addAndGet(latency);
+    lastLatencyMillis.set(latency);
+    maxLatencyMillis.accumulateAndGet(latency, Math::max);
+  }
+
+  public int getQueueDepth() {
+    return executor.getQueue().size();
+  }
+
+  /**
+   * Whether no event is waiting or being dispatched right now
+   */
+  public boolean isIdle() {
+    return executor.getQueue().isEmpty() && executor.getActiveCount() == 0;
+  }
+
+  @Override
+  public Collection<Metric<?>> metrics() {
+    long count = processed.get();
+    Collection<Metric<?>> metrics = new ArrayList<>();
+    metrics.add(new Metric<>("notification.events.queue.depth", getQueueDepth()));
+    metrics.add(new Metric<>("notification.events.active", executor.getActiveCount()));
+    metrics.add(new Metric<>("notification.events.processed", count));
+    metrics.add(new Metric<>("notification.events.failed", failed.get()));
+    metrics.add(new Metric<>("notification.events.retried", retried.get()));
+    metrics.add(new Metric<>("notification.events.latency.lastMillis", lastLatencyMillis.get()));
+    metrics.add(new Metric<>("notification.events.latency.maxMillis", maxLatencyMillis.get()));
+    metrics.add(new Metric<>("notification.events.latency.avgMillis", count == 0 ? 0.0 : (double) totalLatencyMillis.get() / count));
+    return metrics;
+  }
+}
@@ -0,0 +1,18 @@
+package server.events;
+
+import server.controllers.rest.NotificationController;
+import server.entities.dto.group.GroupApplication;
+
+public class UserAppliedEvent extends NotificationEvent {
+
+  private final GroupApplication application;
+
+  public UserAppliedEvent(GroupApplication application) {
+    this.application = application;
+  }
+
+  @Override
+  public void dispatch(NotificationController notificationController) {
+    notificationController.sendUserAppliedNotification(application);
+  }
+}
@@ -10,6 +10,7 @@ import static server.controllers.rest.response.CannedResponse.NO_INTERVIEW_FOUND
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
+import server.entities.dto.TimeInterval;
 import server.entities.dto.group.Group;
 import server.entities.dto.group.GroupInvitation;
 import server.entities.dto.group.interview.Interview;
@@ -17,7 +18,9 @@ import server.entities.dto.user.User;
 import server.entities.user_to_group.permissions.UserToGroupPermission;
 import server.entities.user_to_group.relationships.UserToGroupRelationship;
 import server.repositories.group.InterviewRepository;
+import server.utility.InterviewSchedule;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.time.ZoneOffset;
 import java.time.ZonedDateTime;
@@ -40,34 +43,44 @@ public class InterviewHelper {
       errors.add(INVALID_FIELDS);
       return true;
     }
-    Group group = invitation.getGroup();
-    LocalDateTime currentDateTime = ZonedDateTime.now(ZoneOffset.UTC).toLocalDateTime();
-
-    List<Interview> availableInterviewsAfterDate = interviewRepository
-        .getAvailableInterviewsAfterDate(group.getId(), group.getGroupType(), currentDateTime);
-
-    long count = availableInterviewsAfterDate.stream().map(Interview::getId)
-        .filter(id -> Objects.equals(id, interview.getId())).count();
-
-    if (count < 1) {
-      errors.add(NO_INTERVIEW_FOUND);
+    if (!permission.hasRole(INVITED_TO_INTERVIEW)) {
+      errors.add(INSUFFICIENT_PRIVELAGES);
       return true;
     }
 
-    if (!permission.hasRole(INVITED_TO_INTERVIEW)) {
-      errors.add(INSUFFICIENT_PRIVELAGES);
+    Group group = invitation.getGroup();
+    LocalDateTime currentDateTime = ZonedDateTime.now(ZoneOffset.UTC).toLocalDateTime();
+    if (interviewRepository.book(interview.getId(), group.getId(), group.getGroupType(), user, currentDateTime) < 1) {
+      errors.add(NO_INTERVIEW_FOUND);
       return true;
     }
+    // Keep the loaded interview in step with the row, the update doesn't touch the persistence context
+    interview.setUser(user);
+    interview.setAvailability(NOT_AVAILABLE);
 
     relationship.addRelationship(TO_INTERVIEW);
     relationship.removeRelationship(INVITED_TO_INTERVIEW);
-
-    interview.setUser(user);
-    interview.setAvailability(NOT_AVAILABLE);
-    interviewRepository.save(interview);
     return false;
   }
 
+  /**
+   * Whether the slots overlap each other or any future slot of the group, apart from the one with {@code ignoredId}
+   */
+  public boolean overlapsExistingSlots(List<Interview> interviews, String groupType, Long groupId, Long ignoredId) {
+    return getSchedule(groupType, groupId, ignoredId).overlapsAny(interviews);
+  }
+
+  public List<TimeInterval> getFreeWindows(Group group, LocalDateTime from, LocalDateTime to, Duration minimum) {
+    return getSchedule(group.getGroupType(), group.getId(), null).getFreeWindows(from, to, minimum);
+  }
+
+  private InterviewSchedule getSchedule(String groupType, Long groupId, Long ignoredId) {
+    LocalDateTime currentDateTime = ZonedDateTime.now(ZoneOffset.UTC).toLocalDateTime();
+    List<Interview> interviews = interviewRepository.getInterviewsEndingAfterDate(groupId, groupType, currentDateTime);
+    interviews.removeIf(interview -> Objects.equals(interview.getId(), ignoredId));
+    return new InterviewSchedule(interviews);
+  }
+
   public void saveNewInterviewsForGroup(List<Interview> interviews, Group group) {
     for (Interview interview : interviews) {
       interview.setGroupType(group.getGroupType());
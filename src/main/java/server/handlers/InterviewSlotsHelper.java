@@ -24,6 +24,7 @@ import server.repositories.group.project.ProjectRepository;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -49,26 +50,36 @@ public class InterviewSlotsHelper {
 
   public List<ProjectInterviewSlots> getInterviewSlotsForAllProjectsInOrganization
       (Long organizationId, User loggedInUser, LocalDateTime start, LocalDateTime end) throws BadDataException, DeniedException {
-    Organization organization = Optional.ofNullable(organizationRepository.findOne(organizationId))
-        .orElseThrow(() -> new BadDataException(NO_GROUP_FOUND));
-
-    UserToOrganizationPermission userToOrganizationPermission = permissionFactory.createUserToOrganizationPermission(loggedInUser, organization);
-    if (!userToOrganizationPermission.hasRole(ADMIN)) {
-      throw new DeniedException(INSUFFICIENT_PRIVELAGES);
-    }
+    return getInterviewSlotsForAllProjectsInOrganization(getOrganizationForAdmin(organizationId, loggedInUser), start, end);
+  }
 
+  public List<ProjectInterviewSlots> getInterviewSlotsForAllProjectsInOrganization
+      (Organization organization, LocalDateTime start, LocalDateTime end) {
     List<Project> groupsInOrganization = projectRepository.getGroupsInOrganization(organization);
+    Map<Long, List<Interview>> interviewsByProject = new HashMap<>();
+    groupsInOrganization.forEach(project -> interviewsByProject.put(project.getId(), new ArrayList<>()));
+
+    // One query for the whole organization, already ordered by project and start time
+    for (Interview interview : interviewRepository.getAllInterviewsInOrganizationBetweenDates(organization, start, end)) {
+      List<Interview> interviews = interviewsByProject.get(interview.getGroupId());
+      if (interviews != null) {
+        interviews.add(interview);
+      }
+    }
 
-    return groupsInOrganization.stream().map(project -> getProjectsInterviewSlots(project, start, end))
+    return groupsInOrganization.stream()
+        .map(project -> new ProjectInterviewSlots(project, interviewsByProject.get(project.getId())))
         .collect(Collectors.toList());
   }
 
   public List<UserInterviewSlots> getInterviewSlotsForAllMembersInOrganization
       (Long organizationId, User loggedInUser, LocalDateTime start, LocalDateTime end) throws BadDataException, DeniedException {
-    Organization organization = Optional.ofNullable(organizationRepository.findOne(organizationId))
-        .orElseThrow(() -> new BadDataException(NO_GROUP_FOUND));
+    return getInterviewSlotsForAllMembersInOrganization(getOrganizationForAdmin(organizationId, loggedInUser), start, end);
+  }
 
-    List<ProjectInterviewSlots> projectInterviewSlots = getInterviewSlotsForAllProjectsInOrganization(organizationId, loggedInUser, start, end);
+  public List<UserInterviewSlots> getInterviewSlotsForAllMembersInOrganization
+      (Organization organization, LocalDateTime start, LocalDateTime end) {
+    List<ProjectInterviewSlots> projectInterviewSlots = getInterviewSlotsForAllProjectsInOrganization(organization, start, end);
 
     Map<User, List<Interview>> usersToInterview = projectInterviewSlots.stream().flatMap(p -> p.getInterviews().stream().filter(interview -> interview.getUser() != null))
         .collect(Collectors.groupingBy(Interview::getUser));
@@ -81,8 +92,14 @@ public class InterviewSlotsHelper {
         .sorted(Comparator.comparing(e -> e.getUser().getName())).collect(Collectors.toList());
   }
 
-  private ProjectInterviewSlots getProjectsInterviewSlots(Project project, LocalDateTime startTime, LocalDateTime endTime) {
-    List<Interview> interviews = interviewRepository.getAllInterviewsBetweenDates(project.getId(), project.getGroupType(), startTime, endTime);
-    return new ProjectInterviewSlots(project, interviews);
+  private Organization getOrganizationForAdmin(Long organizationId, User loggedInUser) throws BadDataException, DeniedException {
+    Organization organization = Optional.ofNullable(organizationRepository.findOne(organizationId))
+        .orElseThrow(() -> new BadDataException(NO_GROUP_FOUND));
+
+    UserToOrganizationPermission userToOrganizationPermission = permissionFactory.createUserToOrganizationPermission(loggedInUser, organization);
+    if (!userToOrganizationPermission.hasRole(ADMIN)) {
+      throw new DeniedException(INSUFFICIENT_PRIVELAGES);
+    }
+    return organization;
   }
 }
@@ -1,19 +1,33 @@
 package server.handlers;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Component;
-import server.entities.dto.group.interview.Interview;
+import server.controllers.rest.errors.BadDataException;
+import server.entities.dto.TimeInterval;
 import server.entities.dto.group.organization.InterviewTemplate;
 import server.entities.dto.group.organization.Organization;
 import server.entities.dto.group.project.Project;
-import server.repositories.group.InterviewRepository;
 import server.repositories.group.organization.OrganizationInterviewTemplateRepository;
 import server.repositories.group.organization.OrganizationRepository;
 
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.Period;
 import java.time.ZoneOffset;
 import java.time.ZonedDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
 import java.util.List;
 
+import static server.constants.Availability.AVAILABLE;
+import static server.constants.Recurrence.DAILY;
+import static server.constants.Recurrence.WEEKLY;
+import static server.controllers.rest.response.CannedResponse.INVALID_RECURRENCE;
+import static server.controllers.rest.response.CannedResponse.INVALID_RECURRENCE_END;
+import static server.controllers.rest.response.CannedResponse.TOO_MANY_OCCURRENCES;
+
 
 @Component
 public class InterviewTemplateHelper {
@@ -22,34 +36,86 @@ public class InterviewTemplateHelper {
 
     private final OrganizationRepository organizationRepository;
 
-    private final InterviewRepository interviewRepository;
+    private final JdbcTemplate jdbcTemplate;
+
+    private final OrganizationDashboardCache dashboardCache;
+
+    @Value("${fuse.interviews.maxTemplateOccurrences:366}")
+    private int maxOccurrences;
 
     @Autowired
     public InterviewTemplateHelper(OrganizationInterviewTemplateRepository organizationInterviewTemplateRepository,
                                    OrganizationRepository organizationRepository,
-                                   InterviewRepository interviewRepository) {
+                                   JdbcTemplate jdbcTemplate,
+                                   OrganizationDashboardCache dashboardCache) {
         this.organizationInterviewTemplateRepository = organizationInterviewTemplateRepository;
         this.organizationRepository = organizationRepository;
-        this.interviewRepository = interviewRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.dashboardCache = dashboardCache;
     }
 
-    public void createTemplate(Organization organization, String start, String end) {
-        InterviewTemplate template = new InterviewTemplate();
-        template.setStart(start);
-        template.setEnd(end);
-        template.setOrganization(organization);
-        organizationInterviewTemplateRepository.save(template);
-        List<Project> projects = organizationRepository.getAllProjectsByOrganization(organization);
-        for(Project project : projects)
-        {
-            Interview interview = new Interview();
-            interview.setGroupType("Project");
-            interview.setGroupId(project.getId());
-            interview.setUser(null);
-            interview.setStartDateTime(template.getStartDateTime());
-            interview.setEndDateTime(template.getEndDateTime());
-            interviewRepository.save(interview);
+    /**
+     * The first slot and its repetitions, one day or week apart, that start no later than {@code until}
+     */
+    public List<TimeInterval> getOccurrences(LocalDateTime start, LocalDateTime end, String repeat, String until) throws BadDataException {
+        List<TimeInterval> occurrences = new ArrayList<>();
+        if (repeat == null || until == null) {
+            occurrences.add(new TimeInterval(start, end));
+            return occurrences;
+        }
+
+        Period period;
+        if (DAILY.equals(repeat)) {
+            period = Period.ofDays(1);
+        } else if (WEEKLY.equals(repeat)) {
+            period = Period.ofWeeks(1);
+        } else {
+            throw new BadDataException(INVALID_RECURRENCE + repeat);
+        }
+        LocalDateTime last;
+        try {
+            last = ZonedDateTime.parse(until).withZoneSameInstant(ZoneOffset.UTC).toLocalDateTime();
+        } catch (DateTimeParseException e) {
+            throw new BadDataException(INVALID_RECURRENCE_END + until);
+        }
+        for (int i = 0; !start.plus(period.multipliedBy(i)).isAfter(last); i++) {
+            if (i == maxOccurrences) {
+                throw new BadDataException(TOO_MANY_OCCURRENCES + maxOccurrences);
+            }
+            occurrences.add(new TimeInterval(start.plus(period.multipliedBy(i)), end.plus(period.multipliedBy(i))));
+        }
+        return occurrences;
+    }
+
+    /**
+     * Saves a template per occurrence and adds a slot for each of them to every project of the organization. The slots
+     * go out as one JDBC batch, which the driver rewrites into multi-row inserts.
+     */
+    public int createTemplates(Organization organization, List<TimeInterval> occurrences) {
+        List<InterviewTemplate> templates = new ArrayList<>();
+        for (TimeInterval occurrence : occurrences) {
+            InterviewTemplate template = new InterviewTemplate();
+            template.setStartDateTime(occurrence.getStartDateTime());
+            template.setEndDateTime(occurrence.getEndDateTime());
+            template.setOrganization(organization);
+            templates.add(template);
+        }
+        organizationInterviewTemplateRepository.save(templates);
+
+        List<Object[]> rows = new ArrayList<>();
+        for (Project project : organizationRepository.getAllProjectsByOrganization(organization)) {
+            for (TimeInterval occurrence : occurrences) {
+                rows.add(new Object[]{project.getId(), Timestamp.valueOf(occurrence.getStartDateTime()),
+                    Timestamp.valueOf(occurrence.getEndDateTime())});
+            }
+        }
+        if (rows.isEmpty()) {
+            return 0;
         }
+        jdbcTemplate.batchUpdate("INSERT INTO interview (group_type, group_id, start_time, end_time, available, cancelled, code, deleted) "
+            + "VALUES ('Project', ?, ?, ?, '" + AVAILABLE + "', 0, '', 0)", rows);
+        dashboardCache.invalidateGroup(organization);
+        return rows.size();
     }
 
     public List<InterviewTemplate> getAllTemplates(Organization organization)
@@ -25,6 +25,10 @@ import server.entities.user_to_group.permissions.UserToProjectPermission;
 import server.entities.user_to_group.relationships.RelationshipFactory;
 import server.entities.user_to_group.relationships.UserToOrganizationRelationship;
 import server.entities.user_to_group.relationships.UserToProjectRelationship;
+import server.events.InterviewAcceptedEvent;
+import server.events.JoinInviteDeclinedEvent;
+import server.events.NotificationEventBus;
+import server.events.UserJoinedEvent;
 import server.repositories.group.InterviewRepository;
 import server.repositories.group.organization.OrganizationApplicantRepository;
 import server.repositories.group.organization.OrganizationInvitationRepository;
@@ -45,6 +49,7 @@ public class InvitationHandler {
   private final OrganizationApplicantRepository organizationApplicantRepository;
   private final OrganizationInvitationRepository organizationInvitationRepository;
   private final NotificationController notificationController;
+  private final NotificationEventBus notificationEventBus;
 
   private final Logger logger = LoggerFactory.getLogger(InvitationHandler.class);
 
@@ -53,7 +58,7 @@ public class InvitationHandler {
                            RelationshipFactory relationshipFactory, UserToGroupRelationshipHandler userToGroupRelationshipHandler,
                            ProjectApplicantRepository projectApplicantRepository, ProjectInvitationRepository projectInvitationRepository,
                            OrganizationApplicantRepository organizationApplicantRepository, OrganizationInvitationRepository organizationInvitationRepository,
-                           NotificationController notificationController) {
+                           NotificationController notificationController, NotificationEventBus notificationEventBus) {
 
     this.permissionFactory = permissionFactory;
     this.interviewRepository = interviewRepository;
@@ -64,6 +69,7 @@ public class InvitationHandler {
     this.organizationApplicantRepository = organizationApplicantRepository;
     this.organizationInvitationRepository = organizationInvitationRepository;
     this.notificationController = notificationController;
+    this.notificationEventBus = notificationEventBus;
   }
 
   public BaseResponse acceptProjectInvitation(ProjectInvitation projectInvitation, HttpServletResponse response,
@@ -87,13 +93,13 @@ public class InvitationHandler {
         applicant.setStatus("accepted");
         notificationController.markAsDoneForApplicant(applicant);
         notificationController.markInvitationsAsDoneFor(applicant);
-        notificationController.sendUserJoinedNotification(user, group);
+        notificationEventBus.publish(new UserJoinedEvent(user, group));
 
       } else {
         applicant.setStatus("interview_scheduled");
         Interview interview = interviewRepository.findOne(savedInvitation.getInterview().getId());
         applicant.setInterview(interview);
-        notificationController.sendUserAcceptedInterviewNotification(user, group, interview);
+        notificationEventBus.publish(new InterviewAcceptedEvent(user, group, interview));
       }
       projectApplicantRepository.save(applicant);
       projectInvitationRepository.save(savedInvitation);
@@ -113,11 +119,7 @@ public class InvitationHandler {
     }
 
     projectInvitationRepository.save(savedInvitation);
-    try {
-      notificationController.sendUserDeclinedJoinInvite(user, group);
-    } catch (Exception e) {
-      logger.error(e.getMessage(), e);
-    }
+    notificationEventBus.publish(new JoinInviteDeclinedEvent(user, group));
     notificationController.markInvitationNotificationsAsDone(savedInvitation);
 
     return new GeneralResponse(response);
@@ -143,12 +145,12 @@ public class InvitationHandler {
         applicant.setStatus("accepted");
         notificationController.markAsDoneForApplicant(applicant);
         notificationController.markInvitationsAsDoneFor(applicant);
-        notificationController.sendUserJoinedNotification(user, group);
+        notificationEventBus.publish(new UserJoinedEvent(user, group));
       } else {
         applicant.setStatus("interview_scheduled");
         Interview interview = interviewRepository.findOne(savedInvitation.getInterview().getId());
         applicant.setInterview(interview);
-        notificationController.sendUserAcceptedInterviewNotification(user, group, interview);
+        notificationEventBus.publish(new InterviewAcceptedEvent(user, group, interview));
       }
       organizationApplicantRepository.save(applicant);
       organizationInvitationRepository.save(savedInvitation);
@@ -167,11 +169,7 @@ public class InvitationHandler {
     }
 
     organizationInvitationRepository.save(savedInvitation);
-    try {
-      notificationController.sendUserDeclinedJoinInvite(user, group);
-    } catch (Exception e) {
-      logger.error(e.getMessage(), e);
-    }
+    notificationEventBus.publish(new JoinInviteDeclinedEvent(user, group));
     notificationController.markInvitationNotificationsAsDone(savedInvitation);
 
     return new GeneralResponse(response);
@@ -0,0 +1,145 @@
+package server.handlers;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.endpoint.PublicMetrics;
+import org.springframework.boot.actuate.metrics.Metric;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import server.entities.dto.group.Group;
+import server.entities.dto.group.organization.Organization;
+import server.entities.dto.statistics.OrganizationDashboard;
+
+import javax.annotation.PostConstruct;
+import javax.persistence.EntityManagerFactory;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+
+/**
+ * Short-lived cache of {@link OrganizationDashboard}s by organization. Every snapshot remembers the projects and users
+ * it was built from; whenever Hibernate writes one of them, or an interview, membership or profile that belongs to
+ * them, the snapshots depending on it are dropped. The expiry bounds how long changes made without Hibernate (bulk
+ * updates, other applications) stay invisible.
+ */
+@Component
+public class OrganizationDashboardCache implements PublicMetrics {
+
+  @Value("${fuse.statistics.dashboardCacheSize:1000}")
+  private long maximumSize;
+
+  @Value("${fuse.statistics.dashboardTtlSeconds:30}")
+  private long ttlSeconds;
+
+  @Autowired
+  private EntityManagerFactory entityManagerFactory;
+
+  private Cache<Long, Snapshot> cache;
+
+  private final AtomicLong invalidations = new AtomicLong();
+
+  @PostConstruct
+  public void init() {
+    cache = CacheBuilder.newBuilder()
+        .maximumSize(maximumSize)
+        .expireAfterWrite(ttlSeconds, TimeUnit.SECONDS)
+        .recordStats()
+        .build();
+
+    EventListenerRegistry registry = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+        .getServiceRegistry().getService(EventListenerRegistry.class);
+    OrganizationDashboardInvalidator invalidator = new OrganizationDashboardInvalidator(this);
+    registry.appendListeners(EventType.POST_INSERT, invalidator);
+    registry.appendListeners(EventType.POST_UPDATE, invalidator);
+    registry.appendListeners(EventType.POST_DELETE, invalidator);
+  }
+
+  public Snapshot get(Long organizationId, Callable<Snapshot> loader) throws ExecutionException {
+    return cache.get(organizationId, loader);
+  }
+
+  public void invalidateOrganization(Long organizationId) {
+    invalidate(entry -> entry.getKey().equals(organizationId));
+  }
+
+  public void invalidateProject(Long projectId) {
+    invalidate(entry -> entry.getValue().projectIds.contains(projectId));
+  }
+
+  /**
+   * Drops the dashboards that depend on an organization or project whose rows were written without Hibernate, such as
+   * a JDBC batch. Hibernate-managed writes are picked up by the entity listener and need no call.
+   */
+  public void invalidateGroup(Group group) {
+    if (group instanceof Organization) {
+      invalidateOrganization(group.getId());
+    } else {
+      invalidateProject(group.getId());
+    }
+  }
+
+  public void invalidateUser(Long userId) {
+    invalidate(entry -> entry.getValue().userIds.contains(userId));
+  }
+
+  public void invalidateAll() {
+    invalidate(entry -> true);
+  }
+
+  private void invalidate(Predicate<Map.Entry<Long, Snapshot>> filter) {
+    if (cache.asMap().entrySet().removeIf(filter)) {
+      invalidations.incrementAndGet();
+    }
+    // A dashboard built by another request before this transaction commits still shows the old state, drop it again
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+        @Override
+        public void afterCompletion(int status) {
+          cache.asMap().entrySet().removeIf(filter);
+        }
+      });
+    }
+  }
+
+  @Override
+  public Collection<Metric<?>> metrics() {
+    CacheStats stats = cache.stats();
+    Collection<Metric<?>> metrics = new ArrayList<>();
+    metrics.add(new Metric<>("statistics.dashboardCache.size", cache.size()));
+    metrics.add(new Metric<>("statistics.dashboardCache.hits", stats.hitCount()));
+    metrics.add(new Metric<>("statistics.dashboardCache.misses", stats.missCount()));
+    metrics.add(new Metric<>("statistics.dashboardCache.hitRatio", stats.hitRate()));
+    metrics.add(new Metric<>("statistics.dashboardCache.averageLoadMillis", stats.averageLoadPenalty() / 1e6));
+    metrics.add(new Metric<>("statistics.dashboardCache.invalidations", invalidations.get()));
+    return metrics;
+  }
+
+  public static class Snapshot {
+    private final OrganizationDashboard dashboard;
+    private final Set<Long> projectIds;
+    private final Set<Long> userIds;
+
+    public Snapshot(OrganizationDashboard dashboard, Set<Long> projectIds, Set<Long> userIds) {
+      this.dashboard = dashboard;
+      this.projectIds = projectIds;
+      this.userIds = userIds;
+    }
+
+    public OrganizationDashboard getDashboard() {
+      return dashboard;
+    }
+  }
+}
@@ -0,0 +1,205 @@
+package server.handlers;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.endpoint.PublicMetrics;
+import org.springframework.boot.actuate.metrics.Metric;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import server.controllers.rest.errors.BadDataException;
+import server.controllers.rest.errors.DeniedException;
+import server.entities.dto.TimeInterval;
+import server.entities.dto.group.organization.Organization;
+import server.entities.dto.statistics.OrganizationDashboard;
+import server.entities.dto.user.User;
+import server.repositories.group.organization.OrganizationRepository;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Builds the whole organization statistics page at once. The admin check runs once per request; the sections are
+ * computed concurrently on a bounded pool, each in its own read-only transaction, and the result is cached by
+ * {@link OrganizationDashboardCache}. When the pool's queue is full the requesting thread computes the section itself.
+ */
+@Component
+public class OrganizationDashboardHelper implements PublicMetrics {
+
+  private static final Logger logger = LoggerFactory.getLogger(OrganizationDashboardHelper.class);
+
+  @Autowired
+  private StatisticsHelper statisticsHelper;
+
+  @Autowired
+  private InterviewSlotsHelper interviewSlotsHelper;
+
+  @Autowired
+  private OrganizationRepository organizationRepository;
+
+  @Autowired
+  private OrganizationDashboardCache dashboardCache;
+
+  @Autowired
+  private PlatformTransactionManager transactionManager;
+
+  @Autowired
+  private ObjectMapper objectMapper;
+
+  @Value("${fuse.statistics.dashboardWorkers:4}")
+  private int workers;
+
+  @Value("${fuse.statistics.dashboardQueueCapacity:100}")
+  private int queueCapacity;
+
+  @Value("${fuse.statistics.dashboardTimeoutSeconds:30}")
+  private long timeoutSeconds;
+
+  private ThreadPoolExecutor executor;
+
+  private final AtomicLong builds = new AtomicLong();
+  private final AtomicLong lastBuildMillis = new AtomicLong();
+
+  @PostConstruct
+  public void start() {
+    AtomicInteger threadNumber = new AtomicInteger();
+    executor = new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS,
+        new ArrayBlockingQueue<>(queueCapacity),
+        runnable -> {
+          Thread thread = new Thread(runnable, "dashboard-sections-" + threadNumber.incrementAndGet());
+          thread.setDaemon(true);
+          return thread;
+        },
+        new ThreadPoolExecutor.CallerRunsPolicy());
+  }
+
+  @PreDestroy
+  public void stop() {
+    executor.shutdownNow();
+  }
+
+  public OrganizationDashboard getDashboard(Long organizationId, User loggedInUser) throws DeniedException, BadDataException {
+    Organization organization = statisticsHelper.getOrganizationForAdmin(organizationId, loggedInUser);
+    try {
+      return dashboardCache.get(organization.getId(), () -> build(organization)).getDashboard();
+    } catch (ExecutionException e) {
+      throw new IllegalStateException("Unable to build the dashboard of organization " + organizationId, e.getCause());
+    }
+  }
+
+  private OrganizationDashboardCache.Snapshot build(Organization organization) throws Exception {
+    long start = System.currentTimeMillis();
+    TimeInterval interviewSlots = new TimeInterval();
+    Set<Long> projectIds = ConcurrentHashMap.newKeySet();
+    Set<Long> userIds = ConcurrentHashMap.newKeySet();
+    Long organizationId = organization.getId();
+
+    OrganizationDashboard dashboard = new OrganizationDashboard();
+    dashboard.setOrganizationId(organizationId);
+    dashboard.setGeneratedAt(LocalDateTime.now(ZoneOffset.UTC) + "+00:00");
+    dashboard.setInterviewSlotsStart(interviewSlots.getStart());
+    dashboard.setInterviewSlotsEnd(interviewSlots.getEnd());
+
+    List<CompletableFuture<Void>> sections = new ArrayList<>();
+    sections.add(section(
+        () -> interviewSlotsHelper.getInterviewSlotsForAllProjectsInOrganization(
+            organization, interviewSlots.getStartDateTime(), interviewSlots.getEndDateTime()),
+        slots -> slots.forEach(s -> projectIds.add(s.getProject().getId())),
+        dashboard::setProjectInterviewSlots));
+    sections.add(section(
+        () -> interviewSlotsHelper.getInterviewSlotsForAllMembersInOrganization(
+            organization, interviewSlots.getStartDateTime(), interviewSlots.getEndDateTime()),
+        slots -> slots.forEach(s -> userIds.add(s.getUser().getId())),
+        dashboard::setMemberInterviewSlots));
+    sections.add(section(
+        () -> statisticsHelper.organizationProjectsUserCount(organization),
+        counts -> counts.forEach(c -> projectIds.add(c.getProject().getId())),
+        dashboard::setProjectMemberCounts));
+    sections.add(section(
+        () -> statisticsHelper.organizationMembersProjectCount(organization),
+        counts -> counts.forEach(c -> userIds.add(c.getUser().getId())),
+        dashboard::setMemberProjectCounts));
+    sections.add(section(
+        () -> organizationRepository.getUsersWithInvalidProfilesSummary(organizationId),
+        rows -> { },
+        dashboard::setInvalidProfilesSummary));
+    sections.add(section(
+        () -> organizationRepository.getUsersWithInvalidProfilesBreakdown(organizationId),
+        rows -> rows.forEach(r -> userIds.add(r.getMemberId())),
+        dashboard::setInvalidProfilesBreakdown));
+    sections.add(section(
+        () -> organizationRepository.getProjectOrganizationInterviewSummary(organizationId),
+        rows -> rows.forEach(r -> projectIds.add(r.getProjectId())),
+        dashboard::setProjectInterviewSummary));
+    sections.add(section(
+        () -> organizationRepository.getProjectOrganizationInterviewBreakdown(organizationId),
+        rows -> rows.forEach(r -> projectIds.add(r.getProjectId())),
+        dashboard::setProjectInterviewBreakdown));
+    sections.add(section(
+        () -> organizationRepository.getMemberProjectOrganizationInterviewSummary(organizationId),
+        rows -> rows.forEach(r -> userIds.add(r.getMemberId())),
+        dashboard::setMemberInterviewSummary));
+    sections.add(section(
+        () -> organizationRepository.getMemberProjectOrganizationInterviewBreakdown(organizationId),
+        rows -> rows.forEach(r -> userIds.add(r.getMemberId())),
+        dashboard::setMemberInterviewBreakdown));
+
+    CompletableFuture<Void> all = CompletableFuture.allOf(sections.toArray(new CompletableFuture[0]));
+    try {
+      all.get(timeoutSeconds, TimeUnit.SECONDS);
+    } catch (TimeoutException e) {
+      sections.forEach(section -> section.cancel(true));
+      throw e;
+    }
+
+    builds.incrementAndGet();
+    lastBuildMillis.set(System.currentTimeMillis() - start);
+    logger.debug("Built the dashboard of organization " + organizationId + " in " + lastBuildMillis.get() + "ms");
+    return new OrganizationDashboardCache.Snapshot(dashboard, projectIds, userIds);
+  }
+
+  /**
+   * Computes one section on the pool and turns it into JSON before its transaction ends, while lazy associations can
+   * still be loaded
+   */
+  private <T> CompletableFuture<Void> section(Supplier<T> compute, Consumer<T> dependencies, Consumer<JsonNode> setter) {
+    TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+    transactionTemplate.setReadOnly(true);
+    return CompletableFuture.supplyAsync(() -> transactionTemplate.execute(status -> {
+      T result = compute.get();
+      dependencies.accept(result);
+      return objectMapper.<JsonNode>valueToTree(result);
+    }), executor).thenAccept(setter);
+  }
+
+  @Override
+  public Collection<Metric<?>> metrics() {
+    Collection<Metric<?>> metrics = new ArrayList<>();
+    metrics.add(new Metric<>("statistics.dashboard.builds", builds.get()));
+    metrics.add(new Metric<>("statistics.dashboard.lastBuildMillis", lastBuildMillis.get()));
+    metrics.add(new Metric<>("statistics.dashboard.executor.queue.depth", executor.getQueue().size()));
+    metrics.add(new Metric<>("statistics.dashboard.executor.active", executor.getActiveCount()));
+    return metrics;
+  }
+}
@@ -0,0 +1,81 @@
+package server.handlers;
+
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostDeleteEventListener;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostInsertEventListener;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.event.spi.PostUpdateEventListener;
+import org.hibernate.persister.entity.EntityPersister;
+import server.entities.dto.group.interview.Interview;
+import server.entities.dto.group.organization.Organization;
+import server.entities.dto.group.organization.OrganizationMember;
+import server.entities.dto.group.project.Project;
+import server.entities.dto.group.project.ProjectMember;
+import server.entities.dto.user.User;
+import server.entities.dto.user.UserProfile;
+
+/**
+ * Hibernate listener that drops the cached dashboards an inserted, updated or deleted entity belongs to
+ */
+class OrganizationDashboardInvalidator implements PostInsertEventListener, PostUpdateEventListener,
+    PostDeleteEventListener {
+
+  private static final long serialVersionUID = 1L;
+
+  private final transient OrganizationDashboardCache cache;
+
+  OrganizationDashboardInvalidator(OrganizationDashboardCache cache) {
+    this.cache = cache;
+  }
+
+  private void entityChanged(Object entity) {
+    if (entity instanceof Interview) {
+      Interview interview = (Interview) entity;
+      if ("Project".equals(interview.getGroupType()) && interview.getGroupId() != null) {
+        cache.invalidateProject(interview.getGroupId());
+      }
+    } else if (entity instanceof Project) {
+      Project project = (Project) entity;
+      cache.invalidateProject(project.getId());
+      if (project.getOrganization() != null) {
+        cache.invalidateOrganization(project.getOrganization().getId());
+      }
+    } else if (entity instanceof Organization) {
+      cache.invalidateOrganization(((Organization) entity).getId());
+    } else if (entity instanceof OrganizationMember) {
+      cache.invalidateOrganization(((OrganizationMember) entity).getGroup().getId());
+    } else if (entity instanceof ProjectMember) {
+      cache.invalidateProject(((ProjectMember) entity).getGroup().getId());
+    } else if (entity instanceof User) {
+      cache.invalidateUser(((User) entity).getId());
+    } else if (entity instanceof UserProfile) {
+      User user = ((UserProfile) entity).getUser();
+      if (user != null) {
+        cache.invalidateUser(user.getId());
+      } else {
+        cache.invalidateAll();
+      }
+    }
+  }
+
+  @Override
+  public void onPostInsert(PostInsertEvent event) {
+    entityChanged(event.getEntity());
+  }
+
+  @Override
+  public void onPostUpdate(PostUpdateEvent event) {
+    entityChanged(event.getEntity());
+  }
+
+  @Override
+  public void onPostDelete(PostDeleteEvent event) {
+    entityChanged(event.getEntity());
+  }
+
+  @Override
+  public boolean requiresPostCommitHanding(EntityPersister persister) {
+    return false;
+  }
+}
@@ -0,0 +1,200 @@
+package server.handlers;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import server.controllers.rest.errors.BadDataException;
+import server.controllers.rest.errors.DeniedException;
+import server.entities.dto.group.organization.Organization;
+import server.entities.dto.user.User;
+import server.repositories.group.organization.OrganizationRepository;
+
+import javax.annotation.PostConstruct;
+import javax.sql.DataSource;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+
+import static server.constants.ExportFormat.CSV;
+import static server.constants.ExportFormat.NDJSON;
+import static server.controllers.rest.response.CannedResponse.UNKNOWN_EXPORT;
+import static server.controllers.rest.response.CannedResponse.UNSUPPORTED_EXPORT_FORMAT;
+
+/**
+ * Streams organization statistics and interview slots as CSV or newline delimited JSON. Rows go from a MySQL
+ * streaming cursor straight to the response, so memory stays constant however large the organization is; the price
+ * is that a database connection is held until the client has read the whole export.
+ */
+@Component
+public class StatisticsExportHelper {
+
+  public static final MediaType TEXT_CSV = MediaType.parseMediaType("text/csv;charset=UTF-8");
+  public static final MediaType APPLICATION_NDJSON = MediaType.parseMediaType("application/x-ndjson;charset=UTF-8");
+
+  private static final String INTERVIEW_SLOTS = "interview-slots";
+
+  private static final Map<String, String> QUERIES = new HashMap<>();
+
+  static {
+    QUERIES.put("project-interview-summary", "SELECT id, org_id, proj_id, proj_name, total_interviews, used_interviews "
+        + "FROM organization_project_stat WHERE org_id = :organizationId ORDER BY proj_name");
+    QUERIES.put("project-interview-breakdown", "SELECT id, org_id, proj_id, proj_name, member_id, member_name, "
+        + "start_time, end_time, available FROM organization_interview_stat "
+        + "WHERE org_id = :organizationId AND start_time > NOW() ORDER BY proj_name, start_time");
+    QUERIES.put("member-interview-summary", OrganizationRepository.MEMBER_INTERVIEW_SUMMARY);
+    QUERIES.put("member-interview-breakdown", OrganizationRepository.MEMBER_INTERVIEW_BREAKDOWN);
+    QUERIES.put("invalid-profiles-summary", "SELECT id, num_members, num_members_no_thumbnail, num_members_no_headline, "
+        + "num_members_no_summary FROM organization_profile_stat WHERE id = :organizationId");
+    QUERIES.put("invalid-profiles-breakdown", "SELECT id, org_id, member_id, member_name, has_thumbnail, has_headline, "
+        + "has_summary FROM organization_member_stat WHERE org_id = :organizationId ORDER BY member_name");
+    // Same rows as InterviewRepository.getAllInterviewsInOrganizationBetweenDates
+    QUERIES.put(INTERVIEW_SLOTS, "SELECT i.id, i.group_id AS proj_id, p.name AS proj_name, i.start_time, i.end_time, "
+        + "i.available, u.id AS user_id, u.name AS user_name FROM interview i "
+        + "INNER JOIN project p ON p.id = i.group_id AND p.organization_id = :organizationId AND p.deleted = 0 "
+        + "LEFT JOIN `user` u ON u.id = i.user_id "
+        + "WHERE i.group_type = 'Project' AND i.start_time >= :start AND i.end_time <= :end AND i.cancelled = 0 "
+        + "ORDER BY i.group_id, i.start_time");
+  }
+
+  @Autowired
+  private StatisticsHelper statisticsHelper;
+
+  @Autowired
+  private DataSource dataSource;
+
+  @Autowired
+  private ObjectMapper objectMapper;
+
+  private NamedParameterJdbcTemplate jdbcTemplate;
+
+  @PostConstruct
+  public void init() {
+    JdbcTemplate streaming = new JdbcTemplate(dataSource);
+    // Tells Connector/J to stream the result set row by row instead of loading all of it
+    streaming.setFetchSize(Integer.MIN_VALUE);
+    jdbcTemplate = new NamedParameterJdbcTemplate(streaming);
+  }
+
+  public MediaType getMediaType(String format) throws BadDataException {
+    if (CSV.equals(format)) {
+      return TEXT_CSV;
+    }
+    if (NDJSON.equals(format)) {
+      return APPLICATION_NDJSON;
+    }
+    throw new BadDataException(UNSUPPORTED_EXPORT_FORMAT + format);
+  }
+
+  /**
+   * Checks the request up front and returns the body that runs the query once the response is being written
+   */
+  public StreamingResponseBody export(Long organizationId, User loggedInUser, String section, String format,
+                                      LocalDateTime start, LocalDateTime end) throws DeniedException, BadDataException {
+    Organization organization = statisticsHelper.getOrganizationForAdmin(organizationId, loggedInUser);
+    String sql = QUERIES.get(section);
+    if (sql == null) {
+      throw new BadDataException(UNKNOWN_EXPORT + section);
+    }
+    getMediaType(format);
+
+    MapSqlParameterSource parameters = new MapSqlParameterSource("organizationId", organization.getId());
+    if (INTERVIEW_SLOTS.equals(section)) {
+      parameters.addValue("start", Timestamp.valueOf(start));
+      parameters.addValue("end", Timestamp.valueOf(end));
+    }
+    boolean csv = CSV.equals(format);
+    return out -> {
+      try {
+        jdbcTemplate.query(sql, parameters, (ResultSetExtractor<Void>) rs -> {
+          if (csv) {
+            writeCsv(rs, out);
+          } else {
+            writeNdjson(rs, out);
+          }
+          return null;
+        });
+      } catch (UncheckedIOException e) {
+        throw e.getCause();
+      }
+    };
+  }
+
+  private void writeCsv(ResultSet rs, OutputStream out) throws SQLException {
+    try {
+      Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+      ResultSetMetaData metaData = rs.getMetaData();
+      int columns = metaData.getColumnCount();
+      for (int i = 1; i <= columns; i++) {
+        writeCsvField(writer, metaData.getColumnLabel(i), i == columns);
+      }
+      while (rs.next()) {
+        for (int i = 1; i <= columns; i++) {
+          Object value = value(rs, i);
+          writeCsvField(writer, value == null ? "" : value.toString(), i == columns);
+        }
+      }
+      writer.flush();
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private static void writeCsvField(Writer writer, String field, boolean last) throws IOException {
+    if (field.indexOf(',') >= 0 || field.indexOf('"') >= 0 || field.indexOf('\n') >= 0 || field.indexOf('\r') >= 0) {
+      writer.write('"');
+      writer.write(field.replace("\"", "\"\""));
+      writer.write('"');
+    } else {
+      writer.write(field);
+    }
+    writer.write(last ? "\r\n" : ",");
+  }
+
+  private void writeNdjson(ResultSet rs, OutputStream out) throws SQLException {
+    try {
+      JsonGenerator generator = objectMapper.getFactory().createGenerator(out);
+      generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+      ResultSetMetaData metaData = rs.getMetaData();
+      int columns = metaData.getColumnCount();
+      while (rs.next()) {
+        generator.writeStartObject();
+        for (int i = 1; i <= columns; i++) {
+          generator.writeFieldName(metaData.getColumnLabel(i));
+          generator.writeObject(value(rs, i));
+        }
+        generator.writeEndObject();
+        generator.writeRaw('\n');
+      }
+      generator.flush();
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private static Object value(ResultSet rs, int column) throws SQLException {
+    Object value = rs.getObject(column);
+    // Times are stored in UTC, written the same way as TimeInterval
+    if (value instanceof Timestamp) {
+      return ((Timestamp) value).toLocalDateTime().toString() + "+00:00";
+    }
+    return value;
+  }
+}
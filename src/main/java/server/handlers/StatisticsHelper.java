@@ -5,26 +5,29 @@ import org.springframework.stereotype.Component;
 import server.controllers.rest.errors.BadDataException;
 import server.controllers.rest.errors.DeniedException;
 import server.entities.dto.group.organization.Organization;
-import server.entities.dto.group.project.Project;
 import server.entities.dto.statistics.*;
 import server.entities.dto.user.ProjectMemberCount;
 import server.entities.dto.user.User;
 import server.entities.dto.user.UserProjectCount;
 import server.entities.user_to_group.permissions.PermissionFactory;
-import server.entities.user_to_group.permissions.UserToGroupPermission;
 import server.entities.user_to_group.permissions.UserToOrganizationPermission;
 import server.repositories.group.organization.OrganizationMemberRepository;
 import server.repositories.group.organization.OrganizationRepository;
+import server.repositories.group.project.ProjectMemberRepository;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
 
 import static server.constants.RoleValue.ADMIN;
 import static server.controllers.rest.response.CannedResponse.INSUFFICIENT_PRIVELAGES;
 import static server.controllers.rest.response.CannedResponse.NO_GROUP_FOUND;
+import static server.utility.RolesUtility.MEMBER_ROLES_MASK;
+import static server.utility.RolesUtility.fromRoleMask;
 
 @Component
 public class StatisticsHelper {
@@ -34,11 +37,16 @@ public class StatisticsHelper {
   @Autowired
   private OrganizationMemberRepository organizationMemberRepository;
 
+  @Autowired
+  private ProjectMemberRepository projectMemberRepository;
+
   @Autowired
   private PermissionFactory permissionFactory;
 
-  public List<ProjectMemberCount> organizationProjectsUserCount(Long organizationId, User loggedInUser) throws DeniedException, BadDataException {
-    List<ProjectMemberCount> list = new ArrayList<>();
+  /**
+   * Loads an organization for one of the statistics below, making sure the user is one of its admins
+   */
+  public Organization getOrganizationForAdmin(Long organizationId, User loggedInUser) throws DeniedException, BadDataException {
     Organization organization = organizationRepository.findOne(organizationId);
     if (organization == null)
       throw new BadDataException(NO_GROUP_FOUND);
@@ -46,91 +54,54 @@ public class StatisticsHelper {
     if (!userToOrganizationPermission.hasRole(ADMIN)) {
       throw new DeniedException(INSUFFICIENT_PRIVELAGES);
     }
-    return organizationRepository.getAllProjectsByOrganization(organization).stream().map(project -> new ProjectMemberCount(project, project.getNumberOfMembers())).collect(Collectors.toList());
+    return organization;
   }
 
+  public List<ProjectMemberCount> organizationProjectsUserCount(Long organizationId, User loggedInUser) throws DeniedException, BadDataException {
+    return organizationProjectsUserCount(getOrganizationForAdmin(organizationId, loggedInUser));
+  }
+
+  public List<ProjectMemberCount> organizationProjectsUserCount(Organization organization) {
+    return organizationRepository.getAllProjectsByOrganization(organization).stream().map(project -> new ProjectMemberCount(project, project.getNumberOfMembers())).collect(Collectors.toList());
+  }
 
   public List<UserProjectCount> organizationMembersProjectCount(Long organizationId, User loggedInUser) throws DeniedException, BadDataException {
-    Organization organization = organizationRepository.findOne(organizationId);
-    if (organization == null)
-      throw new BadDataException(NO_GROUP_FOUND);
-    UserToOrganizationPermission userToOrganizationPermission = permissionFactory.createUserToOrganizationPermission(loggedInUser, organization);
-    if (!userToOrganizationPermission.hasRole(ADMIN)) {
-      throw new DeniedException(INSUFFICIENT_PRIVELAGES);
-    }
-    Set<User> users = new HashSet<>(organizationMemberRepository.getUsersByGroup(organization));
-    return users.stream().map(user -> new UserProjectCount(user, numberProjectsUserIsIn(user, organization))).collect(Collectors.toList());
+    return organizationMembersProjectCount(getOrganizationForAdmin(organizationId, loggedInUser));
   }
 
-  private int numberProjectsUserIsIn(User user, Organization organization) {
-    List<Project> projects = organizationRepository.getAllProjectsByOrganization(organization);
-    return (int) projects.stream().map(project -> permissionFactory.createUserToProjectPermission(user, project))
-        .filter(UserToGroupPermission::isMember).count();
+  public List<UserProjectCount> organizationMembersProjectCount(Organization organization) {
+    Set<User> users = new HashSet<>(organizationMemberRepository.getUsersByGroup(organization));
+    // One grouped query for the whole organization instead of checking every member against every project
+    Map<Long, Long> projectCounts = new HashMap<>();
+    for (Object[] row : projectMemberRepository.countProjectsPerUser(organization, fromRoleMask(MEMBER_ROLES_MASK))) {
+      projectCounts.put(((Number) row[0]).longValue(), ((Number) row[1]).longValue());
+    }
+    return users.stream()
+        .map(user -> new UserProjectCount(user, projectCounts.getOrDefault(user.getId(), 0L).intValue()))
+        .collect(Collectors.toList());
   }
 
   public  List<MemberProjectOrganizationInterviewSummaryView> getMemberProjectOrganizationInterviewSummaryView(Long organizationId, User loggedInUser) throws BadDataException, DeniedException {
-    Organization organization = organizationRepository.findOne(organizationId);
-    if (organization == null)
-      throw new BadDataException(NO_GROUP_FOUND);
-    UserToOrganizationPermission userToOrganizationPermission = permissionFactory.createUserToOrganizationPermission(loggedInUser, organization);
-    if (!userToOrganizationPermission.hasRole(ADMIN)) {
-      throw new DeniedException(INSUFFICIENT_PRIVELAGES);
-    }
-    return  organizationRepository.getMemberProjectOrganizationInterviewSummary(organizationId);
+    return  organizationRepository.getMemberProjectOrganizationInterviewSummary(getOrganizationForAdmin(organizationId, loggedInUser).getId());
   }
 
   public  List<UsersWithInvalidProfilesSummaryView> getUsersWithInvalidProfilesSummaryView(Long organizationId, User loggedInUser) throws BadDataException, DeniedException {
-    Organization organization = organizationRepository.findOne(organizationId);
-    if (organization == null)
-      throw new BadDataException(NO_GROUP_FOUND);
-    UserToOrganizationPermission userToOrganizationPermission = permissionFactory.createUserToOrganizationPermission(loggedInUser, organization);
-    if (!userToOrganizationPermission.hasRole(ADMIN)) {
-      throw new DeniedException(INSUFFICIENT_PRIVELAGES);
-    }
-    return  organizationRepository.getUsersWithInvalidProfilesSummary(organizationId);
+    return  organizationRepository.getUsersWithInvalidProfilesSummary(getOrganizationForAdmin(organizationId, loggedInUser).getId());
   }
 
   public  List<UsersWithInvalidProfilesBreakdownView> getUsersWithInvalidProfilesBreakdownView(Long organizationId, User loggedInUser) throws BadDataException, DeniedException {
-    Organization organization = organizationRepository.findOne(organizationId);
-    if (organization == null)
-      throw new BadDataException(NO_GROUP_FOUND);
-    UserToOrganizationPermission userToOrganizationPermission = permissionFactory.createUserToOrganizationPermission(loggedInUser, organization);
-    if (!userToOrganizationPermission.hasRole(ADMIN)) {
-      throw new DeniedException(INSUFFICIENT_PRIVELAGES);
-    }
-    return  organizationRepository.getUsersWithInvalidProfilesBreakdown(organizationId);
+    return  organizationRepository.getUsersWithInvalidProfilesBreakdown(getOrganizationForAdmin(organizationId, loggedInUser).getId());
   }
 
   public  List<ProjectOrganizationInterviewBreakdownView> getProjectOrganizationInterviewBreakdownView(Long organizationId, User loggedInUser) throws BadDataException, DeniedException {
-    Organization organization = organizationRepository.findOne(organizationId);
-    if (organization == null)
-      throw new BadDataException(NO_GROUP_FOUND);
-    UserToOrganizationPermission userToOrganizationPermission = permissionFactory.createUserToOrganizationPermission(loggedInUser, organization);
-    if (!userToOrganizationPermission.hasRole(ADMIN)) {
-      throw new DeniedException(INSUFFICIENT_PRIVELAGES);
-    }
-    return  organizationRepository.getProjectOrganizationInterviewBreakdown(organizationId);
+    return  organizationRepository.getProjectOrganizationInterviewBreakdown(getOrganizationForAdmin(organizationId, loggedInUser).getId());
   }
 
   public  List<MemberProjectOrganizationInterviewBreakdownView> getMemberProjectOrganizationInterviewBreakdownView(Long organizationId, User loggedInUser) throws BadDataException, DeniedException {
-    Organization organization = organizationRepository.findOne(organizationId);
-    if (organization == null)
-      throw new BadDataException(NO_GROUP_FOUND);
-    UserToOrganizationPermission userToOrganizationPermission = permissionFactory.createUserToOrganizationPermission(loggedInUser, organization);
-    if (!userToOrganizationPermission.hasRole(ADMIN)) {
-      throw new DeniedException(INSUFFICIENT_PRIVELAGES);
-    }
-    return  organizationRepository.getMemberProjectOrganizationInterviewBreakdown(organizationId);
+    return  organizationRepository.getMemberProjectOrganizationInterviewBreakdown(getOrganizationForAdmin(organizationId, loggedInUser).getId());
   }
 
   public  List<ProjectOrganizationInterviewSummaryView> getProjectOrganizationInterviewSummaryView(Long organizationId, User loggedInUser) throws BadDataException, DeniedException {
-    Organization organization = organizationRepository.findOne(organizationId);
-    if (organization == null)
-      throw new BadDataException(NO_GROUP_FOUND);
-    UserToOrganizationPermission userToOrganizationPermission = permissionFactory.createUserToOrganizationPermission(loggedInUser, organization);
-    if (!userToOrganizationPermission.hasRole(ADMIN)) {
-      throw new DeniedException(INSUFFICIENT_PRIVELAGES);
-    }
-    return  organizationRepository.getProjectOrganizationInterviewSummary(organizationId);
+    return  organizationRepository.getProjectOrganizationInterviewSummary(getOrganizationForAdmin(organizationId, loggedInUser).getId());
   }
 }
@@ -4,19 +4,22 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 import server.entities.dto.PagedResults;
 import server.entities.dto.SearchResult;
+import server.entities.dto.group.Group;
 import server.entities.dto.group.organization.Organization;
 import server.entities.dto.group.project.Project;
 import server.entities.dto.user.Friendship;
 import server.entities.dto.user.User;
+import server.entities.user_to_group.permissions.GroupPermissions;
 import server.entities.user_to_group.permissions.PermissionFactory;
 import server.entities.user_to_group.permissions.UserToGroupPermission;
-import server.entities.user_to_group.permissions.UserToOrganizationPermission;
-import server.entities.user_to_group.permissions.UserToProjectPermission;
 import server.repositories.FriendRepository;
 import server.service.EntityFinder;
 
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -42,8 +45,17 @@ public class UserInfoEnricher {
 
     Set<Friendship> friendships = new HashSet<>(friendRepository.getAllFriends(user));
 
+    // Resolve every result first so that the permissions for all groups on the page are loaded together
+    Map<SearchResult, Object> entities = new IdentityHashMap<>();
+    results.getSearchResults().forEach(searchResult -> findEntity(searchResult).ifPresent(e -> entities.put(searchResult, e)));
+    List<Group> groups = entities.values().stream()
+        .filter(entity -> entity instanceof Group)
+        .map(entity -> (Group) entity)
+        .collect(Collectors.toList());
+    GroupPermissions permissions = permissionFactory.createUserToGroupPermissions(user, groups);
+
     List<SearchResult> enrichedSearchResults = results.getSearchResults().stream()
-        .map(searchResult -> enrichForUser(user, friendships, searchResult))
+        .map(searchResult -> enrichForUser(user, friendships, permissions, searchResult, entities.get(searchResult)))
         .filter(searchResult -> !searchResult.getData().containsKey(SHOULD_HIDE)).collect(Collectors.toList());
 
     PagedResults enrichedPageResults = new PagedResults();
@@ -56,38 +68,27 @@ public class UserInfoEnricher {
     return enrichedPageResults;
   }
 
-  private SearchResult enrichForUser(User loggedInUser, Set<Friendship> friendships, SearchResult searchResult) {
+  private Optional<?> findEntity(SearchResult searchResult) {
     Long id = ((Integer) searchResult.getData().get("id")).longValue();
     switch ((String) searchResult.getData().get("index")) {
       case "organizations":
-        return entityFinder.findEntity(id, Organization.class)
-            .map(org -> enrichForUser(loggedInUser, org, searchResult))
-            .orElse(searchResult);
+        return entityFinder.findEntity(id, Organization.class);
       case "projects":
-        return entityFinder.findEntity(id, Project.class)
-            .map(project -> enrichForUser(loggedInUser, project, searchResult))
-            .orElse(searchResult);
+        return entityFinder.findEntity(id, Project.class);
       case "users":
-        return entityFinder.findEntity(id, User.class)
-            .map(user -> enrichForUser(loggedInUser, user, friendships, searchResult))
-            .orElse(searchResult);
+        return entityFinder.findEntity(id, User.class);
       default:
-        return searchResult;
+        return Optional.empty();
     }
   }
 
-  private SearchResult enrichForUser(User loggedInUser, Organization organizationFromSearch, SearchResult searchResult) {
-    UserToOrganizationPermission permission = permissionFactory.createUserToOrganizationPermission(loggedInUser, organizationFromSearch);
-    enrichWithPermission(searchResult, permission);
-
-    return searchResult;
-  }
-
-
-  private SearchResult enrichForUser(User loggedInUser, Project projectFromSearch, SearchResult searchResult) {
-    UserToProjectPermission permission = permissionFactory.createUserToProjectPermission(loggedInUser, projectFromSearch);
-    enrichWithPermission(searchResult, permission);
-
+  private SearchResult enrichForUser(User loggedInUser, Set<Friendship> friendships, GroupPermissions permissions,
+                                     SearchResult searchResult, Object entity) {
+    if (entity instanceof Group) {
+      enrichWithPermission(searchResult, permissions.get((Group) entity));
+    } else if (entity instanceof User) {
+      enrichForUser(loggedInUser, (User) entity, friendships, searchResult);
+    }
     return searchResult;
   }
 
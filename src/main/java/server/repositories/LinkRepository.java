@@ -10,4 +10,9 @@ import java.util.List;
 public interface LinkRepository extends CrudRepository<Link, Long> {
   @Query("FROM Link a where a.referencedId = :id and a.referencedType = :type ORDER BY a.name")
   List<Link> getLinksWithIdOfType(@Param("id") Long id, @Param("type") String type);
+
+  // Changes whenever one of the links is added, changed or removed
+  @Query(value = "SELECT CONCAT_WS('-', COALESCE(UNIX_TIMESTAMP(MAX(updated_at)), 0), COUNT(id)) FROM link "
+      + "WHERE referenced_id = :id AND referenced_type = :type", nativeQuery = true)
+  String getVersion(@Param("id") Long id, @Param("type") String type);
 }
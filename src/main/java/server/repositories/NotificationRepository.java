@@ -1,13 +1,20 @@
 package server.repositories;
 
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
 import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 import server.entities.dto.Notification;
 import server.entities.dto.user.User;
 
+import javax.persistence.LockModeType;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
+@Transactional
 public interface NotificationRepository extends CrudRepository<Notification, Long> {
   @Query("FROM Notification a where a.receiver = :receiver and a.deleted = 0 ORDER BY a.time DESC")
   List<Notification> getNotifications(@Param("receiver") User receiver);
@@ -23,4 +30,60 @@ public interface NotificationRepository extends CrudRepository<Notification, Lon
 
   @Query("FROM Notification n where n.objectId = :id and n.data_type = :dataType and n.notification_type = :notificationType")
   List<Notification> getNotificationsByDataAndType(@Param("id") Long id, @Param("dataType") String dataType, @Param("notificationType") String notificationType);
+
+  @Lock(LockModeType.PESSIMISTIC_WRITE)
+  @Query("SELECT DISTINCT n FROM Notification n LEFT JOIN FETCH n.digestObjectIds where n.receiver = :receiver "
+      + "and n.notification_type = :notificationType and n.groupId = :groupId and n.digest = true "
+      + "and n.digestStarted >= :since and n.deleted = 0 and n.hasRead = 0 ORDER BY n.digestStarted DESC")
+  List<Notification> getDigestCandidates(@Param("receiver") User receiver, @Param("notificationType") String notificationType,
+                                         @Param("groupId") Long groupId, @Param("since") LocalDateTime since);
+
+  @Modifying(clearAutomatically = true)
+  @Query("UPDATE Notification n SET n.hasRead = true where n.receiver = :receiver and n.id IN :ids")
+  int markRead(@Param("receiver") User receiver, @Param("ids") Collection<Long> ids);
+
+  @Modifying(clearAutomatically = true)
+  @Query("UPDATE Notification n SET n.hasRead = true where n.receiver = :receiver and n.id <= :cursor and n.deleted = 0")
+  int markReadBefore(@Param("receiver") User receiver, @Param("cursor") Long cursor);
+
+  @Modifying(clearAutomatically = true)
+  @Query("UPDATE Notification n SET n.action_done = :done where n.receiver = :receiver and n.id IN :ids")
+  int setActionDone(@Param("receiver") User receiver, @Param("ids") Collection<Long> ids, @Param("done") boolean done);
+
+  @Modifying(clearAutomatically = true)
+  @Query("UPDATE Notification n SET n.action_done = :done where n.receiver = :receiver and n.id <= :cursor and n.deleted = 0")
+  int setActionDoneBefore(@Param("receiver") User receiver, @Param("cursor") Long cursor, @Param("done") boolean done);
+
+  @Modifying(clearAutomatically = true)
+  @Query("UPDATE Notification n SET n.deleted = true where n.receiver = :receiver and n.id IN :ids")
+  int markDeleted(@Param("receiver") User receiver, @Param("ids") Collection<Long> ids);
+
+  @Modifying(clearAutomatically = true)
+  @Query("UPDATE Notification n SET n.deleted = true where n.receiver = :receiver and n.id <= :cursor")
+  int markDeletedBefore(@Param("receiver") User receiver, @Param("cursor") Long cursor);
+
+  @Modifying(clearAutomatically = true)
+  @Query("UPDATE Notification n SET n.hasRead = true, n.action_done = true where n.objectId IN :ids and n.data_type = :dataType "
+      + "and n.digest = false")
+  int markDoneByData(@Param("ids") Collection<Long> ids, @Param("dataType") String dataType);
+
+  @Query("SELECT DISTINCT n FROM Notification n LEFT JOIN FETCH n.digestObjectIds where n.data_type = :dataType "
+      + "and n.digest = true and n.action_done = false "
+      + "and n.id IN (SELECT d.id FROM Notification d JOIN d.digestObjectIds o where o IN :ids)")
+  List<Notification> getPendingDigestsByData(@Param("ids") Collection<Long> ids, @Param("dataType") String dataType);
+
+  @Modifying(clearAutomatically = true)
+  @Query("UPDATE Notification n SET n.hasRead = true, n.action_done = true where n.objectId IN :ids and n.data_type = :dataType "
+      + "and n.notification_type = :notificationType")
+  int markDoneByDataAndType(@Param("ids") Collection<Long> ids, @Param("dataType") String dataType, @Param("notificationType") String notificationType);
+
+  @Query(value = "SELECT id FROM notification WHERE deleted = 1 ORDER BY id LIMIT :limit", nativeQuery = true)
+  List<Number> getDeletedIds(@Param("limit") int limit);
+
+  @Query(value = "SELECT id FROM notification WHERE time < :cutoff ORDER BY time LIMIT :limit", nativeQuery = true)
+  List<Number> getExpiredIds(@Param("cutoff") LocalDateTime cutoff, @Param("limit") int limit);
+
+  @Query(value = "SELECT TABLE_ROWS FROM information_schema.TABLES WHERE TABLE_SCHEMA = DATABASE() "
+      + "AND TABLE_NAME = 'notification'", nativeQuery = true)
+  Number getEstimatedRowCount();
 }
@@ -1,8 +1,35 @@
 package server.repositories;
 
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
 import server.entities.dto.user.User;
+import server.entities.dto.user.UserSummary;
+
+import java.util.Collection;
+import java.util.List;
 
 public interface UserRepository extends CrudRepository<User, Long> {
   User findByEmail(String email);
+
+  List<User> findByEmailIn(Collection<String> emails);
+
+  List<User> findByIdInOrEmailIn(Collection<Long> ids, Collection<String> emails);
+
+  @Query("SELECT new server.entities.dto.user.UserSummary(u.id, u.name, p.headline, p.thumbnail_id) " +
+      "FROM User u LEFT JOIN u.profile p WHERE u.id = :id")
+  UserSummary getSummary(@Param("id") Long id);
+
+  /**
+   * Changes whenever the user, their profile or links, or the friendship between them and the viewer changes. Null if
+   * there is no such user.
+   */
+  @Query(value = "SELECT CONCAT_WS('-', UNIX_TIMESTAMP(GREATEST(u.updated_at, COALESCE(p.updated_at, u.updated_at), "
+      + "COALESCE(MAX(l.updated_at), u.updated_at))), COUNT(l.id), "
+      + "(SELECT COALESCE(GROUP_CONCAT(f.id, f.status ORDER BY f.id), '') FROM friend f "
+      + "WHERE (f.sender_id = :viewerId AND f.receiver_id = u.id) OR (f.sender_id = u.id AND f.receiver_id = :viewerId))) "
+      + "FROM `user` u LEFT JOIN user_profile p ON p.id = u.user_profile_id "
+      + "LEFT JOIN link l ON l.referenced_type = 'User' AND l.referenced_id = p.id "
+      + "WHERE u.id = :id GROUP BY u.id, p.id", nativeQuery = true)
+  String getVersion(@Param("id") Long id, @Param("viewerId") Long viewerId);
 }
@@ -1,5 +1,6 @@
 package server.repositories.group;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.repository.CrudRepository;
 import org.springframework.data.repository.NoRepositoryBean;
 import org.springframework.data.repository.query.Param;
@@ -13,6 +14,18 @@ import java.util.List;
 public interface GroupApplicantRepository<T extends GroupApplication, W extends Group> extends CrudRepository<T, Long> {
   List<T> getApplicants(@Param("group") W group, @Param("status") String status);
 
+  List<T> getApplicantsPage(@Param("group") W group, @Param("status") String status, Pageable pageable);
+
+  /**
+   * Like {@link #getApplicantsPage}, but ordered by interview time with the applicants that have none at the end
+   */
+  List<T> getApplicantsPageByTime(@Param("group") W group, @Param("status") String status, Pageable pageable);
+
+  /**
+   * Number of applicants to the group for each status, as (status, count) rows
+   */
+  List<Object[]> countApplicantsByStatus(@Param("group") W group);
+
   List<T> getApplicantsBySender(@Param("sender") User user);
 
   List<T> getApplicantsBySenderAndStatus(@Param("sender") User user, @Param("status") String status);
@@ -7,6 +7,7 @@ import server.entities.dto.group.Group;
 import server.entities.dto.group.GroupMember;
 import server.entities.dto.user.User;
 
+import java.util.Collection;
 import java.util.List;
 
 
@@ -16,6 +17,18 @@ public interface GroupMemberRepository<R extends Group, T extends GroupMember<R>
 
   Iterable<Integer> getRoles(@Param("group") R group, @Param("user") User user);
 
+  /**
+   * One page of the members of a group as (user id, role bitmask) rows, where bit n of the mask is set when the user
+   * has role n. Only users with at least one of the roles in memberMask are returned.
+   */
+  List<Object[]> getMemberRoleMasks(@Param("groupId") Long groupId, @Param("memberMask") int memberMask,
+                                    @Param("limit") int limit, @Param("offset") int offset);
+
+  /**
+   * The roles that any of the given users has in the group, as (user id, role id) rows
+   */
+  List<Object[]> getRolesForUsers(@Param("group") R group, @Param("users") Collection<User> users);
+
   List<R> getGroups(@Param("user") User member, @Param("roleId") int roleId);
 
   void delete(@Param("group") R group, @Param("user") User user, @Param("roleId") int roleId);
@@ -1,9 +1,12 @@
 package server.repositories.group;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.repository.CrudRepository;
 import org.springframework.data.repository.NoRepositoryBean;
 import org.springframework.data.repository.query.Param;
 import server.entities.dto.group.Group;
+import server.entities.dto.group.GroupSummary;
 import server.entities.dto.user.User;
 
 import java.util.List;
@@ -13,4 +16,21 @@ public interface GroupRepository<T extends Group> extends CrudRepository<T, Long
   List<T> getGroups(@Param("owner") User user, @Param("name") String name);
 
   List<T> getGroupsByOwner(@Param("owner") User user);
+
+  List<T> findByDeletedFalse(Pageable pageable);
+
+  List<T> findByDeletedFalse(Sort sort);
+
+  /**
+   * The summary view of a group that is not deleted, or null
+   */
+  GroupSummary getSummary(@Param("id") Long id);
+
+  /**
+   * Changes whenever the group, its profile or links, its owner or parent organization, or the viewer's roles and
+   * applications in the group change. Null if the group does not exist or is deleted.
+   */
+  String getVersion(@Param("id") Long id, @Param("viewerId") Long viewerId);
+
+  int adjustMemberCount(@Param("id") Long id, @Param("delta") long delta);
 }
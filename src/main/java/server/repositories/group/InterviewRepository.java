@@ -1,10 +1,14 @@
 package server.repositories.group;
 
 import static server.constants.Availability.AVAILABLE;
+import static server.constants.Availability.NOT_AVAILABLE;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
 import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 import server.entities.dto.group.interview.Interview;
+import server.entities.dto.group.organization.Organization;
 import server.entities.dto.user.User;
 
 import java.time.LocalDateTime;
@@ -17,13 +21,30 @@ public interface InterviewRepository extends CrudRepository<Interview, Long> {
                                                   @Param("date") LocalDateTime date);
 
   @Query("FROM Interview a where a.groupId = :groupId and a.groupType = :groupType "
-      + " and a.startDateTime >= :start and a.endDateTime <= :end and a.cancelled = 0")
-  List<Interview> getAllInterviewsBetweenDates(@Param("groupId") Long groupId, @Param("groupType") String groupType,
-                                               @Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
+      + "and a.endDateTime > :date and a.cancelled = 0 and a.deleted = 0")
+  List<Interview> getInterviewsEndingAfterDate(@Param("groupId") Long groupId, @Param("groupType") String groupType,
+                                               @Param("date") LocalDateTime date);
+
+  @Query("FROM Interview a LEFT JOIN FETCH a.user where a.groupType = 'Project' and a.groupId IN "
+      + "(SELECT p.id FROM Project p WHERE p.organization = :organization AND p.deleted = 0) "
+      + "and a.startDateTime >= :start and a.endDateTime <= :end and a.cancelled = 0 ORDER BY a.groupId, a.startDateTime")
+  List<Interview> getAllInterviewsInOrganizationBetweenDates(@Param("organization") Organization organization,
+                                                             @Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
 
   @Query("FROM Interview a where a.groupId = :groupId and a.groupType = :groupType and a.user = :user and a.cancelled = 0")
   List<Interview> getAllByUserAndGroupTypeAndGroup(@Param("user") User user,
                                                    @Param("groupType") String type,
                                                    @Param("groupId") Long groupId);
 
+  /**
+   * Books the slot for the user only if it is still available and in the future. Concurrent bookings of one slot
+   * are serialized by the row lock, so exactly one of them updates a row; the others get 0.
+   */
+  @Transactional
+  @Modifying
+  @Query("UPDATE Interview a SET a.user = :user, a.availability = '" + NOT_AVAILABLE + "' WHERE a.id = :id "
+      + "and a.groupId = :groupId and a.groupType = :groupType and a.availability = '" + AVAILABLE + "' "
+      + "and a.startDateTime > :date and a.cancelled = 0")
+  int book(@Param("id") Long id, @Param("groupId") Long groupId, @Param("groupType") String groupType,
+           @Param("user") User user, @Param("date") LocalDateTime date);
 }
@@ -1,5 +1,6 @@
 package server.repositories.group.organization;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.transaction.annotation.Transactional;
@@ -8,6 +9,7 @@ import server.entities.dto.group.organization.OrganizationApplication;
 import server.entities.dto.user.User;
 import server.repositories.group.GroupApplicantRepository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Transactional
@@ -16,10 +18,24 @@ public interface OrganizationApplicantRepository extends GroupApplicantRepositor
   @Query("FROM OrganizationApplication a where a.organization = :organization and a.status = :status ")
   List<OrganizationApplication> getApplicants(@Param("organization") Organization organization, @Param("status") String status);
 
+  @Query("FROM OrganizationApplication a where a.organization = :group and a.status = :status ORDER BY a.id")
+  List<OrganizationApplication> getApplicantsPage(@Param("group") Organization group, @Param("status") String status, Pageable pageable);
+
+  @Query("FROM OrganizationApplication a where a.organization = :group and a.status = :status " +
+      "ORDER BY CASE WHEN a.time IS NULL THEN 1 ELSE 0 END, a.time, a.id")
+  List<OrganizationApplication> getApplicantsPageByTime(@Param("group") Organization group, @Param("status") String status, Pageable pageable);
+
+  @Query("SELECT a.status, count(a.id) FROM OrganizationApplication a where a.organization = :group GROUP BY a.status")
+  List<Object[]> countApplicantsByStatus(@Param("group") Organization group);
+
   @Query("FROM OrganizationApplication a where a.status = :status ")
   List<OrganizationApplication> getApplicantsByStatus(@Param("status") String status);
 
   @Query("SELECT count(a.id) FROM OrganizationApplication a where a.organization = :organization and " +
       "a.status <> 'accepted' and a.status <> 'declined' and a.sender = :user")
   Integer getNumApplications(@Param("organization") Organization organization, @Param("user") User user);
+
+  @Query("SELECT DISTINCT a.organization.id FROM OrganizationApplication a where a.organization IN :groups and " +
+      "a.status <> 'accepted' and a.status <> 'declined' and a.sender = :user")
+  List<Long> getAppliedGroupIds(@Param("groups") Collection<Organization> groups, @Param("user") User user);
 }
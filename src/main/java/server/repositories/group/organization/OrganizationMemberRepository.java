@@ -9,6 +9,7 @@ import server.entities.dto.group.organization.OrganizationMember;
 import server.entities.dto.user.User;
 import server.repositories.group.GroupMemberRepository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Transactional
@@ -19,6 +20,17 @@ public interface OrganizationMemberRepository extends GroupMemberRepository<Orga
   @Query("SELECT roleId FROM OrganizationMember a where a.organization = :group AND a.user = :user")
   List<Integer> getRoles(@Param("group") Organization group, @Param("user") User user);
 
+  @Query(value = "SELECT user_id, BIT_OR(1 << role_id) FROM organization_member WHERE organization_id = :groupId GROUP BY user_id "
+      + "HAVING (BIT_OR(1 << role_id) & :memberMask) <> 0 ORDER BY user_id LIMIT :limit OFFSET :offset", nativeQuery = true)
+  List<Object[]> getMemberRoleMasks(@Param("groupId") Long groupId, @Param("memberMask") int memberMask,
+                                    @Param("limit") int limit, @Param("offset") int offset);
+
+  @Query("SELECT a.organization.id, a.roleId FROM OrganizationMember a where a.organization IN :groups AND a.user = :user")
+  List<Object[]> getRolesForGroups(@Param("groups") Collection<Organization> groups, @Param("user") User user);
+
+  @Query("SELECT a.user.id, a.roleId FROM OrganizationMember a where a.organization = :group AND a.user IN :users")
+  List<Object[]> getRolesForUsers(@Param("group") Organization group, @Param("users") Collection<User> users);
+
   @Query("SELECT organization FROM OrganizationMember a where a.user = :user AND a.roleId = :roleId")
   List<Organization> getGroups(@Param("user") User member, @Param("roleId") int roleId);
 
@@ -1,8 +1,10 @@
 package server.repositories.group.organization;
 
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.transaction.annotation.Transactional;
+import server.entities.dto.group.GroupSummary;
 import server.entities.dto.group.organization.Organization;
 import server.entities.dto.group.project.Project;
 import server.entities.dto.statistics.*;
@@ -13,6 +15,17 @@ import java.util.List;
 
 @Transactional
 public interface OrganizationRepository extends GroupRepository<Organization> {
+  // Upcoming interview counts depend on the time, so they are aggregated on read; shared with the CSV export
+  String MEMBER_INTERVIEW_SUMMARY = "SELECT m.id, m.org_id, m.member_id, m.member_name, COUNT(i.interview_id) AS num_interviews, "
+      + "COUNT(DISTINCT i.proj_id) AS num_projects_with_interviews FROM organization_member_stat m "
+      + "LEFT JOIN organization_interview_stat i ON i.org_id = m.org_id AND i.member_id = m.member_id AND i.start_time > NOW() "
+      + "WHERE m.org_id = :organizationId GROUP BY m.org_id, m.member_id ORDER BY m.member_name";
+
+  String MEMBER_INTERVIEW_BREAKDOWN = "SELECT m.id, m.org_id, m.member_id, m.member_name, COUNT(i.interview_id) AS num_interviews "
+      + "FROM organization_member_stat m "
+      + "LEFT JOIN organization_interview_stat i ON i.org_id = m.org_id AND i.member_id = m.member_id AND i.start_time > NOW() "
+      + "WHERE m.org_id = :organizationId GROUP BY m.org_id, m.member_id ORDER BY m.member_name";
+
   @Query("From Organization t WHERE t.owner =:owner AND t.name=:name AND t.deleted = 0")
   List<Organization> getGroups(@Param("owner") User user, @Param("name") String name);
 
@@ -20,21 +33,42 @@ public interface OrganizationRepository extends GroupRepository<Organization> {
   @Query("From Project p WHERE p.organization = :organization AND p.deleted = 0")
   List<Project> getAllProjectsByOrganization(@Param("organization") Organization organizationId);
 
-  @Query("From MemberProjectOrganizationInterviewSummaryView stat WHERE stat.organizationId = :organizationId")
+  // Named native query declared on Organization, which maps the rows to the view class
   List<MemberProjectOrganizationInterviewSummaryView> getMemberProjectOrganizationInterviewSummary(@Param("organizationId") Long organizationId);
 
   @Query("From UsersWithInvalidProfilesSummaryView stat WHERE stat.id = :organizationId")
   List<UsersWithInvalidProfilesSummaryView> getUsersWithInvalidProfilesSummary(@Param("organizationId") Long organizationId);
 
-  @Query("From UsersWithInvalidProfilesBreakdownView stat WHERE stat.organizationId = :organizationId")
+  @Query("From UsersWithInvalidProfilesBreakdownView stat WHERE stat.organizationId = :organizationId ORDER BY stat.member_name")
   List<UsersWithInvalidProfilesBreakdownView> getUsersWithInvalidProfilesBreakdown(@Param("organizationId") Long organizationId);
 
-  @Query("From ProjectOrganizationInterviewBreakdownView stat WHERE stat.organizationId = :organizationId")
-    List<ProjectOrganizationInterviewBreakdownView> getProjectOrganizationInterviewBreakdown(@Param("organizationId") Long organizationId);
+  @Query("From ProjectOrganizationInterviewBreakdownView stat WHERE stat.organizationId = :organizationId "
+      + "AND stat.startTime > CURRENT_TIMESTAMP ORDER BY stat.projectName, stat.startTime")
+  List<ProjectOrganizationInterviewBreakdownView> getProjectOrganizationInterviewBreakdown(@Param("organizationId") Long organizationId);
 
-  @Query("From MemberProjectOrganizationInterviewBreakdownView stat WHERE stat.organizationId = :organizationId")
+  // Named native query declared on Organization, which maps the rows to the view class
   List<MemberProjectOrganizationInterviewBreakdownView> getMemberProjectOrganizationInterviewBreakdown(@Param("organizationId") Long organizationId);
 
-  @Query("From ProjectOrganizationInterviewSummaryView stat WHERE stat.organizationId = :organizationId")
+  @Query("From ProjectOrganizationInterviewSummaryView stat WHERE stat.organizationId = :organizationId ORDER BY stat.projectName")
   List<ProjectOrganizationInterviewSummaryView> getProjectOrganizationInterviewSummary(@Param("organizationId") Long organizationId);
+
+  @Query("SELECT new server.entities.dto.group.GroupSummary(g.id, 'Organization', g.name, g.restrictionString, " +
+      "g.numberOfMembers, o.id, o.name, p.headline, p.thumbnail_id) " +
+      "FROM Organization g LEFT JOIN g.owner o LEFT JOIN g.profile p WHERE g.id = :id AND g.deleted = 0")
+  GroupSummary getSummary(@Param("id") Long id);
+
+  @Query(value = "SELECT CONCAT_WS('-', UNIX_TIMESTAMP(GREATEST(g.updated_at, COALESCE(p.updated_at, g.updated_at), "
+      + "COALESCE(o.updated_at, g.updated_at), COALESCE(MAX(l.updated_at), g.updated_at))), COUNT(l.id), "
+      + "(SELECT BIT_OR(1 << m.role_id) FROM organization_member m WHERE m.organization_id = g.id AND m.user_id = :viewerId), "
+      + "(SELECT COALESCE(GROUP_CONCAT(a.status ORDER BY a.id), '') FROM organization_applicant a "
+      + "WHERE a.organization_id = g.id AND a.sender_id = :viewerId)) "
+      + "FROM organization g LEFT JOIN organization_profile p ON p.id = g.organization_profile_id "
+      + "LEFT JOIN `user` o ON o.id = g.owner_id "
+      + "LEFT JOIN link l ON l.referenced_type = 'Organization' AND l.referenced_id = p.id "
+      + "WHERE g.id = :id AND g.deleted = 0 GROUP BY g.id, p.id, o.id", nativeQuery = true)
+  String getVersion(@Param("id") Long id, @Param("viewerId") Long viewerId);
+
+  @Modifying
+  @Query("UPDATE Organization g SET g.numberOfMembers = COALESCE(g.numberOfMembers, 0) + :delta WHERE g.id = :id")
+  int adjustMemberCount(@Param("id") Long id, @Param("delta") long delta);
 }
@@ -1,5 +1,6 @@
 package server.repositories.group.project;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.transaction.annotation.Transactional;
@@ -8,6 +9,7 @@ import server.entities.dto.group.project.ProjectApplication;
 import server.entities.dto.user.User;
 import server.repositories.group.GroupApplicantRepository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Transactional
@@ -15,10 +17,24 @@ public interface ProjectApplicantRepository extends GroupApplicantRepository<Pro
   @Query("FROM ProjectApplication a where a.project = :project and a.status = :status ")
   List<ProjectApplication> getApplicants(@Param("project") Project project, @Param("status") String status);
 
+  @Query("FROM ProjectApplication a where a.project = :group and a.status = :status ORDER BY a.id")
+  List<ProjectApplication> getApplicantsPage(@Param("group") Project group, @Param("status") String status, Pageable pageable);
+
+  @Query("FROM ProjectApplication a where a.project = :group and a.status = :status " +
+      "ORDER BY CASE WHEN a.time IS NULL THEN 1 ELSE 0 END, a.time, a.id")
+  List<ProjectApplication> getApplicantsPageByTime(@Param("group") Project group, @Param("status") String status, Pageable pageable);
+
+  @Query("SELECT a.status, count(a.id) FROM ProjectApplication a where a.project = :group GROUP BY a.status")
+  List<Object[]> countApplicantsByStatus(@Param("group") Project group);
+
   @Query("FROM ProjectApplication a where a.status = :status ")
   List<ProjectApplication> getApplicantsByStatus(@Param("status") String status);
 
   @Query("SELECT count(a.id) FROM ProjectApplication a where a.project = :project and " +
       "a.status <> 'accepted' and a.status <> 'decline' and a.sender = :user")
   Integer getNumApplications(@Param("project") Project project, @Param("user") User user);
+
+  @Query("SELECT DISTINCT a.project.id FROM ProjectApplication a where a.project IN :groups and " +
+      "a.status <> 'accepted' and a.status <> 'decline' and a.sender = :user")
+  List<Long> getAppliedGroupIds(@Param("groups") Collection<Project> groups, @Param("user") User user);
 }
@@ -4,11 +4,13 @@ import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.transaction.annotation.Transactional;
+import server.entities.dto.group.organization.Organization;
 import server.entities.dto.group.project.Project;
 import server.entities.dto.group.project.ProjectMember;
 import server.entities.dto.user.User;
 import server.repositories.group.GroupMemberRepository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Transactional
@@ -19,6 +21,21 @@ public interface ProjectMemberRepository extends GroupMemberRepository<Project,
   @Query("SELECT roleId FROM ProjectMember a where a.project = :group AND a.user = :user")
   List<Integer> getRoles(@Param("group") Project group, @Param("user") User user);
 
+  @Query(value = "SELECT user_id, BIT_OR(1 << role_id) FROM project_member WHERE project_id = :groupId GROUP BY user_id "
+      + "HAVING (BIT_OR(1 << role_id) & :memberMask) <> 0 ORDER BY user_id LIMIT :limit OFFSET :offset", nativeQuery = true)
+  List<Object[]> getMemberRoleMasks(@Param("groupId") Long groupId, @Param("memberMask") int memberMask,
+                                    @Param("limit") int limit, @Param("offset") int offset);
+
+  @Query("SELECT a.project.id, a.roleId FROM ProjectMember a where a.project IN :groups AND a.user = :user")
+  List<Object[]> getRolesForGroups(@Param("groups") Collection<Project> groups, @Param("user") User user);
+
+  @Query("SELECT a.user.id, a.roleId FROM ProjectMember a where a.project = :group AND a.user IN :users")
+  List<Object[]> getRolesForUsers(@Param("group") Project group, @Param("users") Collection<User> users);
+
+  @Query("SELECT a.user.id, COUNT(DISTINCT a.project.id) FROM ProjectMember a WHERE a.project.organization = :organization "
+      + "AND a.project.deleted = 0 AND a.roleId IN :roles GROUP BY a.user.id")
+  List<Object[]> countProjectsPerUser(@Param("organization") Organization organization, @Param("roles") Collection<Integer> roles);
+
   @Query("SELECT project FROM ProjectMember a where a.user = :user AND a.roleId = :roleId")
   List<Project> getGroups(@Param("user") User member, @Param("roleId") int roleId);
 
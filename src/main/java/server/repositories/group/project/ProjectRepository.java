@@ -1,8 +1,10 @@
 package server.repositories.group.project;
 
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.transaction.annotation.Transactional;
+import server.entities.dto.group.GroupSummary;
 import server.entities.dto.group.organization.Organization;
 import server.entities.dto.group.project.Project;
 import server.entities.dto.user.User;
@@ -20,4 +22,26 @@ public interface ProjectRepository extends GroupRepository<Project> {
   @Query("From Project t WHERE t.organization =:organization AND t.deleted = 0")
   List<Project> getGroupsInOrganization(@Param("organization") Organization organization);
 
+  @Query("SELECT new server.entities.dto.group.GroupSummary(g.id, 'Project', g.name, g.restrictionString, " +
+      "g.numberOfMembers, o.id, o.name, p.headline, p.thumbnail_id) " +
+      "FROM Project g LEFT JOIN g.owner o LEFT JOIN g.profile p WHERE g.id = :id AND g.deleted = 0")
+  GroupSummary getSummary(@Param("id") Long id);
+
+  @Query(value = "SELECT CONCAT_WS('-', UNIX_TIMESTAMP(GREATEST(g.updated_at, COALESCE(p.updated_at, g.updated_at), "
+      + "COALESCE(o.updated_at, g.updated_at), COALESCE(org.updated_at, g.updated_at), "
+      + "COALESCE(MAX(l.updated_at), g.updated_at))), COUNT(l.id), "
+      + "(SELECT BIT_OR(1 << m.role_id) FROM project_member m WHERE m.project_id = g.id AND m.user_id = :viewerId), "
+      + "(SELECT BIT_OR(1 << m.role_id) FROM organization_member m "
+      + "WHERE m.organization_id = g.organization_id AND m.user_id = :viewerId), "
+      + "(SELECT COALESCE(GROUP_CONCAT(a.status ORDER BY a.id), '') FROM project_applicant a "
+      + "WHERE a.project_id = g.id AND a.sender_id = :viewerId)) "
+      + "FROM project g LEFT JOIN project_profile p ON p.id = g.project_profile_id "
+      + "LEFT JOIN `user` o ON o.id = g.owner_id LEFT JOIN organization org ON org.id = g.organization_id "
+      + "LEFT JOIN link l ON l.referenced_type = 'Project' AND l.referenced_id = p.id "
+      + "WHERE g.id = :id AND g.deleted = 0 GROUP BY g.id, p.id, o.id, org.id", nativeQuery = true)
+  String getVersion(@Param("id") Long id, @Param("viewerId") Long viewerId);
+
+  @Modifying
+  @Query("UPDATE Project g SET g.numberOfMembers = COALESCE(g.numberOfMembers, 0) + :delta WHERE g.id = :id")
+  int adjustMemberCount(@Param("id") Long id, @Param("delta") long delta);
 }
@@ -1,52 +1,62 @@
 package server.service;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.PublicMetrics;
+import org.springframework.boot.actuate.metrics.Metric;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
-import server.entities.dto.group.interview.Interview;
-import server.entities.dto.group.organization.OrganizationApplication;
-import server.entities.dto.group.project.ProjectApplication;
-import server.repositories.group.organization.OrganizationApplicantRepository;
-import server.repositories.group.project.ProjectApplicantRepository;
 
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
 import java.time.ZoneOffset;
 import java.time.ZonedDateTime;
-import java.util.List;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.concurrent.atomic.AtomicLong;
 
+/**
+ * Moves applicants whose interview has ended from interview_scheduled to interviewed, with one update per group type.
+ */
 @Service
-public class ApplicantUpdateService {
+public class ApplicantUpdateService implements PublicMetrics {
 
-  @Autowired
-  private ProjectApplicantRepository projectApplicantRepository;
+  private static final String MARK_INTERVIEWED = "UPDATE %s_applicant a INNER JOIN interview i ON i.id = a.interview_id "
+      + "SET a.status = 'interviewed' "
+      + "WHERE a.status = 'interview_scheduled' AND i.start_time IS NOT NULL AND i.end_time < ?";
 
   @Autowired
-  private OrganizationApplicantRepository organizationApplicantRepository;
+  private JdbcTemplate jdbcTemplate;
+
+  private final AtomicLong projectTransitionsTotal = new AtomicLong();
+  private final AtomicLong organizationTransitionsTotal = new AtomicLong();
+  private final AtomicLong transitionsLastRun = new AtomicLong();
+  private final AtomicLong durationLastRunMillis = new AtomicLong();
 
   @Scheduled(fixedDelay = 5L * 60L * 1000L) // runs once every 5 minutes; in milliseconds
-  public void interviewScheduleUpdater() throws InterruptedException {
-    List<ProjectApplication> projectApplicants = projectApplicantRepository.getApplicantsByStatus("interview_scheduled");
-    for (ProjectApplication projectApplicant : projectApplicants) {
-      Interview interview = projectApplicant.getInterview();
-      if (interview == null || interview.getEndDateTime() == null || interview.getStartDateTime() == null) {
-        continue;
-      }
-      ZonedDateTime now = ZonedDateTime.now();
-      if (now.withZoneSameInstant(ZoneOffset.UTC).toLocalDateTime().isAfter(interview.getEndDateTime())) {
-        projectApplicant.setStatus("interviewed");
-        projectApplicantRepository.save(projectApplicant);
-      }
-    }
-    List<OrganizationApplication> organizationApplicants = organizationApplicantRepository.getApplicantsByStatus("interview_scheduled");
-    for (OrganizationApplication organizationApplicant : organizationApplicants) {
-      Interview interview = organizationApplicant.getInterview();
-      if (interview == null || interview.getEndDateTime() == null || interview.getStartDateTime() == null) {
-        continue;
-      }
-      ZonedDateTime now = ZonedDateTime.now();
-      if (now.withZoneSameInstant(ZoneOffset.UTC).toLocalDateTime().isAfter(interview.getEndDateTime())) {
-        organizationApplicant.setStatus("interviewed");
-        organizationApplicantRepository.save(organizationApplicant);
-      }
-    }
+  public void interviewScheduleUpdater() {
+    long start = System.nanoTime();
+    LocalDateTime now = ZonedDateTime.now(ZoneOffset.UTC).toLocalDateTime();
+    int projectTransitions = markInterviewed("project", now);
+    int organizationTransitions = markInterviewed("organization", now);
+
+    projectTransitionsTotal.addAndGet(projectTransitions);
+    organizationTransitionsTotal.addAndGet(organizationTransitions);
+    transitionsLastRun.set(projectTransitions + organizationTransitions);
+    durationLastRunMillis.set((System.nanoTime() - start) / 1000000);
+  }
+
+  private int markInterviewed(String groupType, LocalDateTime now) {
+    return jdbcTemplate.update(String.format(MARK_INTERVIEWED, groupType), Timestamp.valueOf(now));
+  }
+
+  @Override
+  public Collection<Metric<?>> metrics() {
+    Collection<Metric<?>> metrics = new ArrayList<>();
+    metrics.add(new Metric<>("applicants.interviewed.projects.total", projectTransitionsTotal.get()));
+    metrics.add(new Metric<>("applicants.interviewed.organizations.total", organizationTransitionsTotal.get()));
+    metrics.add(new Metric<>("applicants.interviewed.lastRun", transitionsLastRun.get()));
+    metrics.add(new Metric<>("applicants.interviewed.lastRunMillis", durationLastRunMillis.get()));
+    return metrics;
   }
 }
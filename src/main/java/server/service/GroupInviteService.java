@@ -0,0 +1,44 @@
+package server.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import server.entities.dto.group.Group;
+import server.entities.dto.group.GroupInvitation;
+import server.entities.dto.user.User;
+import server.events.JoinInvitedEvent;
+import server.events.NotificationEventBus;
+import server.repositories.group.GroupInvitationRepository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * Sends many join invitations to a group at once. The invited roles and the invitations are written in a single
+ * transaction, so a duplicate key rolls back the whole batch instead of leaving roles without invitations behind.
+ */
+@Service
+public class GroupInviteService {
+
+  @Autowired
+  private NotificationEventBus notificationEventBus;
+
+  /**
+   * Adds the invited role for every receiver, saves the invitations and queues their notifications, which are only
+   * sent once the transaction commits. Throws a DataIntegrityViolationException if any receiver was invited or added
+   * to the group by someone else in the meantime; nothing is written in that case.
+   */
+  @Transactional
+  public <T extends Group, I extends GroupInvitation<T>> List<I> inviteAll(List<I> invitations,
+                                                                         GroupInvitationRepository<I> invitationRepository,
+                                                                         Consumer<Collection<User>> addRelationships) {
+    addRelationships.accept(invitations.stream().map(I::getReceiver).collect(Collectors.toList()));
+    List<I> saved = new ArrayList<>();
+    invitationRepository.save(invitations).forEach(saved::add);
+    notificationEventBus.publish(new JoinInvitedEvent(saved));
+    return saved;
+  }
+}
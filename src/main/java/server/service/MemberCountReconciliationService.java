@@ -0,0 +1,69 @@
+package server.service;
+
+import org.hibernate.SessionFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.PublicMetrics;
+import org.springframework.boot.actuate.metrics.Metric;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import server.entities.dto.group.organization.Organization;
+import server.entities.dto.group.project.Project;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Member counts are kept up to date by increments whenever someone joins or leaves a group. This job recounts them
+ * from the member tables once in a while and fixes any that drifted, e.g. after rows were changed by hand.
+ * Only the cache region of a group type whose counts changed is evicted.
+ */
+@Service
+public class MemberCountReconciliationService implements PublicMetrics {
+
+  private static final Logger logger = LoggerFactory.getLogger(MemberCountReconciliationService.class);
+
+  // Recounts the members (users with the default or admin role) of every group and fixes the counts that drifted
+  private static final String RECONCILE_MEMBER_COUNTS = "UPDATE %1$s g LEFT JOIN (SELECT %1$s_id, COUNT(DISTINCT user_id) "
+      + "AS members FROM %1$s_member WHERE role_id IN (0, 2) GROUP BY %1$s_id) m ON m.%1$s_id = g.id "
+      + "SET g.number_of_members = COALESCE(m.members, 0) "
+      + "WHERE g.number_of_members IS NULL OR g.number_of_members <> COALESCE(m.members, 0)";
+
+  @Autowired
+  private JdbcTemplate jdbcTemplate;
+
+  @Autowired
+  private SessionFactory sessionFactory;
+
+  private final AtomicLong reconciledTotal = new AtomicLong();
+  private final AtomicLong reconciledLastRun = new AtomicLong();
+
+  @Scheduled(fixedDelay = 6L * 60L * 60L * 1000L) // runs once every 6 hours; in milliseconds
+  public void reconcileMemberCounts() {
+    long reconciled = reconcile("project", Project.class) + reconcile("organization", Organization.class);
+    reconciledTotal.addAndGet(reconciled);
+    reconciledLastRun.set(reconciled);
+    if (reconciled > 0) {
+      logger.warn("Corrected the member count of " + reconciled + " groups");
+    }
+  }
+
+  private int reconcile(String groupType, Class<?> entityClass) {
+    int reconciled = jdbcTemplate.update(String.format(RECONCILE_MEMBER_COUNTS, groupType));
+    if (reconciled > 0) {
+      sessionFactory.getCache().evictEntityRegion(entityClass);
+    }
+    return reconciled;
+  }
+
+  @Override
+  public Collection<Metric<?>> metrics() {
+    Collection<Metric<?>> metrics = new ArrayList<>();
+    metrics.add(new Metric<>("groups.members.reconciled.total", reconciledTotal.get()));
+    metrics.add(new Metric<>("groups.members.reconciled.lastRun", reconciledLastRun.get()));
+    return metrics;
+  }
+}
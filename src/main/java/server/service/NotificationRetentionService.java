@@ -0,0 +1,192 @@
+package server.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.endpoint.PublicMetrics;
+import org.springframework.boot.actuate.metrics.Metric;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import server.repositories.NotificationRepository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Moves deleted and expired notifications out of the live notification table into notification_archive, and keeps
+ * the monthly partitions of the live table rolling forward.
+ */
+@Service
+public class NotificationRetentionService implements PublicMetrics {
+
+  private static final Logger logger = LoggerFactory.getLogger(NotificationRetentionService.class);
+
+  private static final String TABLE = "notification";
+  private static final String FUTURE_PARTITION = "p_future";
+  private static final long TO_DAYS_EPOCH = 719528L; // TO_DAYS('1970-01-01')
+  private static final DateTimeFormatter PARTITION_NAME = DateTimeFormatter.ofPattern("'p'yyyyMM");
+
+  private static final String COPY_TO_ARCHIVE = "INSERT INTO notification_archive (id, receiver_id, message, time, "
+      + "has_read, deleted, action_done, notification_type, data_type, object_id, interview_id, group_id, digest_count, "
+      + "digest, digest_started) "
+      + "SELECT id, receiver_id, message, time, has_read, deleted, action_done, notification_type, data_type, object_id, "
+      + "interview_id, group_id, digest_count, digest, digest_started FROM notification WHERE id IN (:ids)";
+
+  private static final String DELETE_ARCHIVED = "DELETE n, i FROM notification n "
+      + "LEFT JOIN notification_digest_item i ON i.notification_id = n.id WHERE n.id IN (:ids)";
+
+  @Autowired
+  private NotificationRepository notificationRepository;
+
+  @Autowired
+  private JdbcTemplate jdbcTemplate;
+
+  @Autowired
+  private PlatformTransactionManager transactionManager;
+
+  @Value("${fuse.notification.retentionDays:180}")
+  private int retentionDays;
+
+  @Value("${fuse.notification.archiveBatchSize:500}")
+  private int batchSize;
+
+  @Value("${fuse.notification.archiveMaxBatches:200}")
+  private int maxBatches;
+
+  @Value("${fuse.notification.partitionMonthsAhead:3}")
+  private int partitionMonthsAhead;
+
+  private final AtomicLong archivedTotal = new AtomicLong();
+  private final AtomicLong archivedLastRun = new AtomicLong();
+  private final AtomicLong lastRunMillis = new AtomicLong();
+  private final AtomicLong liveRows = new AtomicLong(-1);
+
+  @Scheduled(fixedDelay = 60L * 60L * 1000L) // runs once every hour; in milliseconds
+  public void archiveNotifications() {
+    long start = System.currentTimeMillis();
+    LocalDateTime cutoff = ZonedDateTime.now(ZoneOffset.UTC).toLocalDateTime().minusDays(retentionDays);
+
+    long archived = 0;
+    for (int batch = 0; batch < maxBatches; batch++) {
+      int moved = archiveBatch(cutoff);
+      archived += moved;
+      if (moved < batchSize) {
+        break;
+      }
+    }
+
+    try {
+      maintainPartitions(cutoff);
+    } catch (Exception e) {
+      logger.error("Unable to maintain notification partitions", e);
+    }
+
+    archivedTotal.addAndGet(archived);
+    archivedLastRun.set(archived);
+    lastRunMillis.set(System.currentTimeMillis() - start);
+    Number rows = notificationRepository.getEstimatedRowCount();
+    liveRows.set(rows == null ? -1 : rows.longValue());
+    logger.info("Archived " + archived + " notifications in " + lastRunMillis.get() + "ms");
+  }
+
+  private int archiveBatch(LocalDateTime cutoff) {
+    Integer moved = new TransactionTemplate(transactionManager).execute(status -> {
+      // Two queries instead of one OR, so each can use its own index
+      Set<Long> archivable = new LinkedHashSet<>();
+      notificationRepository.getExpiredIds(cutoff, batchSize).forEach(id -> archivable.add(id.longValue()));
+      int remaining = batchSize - archivable.size();
+      if (remaining > 0) {
+        notificationRepository.getDeletedIds(remaining).forEach(id -> archivable.add(id.longValue()));
+      }
+      List<Long> ids = new ArrayList<>(archivable);
+      if (ids.isEmpty()) {
+        return 0;
+      }
+      NamedParameterJdbcTemplate namedJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+      Map<String, List<Long>> params = Collections.singletonMap("ids", ids);
+      int copied = namedJdbcTemplate.update(COPY_TO_ARCHIVE, params);
+      namedJdbcTemplate.update(DELETE_ARCHIVED, params);
+      return copied;
+    });
+    return moved == null ? 0 : moved;
+  }
+
+  /**
+   * Splits new monthly partitions off p_future so that inserts never land in the catch-all partition, and drops
+   * partitions that lie entirely before the retention cutoff once archiving has emptied them
+   */
+  private void maintainPartitions(LocalDateTime cutoff) {
+    List<Map<String, Object>> partitions = jdbcTemplate.queryForList(
+        "SELECT PARTITION_NAME, PARTITION_DESCRIPTION FROM information_schema.PARTITIONS "
+            + "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = ? AND PARTITION_NAME IS NOT NULL "
+            + "ORDER BY PARTITION_ORDINAL_POSITION", TABLE);
+    if (partitions.isEmpty()) {
+      return; // table is not partitioned, nothing to maintain
+    }
+
+    long cutoffDays = toDays(cutoff.toLocalDate());
+    long highestBound = 0;
+    for (Map<String, Object> partition : partitions) {
+      String name = (String) partition.get("PARTITION_NAME");
+      String description = (String) partition.get("PARTITION_DESCRIPTION");
+      if (FUTURE_PARTITION.equals(name) || "MAXVALUE".equalsIgnoreCase(description)) {
+        continue;
+      }
+      long bound = Long.parseLong(description);
+      highestBound = Math.max(highestBound, bound);
+      if (bound <= cutoffDays && isPartitionEmpty(name)) {
+        jdbcTemplate.execute("ALTER TABLE " + TABLE + " DROP PARTITION " + name);
+        logger.info("Dropped notification partition " + name);
+      }
+    }
+
+    LocalDate month = ZonedDateTime.now(ZoneOffset.UTC).toLocalDate().withDayOfMonth(1);
+    for (int i = 0; i <= partitionMonthsAhead; i++, month = month.plusMonths(1)) {
+      LocalDate end = month.plusMonths(1);
+      if (toDays(end) <= highestBound) {
+        continue;
+      }
+      jdbcTemplate.execute("ALTER TABLE " + TABLE + " REORGANIZE PARTITION " + FUTURE_PARTITION + " INTO ("
+          + "PARTITION " + month.format(PARTITION_NAME) + " VALUES LESS THAN (TO_DAYS('" + end + "')), "
+          + "PARTITION " + FUTURE_PARTITION + " VALUES LESS THAN MAXVALUE)");
+      highestBound = toDays(end);
+      logger.info("Created notification partition " + month.format(PARTITION_NAME));
+    }
+  }
+
+  private boolean isPartitionEmpty(String name) {
+    Long count = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + TABLE + " PARTITION (" + name + ")", Long.class);
+    return count != null && count == 0;
+  }
+
+  // Equivalent of MySQL's TO_DAYS(), which counts days from year 0
+  private static long toDays(LocalDate date) {
+    return date.toEpochDay() + TO_DAYS_EPOCH;
+  }
+
+  @Override
+  public Collection<Metric<?>> metrics() {
+    Collection<Metric<?>> metrics = new ArrayList<>();
+    metrics.add(new Metric<>("notification.archived.total", archivedTotal.get()));
+    metrics.add(new Metric<>("notification.archived.lastRun", archivedLastRun.get()));
+    metrics.add(new Metric<>("notification.archive.lastRunMillis", lastRunMillis.get()));
+    metrics.add(new Metric<>("notification.live.rows", liveRows.get()));
+    return metrics;
+  }
+}
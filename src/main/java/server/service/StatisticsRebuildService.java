@@ -0,0 +1,55 @@
+package server.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.PublicMetrics;
+import org.springframework.boot.actuate.metrics.Metric;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The organization statistics tables are maintained by database triggers (see V43__statistics_tables.sql). This
+ * recomputes all of them from the source tables in one transaction, for when they are suspected to have drifted,
+ * e.g. after the triggers were disabled for a bulk import.
+ */
+@Service
+public class StatisticsRebuildService implements PublicMetrics {
+
+  private static final Logger logger = LoggerFactory.getLogger(StatisticsRebuildService.class);
+
+  @Autowired
+  private JdbcTemplate jdbcTemplate;
+
+  @Autowired
+  private PlatformTransactionManager transactionManager;
+
+  private final AtomicLong rebuilds = new AtomicLong();
+  private final AtomicLong lastRunMillis = new AtomicLong();
+
+  public synchronized long rebuild() {
+    long start = System.currentTimeMillis();
+    new TransactionTemplate(transactionManager).execute(status -> {
+      jdbcTemplate.execute("CALL rebuild_organization_statistics()");
+      return null;
+    });
+    rebuilds.incrementAndGet();
+    lastRunMillis.set(System.currentTimeMillis() - start);
+    logger.info("Rebuilt organization statistics in " + lastRunMillis.get() + "ms");
+    return lastRunMillis.get();
+  }
+
+  @Override
+  public Collection<Metric<?>> metrics() {
+    Collection<Metric<?>> metrics = new ArrayList<>();
+    metrics.add(new Metric<>("statistics.rebuilds", rebuilds.get()));
+    metrics.add(new Metric<>("statistics.rebuild.lastRunMillis", lastRunMillis.get()));
+    return metrics;
+  }
+}
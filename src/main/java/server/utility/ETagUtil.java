@@ -0,0 +1,46 @@
+package server.utility;
+
+import com.google.common.hash.Hashing;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Weak ETags built from a version string that the database returns without loading the entity, so an unchanged
+ * resource can be answered with 304 before anything is loaded or serialized
+ */
+public class ETagUtil {
+
+  public static String weakETag(String... parts) {
+    String version = String.join("|", parts);
+    return "W/\"" + Hashing.murmur3_128().hashString(version, StandardCharsets.UTF_8) + "\"";
+  }
+
+  /**
+   * Sets the ETag on the response and returns true, with the status set to 304, when the client already has this
+   * version. Responses differ per user, so they may only be kept in private caches and must be revalidated.
+   */
+  public static boolean notModified(HttpServletRequest request, HttpServletResponse response, String eTag) {
+    response.setHeader("ETag", eTag);
+    response.setHeader("Cache-Control", "private, no-cache");
+
+    String ifNoneMatch = request.getHeader("If-None-Match");
+    if (ifNoneMatch == null) {
+      return false;
+    }
+    for (String candidate : ifNoneMatch.split(",")) {
+      candidate = candidate.trim();
+      // Comparison for If-None-Match is always weak
+      if (candidate.equals("*") || stripWeak(candidate).equals(stripWeak(eTag))) {
+        response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static String stripWeak(String eTag) {
+    return eTag.startsWith("W/") ? eTag.substring(2) : eTag;
+  }
+}
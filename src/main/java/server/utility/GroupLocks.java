@@ -0,0 +1,74 @@
+package server.utility;
+
+import com.google.common.util.concurrent.Striped;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import server.entities.dto.group.Group;
+import server.entities.dto.user.User;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.locks.Lock;
+import java.util.function.Supplier;
+
+/**
+ * Striped locks keyed by the group (or group name) an operation works on, so that requests touching different groups
+ * never wait on each other. Inside a transaction the lock is held until the transaction completes; releasing it any
+ * earlier would let the next request read the state from before the commit.
+ */
+@Component
+public class GroupLocks {
+
+  private static final int STRIPES = 256;
+
+  private final Striped<Lock> locks = Striped.lazyWeakLock(STRIPES);
+
+  public <R> R withLock(Object key, Supplier<R> action) {
+    return withLocks(Collections.singletonList(key), action);
+  }
+
+  /**
+   * Runs the action holding the locks of all keys. They are taken in stripe order, so two callers locking
+   * overlapping sets of groups cannot deadlock.
+   */
+  public <R> R withLocks(Collection<?> keys, Supplier<R> action) {
+    List<Lock> held = new ArrayList<>();
+    locks.bulkGet(keys).forEach(lock -> {
+      lock.lock();
+      held.add(lock);
+    });
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      try {
+        return action.get();
+      } finally {
+        unlockAll(held);
+      }
+    }
+
+    TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+      @Override
+      public void afterCompletion(int status) {
+        unlockAll(held);
+      }
+    });
+    return action.get();
+  }
+
+  private static void unlockAll(List<Lock> held) {
+    for (int i = held.size() - 1; i >= 0; i--) {
+      held.get(i).unlock();
+    }
+  }
+
+  public static String groupKey(Group group) {
+    return group.getGroupType() + ":" + group.getId();
+  }
+
+  public static String groupNameKey(User owner, Group group) {
+    String name = group.getName() == null ? "" : group.getName().trim().toLowerCase();
+    return group.getGroupType() + ":" + owner.getId() + ":" + name;
+  }
+}
@@ -0,0 +1,50 @@
+package server.utility;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.SecondLevelCacheStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.PublicMetrics;
+import org.springframework.boot.actuate.metrics.Metric;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+
+/**
+ * Hit, miss and size figures of the Hibernate second-level cache, in total and per region (one region per cached
+ * entity, see ehcache.xml). Only reported while Hibernate statistics are enabled.
+ */
+@Component
+public class HibernateCacheMetrics implements PublicMetrics {
+
+  @Autowired
+  private SessionFactory sessionFactory;
+
+  @Override
+  public Collection<Metric<?>> metrics() {
+    Statistics statistics = sessionFactory.getStatistics();
+    Collection<Metric<?>> metrics = new ArrayList<>();
+    if (!statistics.isStatisticsEnabled()) {
+      return metrics; // hibernate.generate_statistics is off, every figure would read 0
+    }
+    long hits = statistics.getSecondLevelCacheHitCount();
+    long misses = statistics.getSecondLevelCacheMissCount();
+    metrics.add(new Metric<>("hibernate.cache.hits", hits));
+    metrics.add(new Metric<>("hibernate.cache.misses", misses));
+    metrics.add(new Metric<>("hibernate.cache.puts", statistics.getSecondLevelCachePutCount()));
+    metrics.add(new Metric<>("hibernate.cache.hitRatio", hits + misses == 0 ? 0.0 : (double) hits / (hits + misses)));
+
+    for (String region : statistics.getSecondLevelCacheRegionNames()) {
+      SecondLevelCacheStatistics regionStatistics = statistics.getSecondLevelCacheStatistics(region);
+      if (regionStatistics == null) {
+        continue;
+      }
+      String prefix = "hibernate.cache." + region.substring(region.lastIndexOf('.') + 1);
+      metrics.add(new Metric<>(prefix + ".hits", regionStatistics.getHitCount()));
+      metrics.add(new Metric<>(prefix + ".misses", regionStatistics.getMissCount()));
+      metrics.add(new Metric<>(prefix + ".size", regionStatistics.getElementCountInMemory()));
+    }
+    return metrics;
+  }
+}
@@ -0,0 +1,114 @@
+package server.utility;
+
+import server.entities.dto.TimeInterval;
+import server.entities.dto.group.interview.Interview;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * The slots of one group sorted by start time, each paired with the latest end time seen so far. Since those running
+ * maxima never decrease, whether a time range overlaps any slot and where the free time around a range starts are
+ * both found with a binary search. Slots are half open, so one may start exactly when another ends.
+ */
+public class InterviewSchedule {
+
+  private final LocalDateTime[] starts;
+  private final LocalDateTime[] ends;
+  private final LocalDateTime[] maxEnds;
+
+  public InterviewSchedule(Collection<Interview> interviews) {
+    List<Interview> sorted = interviews.stream()
+        .filter(interview -> interview.getStartDateTime() != null && interview.getEndDateTime() != null)
+        .sorted(Comparator.comparing(Interview::getStartDateTime))
+        .collect(Collectors.toList());
+    starts = new LocalDateTime[sorted.size()];
+    ends = new LocalDateTime[sorted.size()];
+    maxEnds = new LocalDateTime[sorted.size()];
+    for (int i = 0; i < sorted.size(); i++) {
+      starts[i] = sorted.get(i).getStartDateTime();
+      ends[i] = sorted.get(i).getEndDateTime();
+      maxEnds[i] = i == 0 || ends[i].isAfter(maxEnds[i - 1]) ? ends[i] : maxEnds[i - 1];
+    }
+  }
+
+  public int size() {
+    return starts.length;
+  }
+
+  public boolean overlaps(LocalDateTime start, LocalDateTime end) {
+    // Only slots starting before the end can overlap, and one of them does if the latest of their ends is after the start
+    int before = firstIndex(starts, end);
+    return before > 0 && maxEnds[before - 1].isAfter(start);
+  }
+
+  /**
+   * Whether the given slots overlap each other or any slot in the schedule
+   */
+  public boolean overlapsAny(Collection<Interview> interviews) {
+    List<Interview> sorted = new ArrayList<>(interviews);
+    sorted.sort(Comparator.comparing(Interview::getStartDateTime));
+    LocalDateTime latestEnd = null;
+    for (Interview interview : sorted) {
+      if (latestEnd != null && latestEnd.isAfter(interview.getStartDateTime())) {
+        return true;
+      }
+      if (overlaps(interview.getStartDateTime(), interview.getEndDateTime())) {
+        return true;
+      }
+      if (latestEnd == null || interview.getEndDateTime().isAfter(latestEnd)) {
+        latestEnd = interview.getEndDateTime();
+      }
+    }
+    return false;
+  }
+
+  /**
+   * The gaps between slots from {@code from} to {@code to} that are at least {@code minimum} long
+   */
+  public List<TimeInterval> getFreeWindows(LocalDateTime from, LocalDateTime to, Duration minimum) {
+    List<TimeInterval> windows = new ArrayList<>();
+    LocalDateTime cursor = from;
+    // Every slot before this one ends by the start of the range
+    for (int i = firstIndex(maxEnds, from.plusNanos(1)); i < starts.length && starts[i].isBefore(to); i++) {
+      if (starts[i].isAfter(cursor)) {
+        addWindow(windows, cursor, starts[i], minimum);
+      }
+      if (ends[i].isAfter(cursor)) {
+        cursor = ends[i];
+      }
+    }
+    if (cursor.isBefore(to)) {
+      addWindow(windows, cursor, to, minimum);
+    }
+    return windows;
+  }
+
+  private static void addWindow(List<TimeInterval> windows, LocalDateTime start, LocalDateTime end, Duration minimum) {
+    if (Duration.between(start, end).compareTo(minimum) >= 0) {
+      windows.add(new TimeInterval(start, end));
+    }
+  }
+
+  /**
+   * Index of the first element not before {@code time} in an ascending array, or its length if there is none
+   */
+  private static int firstIndex(LocalDateTime[] sorted, LocalDateTime time) {
+    int low = 0;
+    int high = sorted.length;
+    while (low < high) {
+      int middle = (low + high) >>> 1;
+      if (sorted[middle].isBefore(time)) {
+        low = middle + 1;
+      } else {
+        high = middle;
+      }
+    }
+    return low;
+  }
+}
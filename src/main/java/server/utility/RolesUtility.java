@@ -1,12 +1,37 @@
 package server.utility;
 
+import static server.constants.RoleValue.ADMIN;
+import static server.constants.RoleValue.DEFAULT_USER;
 import static server.constants.RoleValue.INVITED_TO_INTERVIEW;
 import static server.constants.RoleValue.INVITED_TO_JOIN;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 
 public class RolesUtility {
 
+  // Roles that make someone a member of a group, as a bitmask with bit n set for role n
+  public static final int MEMBER_ROLES_MASK = (1 << DEFAULT_USER) | (1 << ADMIN);
+
+  public static int toRoleMask(Iterable<Integer> roles) {
+    int mask = 0;
+    for (Integer role : roles) {
+      mask |= 1 << role;
+    }
+    return mask;
+  }
+
+  public static List<Integer> fromRoleMask(long mask) {
+    List<Integer> roles = new ArrayList<>();
+    for (int role = 0; role < Long.SIZE; role++) {
+      if ((mask & (1L << role)) != 0) {
+        roles.add(role);
+      }
+    }
+    return roles;
+  }
+
   public static Optional<Integer> getRoleFromInvitationType(String type) {
     if (type == null) {
       return Optional.empty();
@@ -5,7 +5,14 @@ import org.springframework.stereotype.Service;
 import server.entities.dto.user.User;
 import server.repositories.UserRepository;
 
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 @Service
 public class UserFindHelper {
@@ -29,4 +36,57 @@ public class UserFindHelper {
       return Optional.of(user);
     }
   }
+
+  /**
+   * Looks up many users with one query, by id where it is set and by email otherwise. Maps each of the given users to
+   * the stored user it refers to; users that don't match anyone are left out.
+   */
+  public Map<User, User> findUsersByEmailIfIdNotSet(Collection<User> users) {
+    Set<Long> ids = new HashSet<>();
+    Set<String> emails = new HashSet<>();
+    for (User user : users) {
+      if (user == null) {
+        continue;
+      }
+      if (user.getId() != null) {
+        ids.add(user.getId());
+      } else if (user.getEmail() != null) {
+        emails.add(user.getEmail());
+      }
+    }
+
+    Iterable<User> found;
+    if (ids.isEmpty() && emails.isEmpty()) {
+      found = Collections.emptyList();
+    } else if (emails.isEmpty()) {
+      found = userRepository.findAll(ids);
+    } else if (ids.isEmpty()) {
+      found = userRepository.findByEmailIn(emails);
+    } else {
+      found = userRepository.findByIdInOrEmailIn(ids, emails);
+    }
+
+    Map<Long, User> byId = new HashMap<>();
+    Map<String, User> byEmail = new HashMap<>();
+    for (User user : found) {
+      byId.put(user.getId(), user);
+      if (user.getEmail() != null) {
+        // Emails are compared case-insensitively by the database as well
+        byEmail.put(user.getEmail().toLowerCase(), user);
+      }
+    }
+
+    Map<User, User> resolved = new IdentityHashMap<>();
+    for (User user : users) {
+      if (user == null) {
+        continue;
+      }
+      User match = user.getId() != null ? byId.get(user.getId())
+          : user.getEmail() != null ? byEmail.get(user.getEmail().toLowerCase()) : null;
+      if (match != null) {
+        resolved.put(user, match);
+      }
+    }
+    return resolved;
+  }
 }
@@ -0,0 +1,37 @@
+CREATE TABLE IF NOT EXISTS `notification_archive` (
+  `id` INT NOT NULL,
+  `receiver_id` INT NOT NULL,
+  `message` TEXT,
+  `time` DATETIME NOT NULL,
+  `has_read` TINYINT(1) NULL DEFAULT 0,
+  `deleted` TINYINT(1) NOT NULL DEFAULT 0,
+  `action_done` TINYINT(1) NOT NULL DEFAULT 0,
+  `notification_type` VARCHAR(60),
+  `data_type` VARCHAR(60),
+  `object_id` INT(11) NULL DEFAULT NULL,
+  `interview_id` INT,
+  `archived_time` DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP,
+  PRIMARY KEY (`id`),
+  INDEX `notification_archive_receiver_idx` (`receiver_id` ASC, `time` ASC)
+);
+
+-- The partitioning column has to be part of every unique key, so the primary key becomes (id, time)
+ALTER TABLE `notification`
+  DROP PRIMARY KEY,
+  ADD PRIMARY KEY (`id`, `time`),
+  ADD INDEX `notification_receiver_time_idx` (`receiver_id` ASC, `deleted` ASC, `time` ASC),
+  ADD INDEX `notification_deleted_idx` (`deleted` ASC, `id` ASC),
+  ADD INDEX `notification_time_idx` (`time` ASC);
+
+-- Monthly partitions are split off p_future ahead of time by NotificationRetentionService. p_history holds
+-- everything up to the end of the month the migration runs in; partition bounds have to be constants, so the
+-- statement is built from the current date
+SET @partition_notification = CONCAT(
+  'ALTER TABLE `notification` PARTITION BY RANGE (TO_DAYS(`time`)) (',
+  'PARTITION p_history VALUES LESS THAN (TO_DAYS(''',
+  DATE_FORMAT(UTC_DATE() + INTERVAL 1 MONTH, '%Y-%m-01'),
+  ''')), PARTITION p_future VALUES LESS THAN MAXVALUE)'
+);
+PREPARE partition_notification FROM @partition_notification;
+EXECUTE partition_notification;
+DEALLOCATE PREPARE partition_notification;
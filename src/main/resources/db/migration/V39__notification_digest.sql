@@ -0,0 +1,22 @@
+-- Digests are flagged explicitly so group notifications that share the digest's type are never merged into one,
+-- and the coalescing window is measured from when the digest was started rather than from its latest event
+ALTER TABLE `notification`
+  ADD COLUMN `group_id` INT NULL DEFAULT NULL,
+  ADD COLUMN `digest_count` INT NOT NULL DEFAULT 1,
+  ADD COLUMN `digest` TINYINT(1) NOT NULL DEFAULT 0,
+  ADD COLUMN `digest_started` DATETIME NULL DEFAULT NULL,
+  ADD INDEX `notification_digest_idx` (`receiver_id` ASC, `notification_type` ASC, `group_id` ASC, `digest` ASC, `digest_started` ASC);
+
+ALTER TABLE `notification_archive`
+  ADD COLUMN `group_id` INT NULL DEFAULT NULL,
+  ADD COLUMN `digest_count` INT NOT NULL DEFAULT 1,
+  ADD COLUMN `digest` TINYINT(1) NOT NULL DEFAULT 0,
+  ADD COLUMN `digest_started` DATETIME NULL DEFAULT NULL;
+
+-- Ids of every object merged into a digest; notification is partitioned, so there is no foreign key
+CREATE TABLE IF NOT EXISTS `notification_digest_item` (
+  `notification_id` INT NOT NULL,
+  `object_id` INT NOT NULL,
+  PRIMARY KEY (`notification_id`, `object_id`),
+  INDEX `notification_digest_item_object_idx` (`object_id` ASC)
+);
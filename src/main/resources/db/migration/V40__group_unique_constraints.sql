@@ -0,0 +1,49 @@
+-- Drop duplicate memberships left behind by earlier races before enforcing uniqueness
+DELETE duplicate FROM project_member duplicate
+  JOIN project_member original
+    ON original.project_id = duplicate.project_id
+   AND original.user_id = duplicate.user_id
+   AND original.role_id = duplicate.role_id
+   AND original.id < duplicate.id;
+
+DELETE duplicate FROM organization_member duplicate
+  JOIN organization_member original
+    ON original.organization_id = duplicate.organization_id
+   AND original.user_id = duplicate.user_id
+   AND original.role_id = duplicate.role_id
+   AND original.id < duplicate.id;
+
+ALTER TABLE project_member
+  ADD UNIQUE INDEX `project_member_unique_role` (`project_id`, `user_id`, `role_id`);
+
+ALTER TABLE organization_member
+  ADD UNIQUE INDEX `organization_member_unique_role` (`organization_id`, `user_id`, `role_id`);
+
+-- Rename live groups that share their owner's group name (compared like the index below, so case-insensitively);
+-- the oldest keeps the name, the others get their id appended
+UPDATE project duplicate
+  JOIN project original
+    ON original.owner_id = duplicate.owner_id
+   AND LEFT(original.name, 255) = LEFT(duplicate.name, 255)
+   AND original.deleted = 0
+   AND original.id < duplicate.id
+   SET duplicate.name = CONCAT(LEFT(duplicate.name, 240), ' (', duplicate.id, ')')
+ WHERE duplicate.deleted = 0;
+
+UPDATE organization duplicate
+  JOIN organization original
+    ON original.owner_id = duplicate.owner_id
+   AND LEFT(original.name, 255) = LEFT(duplicate.name, 255)
+   AND original.deleted = 0
+   AND original.id < duplicate.id
+   SET duplicate.name = CONCAT(LEFT(duplicate.name, 240), ' (', duplicate.id, ')')
+ WHERE duplicate.deleted = 0;
+
+-- An owner may not have two live groups with the same name; deleted groups keep a NULL active name and never collide
+ALTER TABLE project
+  ADD COLUMN `active_name` VARCHAR(255) AS (IF(deleted = 0, LEFT(name, 255), NULL)) STORED,
+  ADD UNIQUE INDEX `project_owner_active_name` (`owner_id`, `active_name`);
+
+ALTER TABLE organization
+  ADD COLUMN `active_name` VARCHAR(255) AS (IF(deleted = 0, LEFT(name, 255), NULL)) STORED,
+  ADD UNIQUE INDEX `organization_owner_active_name` (`owner_id`, `active_name`);
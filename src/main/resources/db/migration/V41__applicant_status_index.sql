@@ -0,0 +1,5 @@
+ALTER TABLE `project_applicant`
+  ADD INDEX `project_applicant_status_idx` (`project_id` ASC, `status` ASC);
+
+ALTER TABLE `organization_applicant`
+  ADD INDEX `organization_applicant_status_idx` (`organization_id` ASC, `status` ASC);
@@ -0,0 +1,312 @@
+# Summary tables behind the organization dashboard. They replace the views from V26-V37 and are kept up to date by
+# the triggers below on every write, whichever way it is made (JPA, JDBC batches, bulk and native updates).
+# CALL rebuild_organization_statistics() recomputes all of them from the source tables.
+
+DROP VIEW IF EXISTS project_organization_interview_summary;
+DROP VIEW IF EXISTS project_organization_interview_breakdown;
+DROP VIEW IF EXISTS member_project_organization_interview_summary;
+DROP VIEW IF EXISTS member_project_organization_interview_breakdown;
+DROP VIEW IF EXISTS users_with_invalid_profiles_summary;
+DROP VIEW IF EXISTS users_with_invalid_profiles_breakdown;
+
+# One row per live project of a live organization
+CREATE TABLE organization_project_stat (
+  proj_id          INT(11)     NOT NULL,
+  id               VARCHAR(32) NOT NULL,
+  org_id           INT(11)     NOT NULL,
+  proj_name        TEXT,
+  total_interviews BIGINT      NOT NULL DEFAULT 0,
+  used_interviews  BIGINT      NOT NULL DEFAULT 0,
+  PRIMARY KEY (proj_id),
+  INDEX organization_project_stat_org_idx (org_id)
+);
+
+# One row per interview slot of a project that belongs to an organization
+CREATE TABLE organization_interview_stat (
+  interview_id INT(11)     NOT NULL,
+  id           VARCHAR(48) NOT NULL,
+  org_id       INT(11)     NOT NULL,
+  proj_id      INT(11)     NOT NULL,
+  proj_name    TEXT,
+  member_id    INT(11),
+  member_name  TEXT,
+  start_time   DATETIME,
+  end_time     DATETIME,
+  available    CHAR(1),
+  PRIMARY KEY (interview_id),
+  INDEX organization_interview_stat_org_time_idx (org_id, start_time),
+  INDEX organization_interview_stat_member_idx (org_id, member_id, start_time),
+  INDEX organization_interview_stat_project_idx (proj_id),
+  INDEX organization_interview_stat_user_idx (member_id)
+);
+
+# One row per user with any role in an organization
+CREATE TABLE organization_member_stat (
+  org_id        INT(11)     NOT NULL,
+  member_id     INT(11)     NOT NULL,
+  id            VARCHAR(32) NOT NULL,
+  member_name   TEXT,
+  has_thumbnail TINYINT(1)  NOT NULL DEFAULT 0,
+  has_headline  TINYINT(1)  NOT NULL DEFAULT 0,
+  has_summary   TINYINT(1)  NOT NULL DEFAULT 0,
+  PRIMARY KEY (org_id, member_id),
+  INDEX organization_member_stat_user_idx (member_id)
+);
+
+# One row per organization with members, derived from organization_member_stat
+CREATE TABLE organization_profile_stat (
+  id                       INT(11) NOT NULL,
+  num_members              BIGINT  NOT NULL DEFAULT 0,
+  num_members_no_thumbnail BIGINT  NOT NULL DEFAULT 0,
+  num_members_no_headline  BIGINT  NOT NULL DEFAULT 0,
+  num_members_no_summary   BIGINT  NOT NULL DEFAULT 0,
+  PRIMARY KEY (id)
+);
+
+ALTER TABLE interview
+  ADD INDEX interview_group_idx (group_type, group_id);
+
+ALTER TABLE `user`
+  ADD INDEX user_profile_idx (user_profile_id);
+
+DELIMITER $$
+
+# Recomputes the project and interview rows of one project, of one organization, or of everything when both are NULL
+CREATE PROCEDURE stat_refresh_projects(IN p_organization_id INT, IN p_project_id INT)
+BEGIN
+  DELETE FROM organization_project_stat
+  WHERE (p_project_id IS NULL OR proj_id = p_project_id) AND (p_organization_id IS NULL OR org_id = p_organization_id);
+
+  INSERT INTO organization_project_stat (proj_id, id, org_id, proj_name, total_interviews, used_interviews)
+    SELECT
+      p.id,
+      CONCAT(p.id, '-', o.id),
+      o.id,
+      p.name,
+      (SELECT COUNT(*) FROM interview i WHERE i.group_type = 'Project' AND i.group_id = p.id),
+      (SELECT COUNT(*) FROM interview i WHERE i.group_type = 'Project' AND i.group_id = p.id AND COALESCE(i.user_id, 0) <> 0)
+    FROM project p
+      INNER JOIN organization o ON o.id = p.organization_id
+    WHERE p.deleted = 0 AND o.deleted = 0
+      AND (p_project_id IS NULL OR p.id = p_project_id) AND (p_organization_id IS NULL OR o.id = p_organization_id);
+
+  DELETE FROM organization_interview_stat
+  WHERE (p_project_id IS NULL OR proj_id = p_project_id) AND (p_organization_id IS NULL OR org_id = p_organization_id);
+
+  INSERT INTO organization_interview_stat
+  (interview_id, id, org_id, proj_id, proj_name, member_id, member_name, start_time, end_time, available)
+    SELECT i.id, CONCAT(i.id, '-', p.id, '-', o.id), o.id, p.id, p.name, u.id, u.name, i.start_time, i.end_time, i.available
+    FROM interview i
+      INNER JOIN project p ON p.id = i.group_id
+      INNER JOIN organization o ON o.id = p.organization_id
+      LEFT JOIN `user` u ON u.id = i.user_id
+    WHERE i.group_type = 'Project'
+      AND (p_project_id IS NULL OR p.id = p_project_id) AND (p_organization_id IS NULL OR o.id = p_organization_id);
+END $$
+
+# Recomputes the member rows of one user, of one organization, or of everything when both are NULL
+CREATE PROCEDURE stat_refresh_members(IN p_organization_id INT, IN p_user_id INT)
+BEGIN
+  DELETE FROM organization_member_stat
+  WHERE (p_user_id IS NULL OR member_id = p_user_id) AND (p_organization_id IS NULL OR org_id = p_organization_id);
+
+  INSERT INTO organization_member_stat (org_id, member_id, id, member_name, has_thumbnail, has_headline, has_summary)
+    SELECT
+      m.organization_id,
+      u.id,
+      CONCAT(u.id, '-', m.organization_id),
+      u.name,
+      COALESCE(up.thumbnail_id, 0) <> 0,
+      COALESCE(up.headline, '') <> '',
+      COALESCE(up.summary, '') <> ''
+    FROM (SELECT DISTINCT organization_id, user_id FROM organization_member
+          WHERE (p_user_id IS NULL OR user_id = p_user_id) AND (p_organization_id IS NULL OR organization_id = p_organization_id)) m
+      INNER JOIN `user` u ON u.id = m.user_id
+      LEFT JOIN user_profile up ON up.id = u.user_profile_id;
+END $$
+
+CREATE PROCEDURE rebuild_organization_statistics()
+BEGIN
+  CALL stat_refresh_projects(NULL, NULL);
+  CALL stat_refresh_members(NULL, NULL);
+
+  DELETE FROM organization_profile_stat;
+  INSERT INTO organization_profile_stat
+  (id, num_members, num_members_no_thumbnail, num_members_no_headline, num_members_no_summary)
+    SELECT org_id, COUNT(*), SUM(1 - has_thumbnail), SUM(1 - has_headline), SUM(1 - has_summary)
+    FROM organization_member_stat
+    GROUP BY org_id;
+END $$
+
+CREATE TRIGGER interview_stat_insert AFTER INSERT ON interview FOR EACH ROW
+BEGIN
+  IF NEW.group_type = 'Project' THEN
+    UPDATE organization_project_stat
+    SET total_interviews = total_interviews + 1,
+      used_interviews = used_interviews + (COALESCE(NEW.user_id, 0) <> 0)
+    WHERE proj_id = NEW.group_id;
+
+    INSERT INTO organization_interview_stat
+    (interview_id, id, org_id, proj_id, proj_name, member_id, member_name, start_time, end_time, available)
+      SELECT NEW.id, CONCAT(NEW.id, '-', p.id, '-', o.id), o.id, p.id, p.name, u.id, u.name,
+        NEW.start_time, NEW.end_time, NEW.available
+      FROM project p
+        INNER JOIN organization o ON o.id = p.organization_id
+        LEFT JOIN `user` u ON u.id = NEW.user_id
+      WHERE p.id = NEW.group_id;
+  END IF;
+END $$
+
+CREATE TRIGGER interview_stat_delete AFTER DELETE ON interview FOR EACH ROW
+BEGIN
+  IF OLD.group_type = 'Project' THEN
+    UPDATE organization_project_stat
+    SET total_interviews = total_interviews - 1,
+      used_interviews = used_interviews - (COALESCE(OLD.user_id, 0) <> 0)
+    WHERE proj_id = OLD.group_id;
+
+    DELETE FROM organization_interview_stat WHERE interview_id = OLD.id;
+  END IF;
+END $$
+
+CREATE TRIGGER interview_stat_update AFTER UPDATE ON interview FOR EACH ROW
+BEGIN
+  IF NOT (OLD.group_type <=> NEW.group_type AND OLD.group_id <=> NEW.group_id) THEN
+    IF OLD.group_type = 'Project' THEN
+      UPDATE organization_project_stat
+      SET total_interviews = total_interviews - 1,
+        used_interviews = used_interviews - (COALESCE(OLD.user_id, 0) <> 0)
+      WHERE proj_id = OLD.group_id;
+    END IF;
+    IF NEW.group_type = 'Project' THEN
+      UPDATE organization_project_stat
+      SET total_interviews = total_interviews + 1,
+        used_interviews = used_interviews + (COALESCE(NEW.user_id, 0) <> 0)
+      WHERE proj_id = NEW.group_id;
+    END IF;
+  ELSEIF NEW.group_type = 'Project' AND (COALESCE(OLD.user_id, 0) <> 0) <> (COALESCE(NEW.user_id, 0) <> 0) THEN
+    UPDATE organization_project_stat
+    SET used_interviews = used_interviews - (COALESCE(OLD.user_id, 0) <> 0) + (COALESCE(NEW.user_id, 0) <> 0)
+    WHERE proj_id = NEW.group_id;
+  END IF;
+
+  IF NOT (OLD.group_type <=> NEW.group_type AND OLD.group_id <=> NEW.group_id AND OLD.user_id <=> NEW.user_id
+          AND OLD.start_time <=> NEW.start_time AND OLD.end_time <=> NEW.end_time AND OLD.available <=> NEW.available) THEN
+    DELETE FROM organization_interview_stat WHERE interview_id = OLD.id;
+    IF NEW.group_type = 'Project' THEN
+      INSERT INTO organization_interview_stat
+      (interview_id, id, org_id, proj_id, proj_name, member_id, member_name, start_time, end_time, available)
+        SELECT NEW.id, CONCAT(NEW.id, '-', p.id, '-', o.id), o.id, p.id, p.name, u.id, u.name,
+          NEW.start_time, NEW.end_time, NEW.available
+        FROM project p
+          INNER JOIN organization o ON o.id = p.organization_id
+          LEFT JOIN `user` u ON u.id = NEW.user_id
+        WHERE p.id = NEW.group_id;
+    END IF;
+  END IF;
+END $$
+
+CREATE TRIGGER project_stat_insert AFTER INSERT ON project FOR EACH ROW
+BEGIN
+  IF NEW.organization_id IS NOT NULL THEN
+    CALL stat_refresh_projects(NULL, NEW.id);
+  END IF;
+END $$
+
+CREATE TRIGGER project_stat_update AFTER UPDATE ON project FOR EACH ROW
+BEGIN
+  IF NOT (OLD.name <=> NEW.name AND OLD.organization_id <=> NEW.organization_id AND OLD.deleted <=> NEW.deleted) THEN
+    CALL stat_refresh_projects(NULL, NEW.id);
+  END IF;
+END $$
+
+CREATE TRIGGER organization_stat_update AFTER UPDATE ON organization FOR EACH ROW
+BEGIN
+  IF NOT (OLD.deleted <=> NEW.deleted) THEN
+    CALL stat_refresh_projects(NEW.id, NULL);
+  END IF;
+END $$
+
+CREATE TRIGGER user_stat_update AFTER UPDATE ON `user` FOR EACH ROW
+BEGIN
+  IF NOT (OLD.name <=> NEW.name) THEN
+    UPDATE organization_member_stat SET member_name = NEW.name WHERE member_id = NEW.id;
+    UPDATE organization_interview_stat SET member_name = NEW.name WHERE member_id = NEW.id;
+  END IF;
+  IF NOT (OLD.user_profile_id <=> NEW.user_profile_id) THEN
+    CALL stat_refresh_members(NULL, NEW.id);
+  END IF;
+END $$
+
+CREATE TRIGGER user_profile_stat_update AFTER UPDATE ON user_profile FOR EACH ROW
+BEGIN
+  IF NOT (OLD.thumbnail_id <=> NEW.thumbnail_id AND OLD.headline <=> NEW.headline AND OLD.summary <=> NEW.summary) THEN
+    UPDATE organization_member_stat s
+      INNER JOIN `user` u ON u.id = s.member_id
+    SET s.has_thumbnail = COALESCE(NEW.thumbnail_id, 0) <> 0,
+      s.has_headline = COALESCE(NEW.headline, '') <> '',
+      s.has_summary = COALESCE(NEW.summary, '') <> ''
+    WHERE u.user_profile_id = NEW.id;
+  END IF;
+END $$
+
+CREATE TRIGGER organization_member_stat_insert AFTER INSERT ON organization_member FOR EACH ROW
+BEGIN
+  INSERT IGNORE INTO organization_member_stat (org_id, member_id, id, member_name, has_thumbnail, has_headline, has_summary)
+    SELECT
+      NEW.organization_id,
+      u.id,
+      CONCAT(u.id, '-', NEW.organization_id),
+      u.name,
+      COALESCE(up.thumbnail_id, 0) <> 0,
+      COALESCE(up.headline, '') <> '',
+      COALESCE(up.summary, '') <> ''
+    FROM `user` u
+      LEFT JOIN user_profile up ON up.id = u.user_profile_id
+    WHERE u.id = NEW.user_id;
+END $$
+
+CREATE TRIGGER organization_member_stat_delete AFTER DELETE ON organization_member FOR EACH ROW
+BEGIN
+  # Users hold one row per role; they stay in the statistics until the last one is gone
+  IF NOT EXISTS(SELECT 1 FROM organization_member
+                WHERE organization_id = OLD.organization_id AND user_id = OLD.user_id) THEN
+    DELETE FROM organization_member_stat WHERE org_id = OLD.organization_id AND member_id = OLD.user_id;
+  END IF;
+END $$
+
+CREATE TRIGGER member_stat_profile_insert AFTER INSERT ON organization_member_stat FOR EACH ROW
+BEGIN
+  INSERT INTO organization_profile_stat
+  (id, num_members, num_members_no_thumbnail, num_members_no_headline, num_members_no_summary)
+  VALUES (NEW.org_id, 1, 1 - NEW.has_thumbnail, 1 - NEW.has_headline, 1 - NEW.has_summary)
+  ON DUPLICATE KEY UPDATE
+    num_members = num_members + 1,
+    num_members_no_thumbnail = num_members_no_thumbnail + 1 - NEW.has_thumbnail,
+    num_members_no_headline = num_members_no_headline + 1 - NEW.has_headline,
+    num_members_no_summary = num_members_no_summary + 1 - NEW.has_summary;
+END $$
+
+CREATE TRIGGER member_stat_profile_update AFTER UPDATE ON organization_member_stat FOR EACH ROW
+BEGIN
+  UPDATE organization_profile_stat
+  SET num_members_no_thumbnail = num_members_no_thumbnail + NEW.has_thumbnail - OLD.has_thumbnail,
+    num_members_no_headline = num_members_no_headline + NEW.has_headline - OLD.has_headline,
+    num_members_no_summary = num_members_no_summary + NEW.has_summary - OLD.has_summary
+  WHERE id = NEW.org_id;
+END $$
+
+CREATE TRIGGER member_stat_profile_delete AFTER DELETE ON organization_member_stat FOR EACH ROW
+BEGIN
+  UPDATE organization_profile_stat
+  SET num_members = num_members - 1,
+    num_members_no_thumbnail = num_members_no_thumbnail - 1 + OLD.has_thumbnail,
+    num_members_no_headline = num_members_no_headline - 1 + OLD.has_headline,
+    num_members_no_summary = num_members_no_summary - 1 + OLD.has_summary
+  WHERE id = OLD.org_id;
+  DELETE FROM organization_profile_stat WHERE id = OLD.org_id AND num_members <= 0;
+END $$
+
+DELIMITER ;
+
+CALL rebuild_organization_statistics();
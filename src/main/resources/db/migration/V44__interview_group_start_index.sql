@@ -0,0 +1,4 @@
+# Interviews are looked up by group and time window; the start time extends the group index added in V43
+ALTER TABLE interview
+  DROP INDEX interview_group_idx,
+  ADD INDEX interview_group_start_idx (group_type, group_id, start_time);
@@ -0,0 +1,6 @@
+# Lets the interview status job find the scheduled interviews without scanning every application
+ALTER TABLE `project_applicant`
+  ADD INDEX `project_applicant_status_interview_idx` (`status` ASC, `interview_id` ASC);
+
+ALTER TABLE `organization_applicant`
+  ADD INDEX `organization_applicant_status_interview_idx` (`status` ASC, `interview_id` ASC);
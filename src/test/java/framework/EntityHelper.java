@@ -0,0 +1,230 @@
+package framework;
+
+import org.hibernate.SessionFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import server.entities.dto.group.interview.Interview;
+import server.entities.dto.group.organization.Organization;
+import server.entities.dto.group.organization.OrganizationMember;
+import server.entities.dto.group.project.Project;
+import server.entities.dto.group.project.ProjectMember;
+import server.entities.dto.user.User;
+import server.events.NotificationEventBus;
+import server.repositories.UserRepository;
+import server.repositories.group.InterviewRepository;
+import server.repositories.group.organization.OrganizationMemberRepository;
+import server.repositories.group.organization.OrganizationRepository;
+import server.repositories.group.project.ProjectMemberRepository;
+import server.repositories.group.project.ProjectRepository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static server.constants.Availability.AVAILABLE;
+
+/**
+ * Creates test entities. Tests that are not transactional, and so commit what they create, call deleteCreated() after
+ * each test to remove the entities again together with the rows the application attached to them.
+ */
+@Service
+public class EntityHelper {
+
+  private static final String DELETE_NOTIFICATIONS = "DELETE n, i FROM notification n "
+      + "LEFT JOIN notification_digest_item i ON i.notification_id = n.id WHERE n.receiver_id IN (:users)";
+  private static final String DELETE_SESSIONS = "DELETE FROM session WHERE user_id IN (:users)";
+  private static final String SELECT_OWNED = "SELECT id FROM %s WHERE owner_id IN (:users)";
+  private static final String DELETE_MEMBERS = "DELETE FROM %1$s_member WHERE %1$s_id IN (:groups) OR user_id IN (:users)";
+  private static final String DELETE_INVITATIONS = "DELETE FROM %1$s_invitation "
+      + "WHERE %1$s_id IN (:groups) OR receiver_id IN (:users) OR sender_id IN (:users)";
+  private static final String DELETE_APPLICANTS = "DELETE FROM %1$s_applicant WHERE %1$s_id IN (:groups) OR sender_id IN (:users)";
+  private static final String DELETE_INTERVIEWS = "DELETE FROM interview "
+      + "WHERE (group_type = :groupType AND group_id IN (:groups)) OR user_id IN (:users)";
+  private static final String UNLINK_PROFILES = "UPDATE %1$s SET %1$s_profile_id = NULL WHERE id IN (:groups)";
+  private static final String DELETE_PROFILES = "DELETE FROM %1$s_profile WHERE %1$s_id IN (:groups)";
+  private static final String DELETE_GROUPS = "DELETE FROM %s WHERE id IN (:groups)";
+  // Groups are only ever soft-deleted by the application, so the statistics triggers don't cover these rows
+  private static final String DELETE_PROJECT_STATS = "DELETE FROM organization_project_stat "
+      + "WHERE proj_id IN (:projects) OR org_id IN (:organizations)";
+  private static final String DELETE_ORGANIZATION_STATS = "DELETE FROM organization_profile_stat WHERE id IN (:organizations)";
+  private static final String DELETE_USERS = "DELETE FROM `user` WHERE id IN (:users)";
+
+  private final Set<Long> userIds = ConcurrentHashMap.newKeySet();
+  private final Set<Long> organizationIds = ConcurrentHashMap.newKeySet();
+  private final Set<Long> projectIds = ConcurrentHashMap.newKeySet();
+
+  @Autowired
+  private JdbcTemplate jdbcTemplate;
+
+  @Autowired
+  private SessionFactory sessionFactory;
+
+  @Autowired
+  private NotificationEventBus notificationEventBus;
+
+  @Autowired
+  private UserRepository userRepository;
+
+  @Autowired
+  private OrganizationRepository organizationRepository;
+
+  @Autowired
+  private OrganizationMemberRepository organizationMemberRepository;
+
+  @Autowired
+  private ProjectRepository projectRepository;
+
+  @Autowired
+  private ProjectMemberRepository projectMemberRepository;
+
+  @Autowired
+  private InterviewRepository interviewRepository;
+
+  public User createUser(String name) {
+    User user = new User();
+    user.setName(name);
+    user.setEmail(name.replaceAll("[^A-Za-z0-9-]", "") + "@test.com");
+    User saved = userRepository.save(user);
+    track(userIds, saved.getId());
+    return saved;
+  }
+
+  public Organization createOrganization(User owner, String name) {
+    return createOrganization(owner, name, "NONE");
+  }
+
+  public Organization createOrganization(User owner, String name, String restriction) {
+    Organization organization = new Organization();
+    organization.setName(name);
+    organization.setOwner(owner);
+    organization.setRestriction(restriction);
+    organization.setDeleted(false);
+    Organization saved = organizationRepository.save(organization);
+    track(organizationIds, saved.getId());
+    return saved;
+  }
+
+  public Project createProject(User owner, String name) {
+    return createProject(owner, null, name);
+  }
+
+  public Project createProject(User owner, Organization organization, String name) {
+    return createProject(owner, organization, name, "NONE");
+  }
+
+  public Project createProject(User owner, Organization organization, String name, String restriction) {
+    Project project = new Project();
+    project.setName(name);
+    project.setOwner(owner);
+    project.setOrganization(organization);
+    project.setRestriction(restriction);
+    project.setDeleted(false);
+    Project saved = projectRepository.save(project);
+    track(projectIds, saved.getId());
+    return saved;
+  }
+
+  public void addMember(Organization organization, User user, int role) {
+    OrganizationMember membership = new OrganizationMember();
+    membership.setGroup(organization);
+    membership.setUser(user);
+    membership.setRoleId(role);
+    organizationMemberRepository.save(membership);
+  }
+
+  public void addMember(Project project, User user, int role) {
+    ProjectMember membership = new ProjectMember();
+    membership.setGroup(project);
+    membership.setUser(user);
+    membership.setRoleId(role);
+    projectMemberRepository.save(membership);
+  }
+
+  public Interview createInterview(Project project, User user, LocalDateTime start) {
+    Interview interview = new Interview();
+    interview.setGroupType(project.getGroupType());
+    interview.setGroupId(project.getId());
+    interview.setStartDateTime(start);
+    interview.setEndDateTime(start.plusMinutes(30));
+    interview.setAvailability(AVAILABLE);
+    interview.setUser(user);
+    return interviewRepository.save(interview);
+  }
+
+  /**
+   * Deletes everything created outside a transaction since the last call, along with the memberships, invitations,
+   * applications, interviews, sessions and notifications of those users and groups, and of the groups they own
+   */
+  public void deleteCreated() throws InterruptedException {
+    // Join and apply notifications are written by the event bus after the request has already returned
+    while (!notificationEventBus.isIdle()) {
+      Thread.sleep(50);
+    }
+
+    List<Long> users = drain(userIds);
+    if (users.isEmpty()) {
+      organizationIds.clear();
+      projectIds.clear();
+      return;
+    }
+    NamedParameterJdbcTemplate namedJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+    MapSqlParameterSource params = new MapSqlParameterSource("users", users);
+    List<Long> organizations = drain(organizationIds);
+    organizations.addAll(namedJdbcTemplate.queryForList(String.format(SELECT_OWNED, "organization"), params, Long.class));
+    List<Long> projects = drain(projectIds);
+    projects.addAll(namedJdbcTemplate.queryForList(String.format(SELECT_OWNED, "project"), params, Long.class));
+    params.addValue("organizations", orNone(organizations));
+    params.addValue("projects", orNone(projects));
+
+    namedJdbcTemplate.update(DELETE_NOTIFICATIONS, params);
+    namedJdbcTemplate.update(DELETE_SESSIONS, params);
+    namedJdbcTemplate.update(DELETE_PROJECT_STATS, params);
+    namedJdbcTemplate.update(DELETE_ORGANIZATION_STATS, params);
+    // Projects go first, since they may belong to one of the organizations
+    deleteGroups(namedJdbcTemplate, params, "project", "Project", projects);
+    deleteGroups(namedJdbcTemplate, params, "organization", "Organization", organizations);
+    namedJdbcTemplate.update(DELETE_USERS, params);
+
+    sessionFactory.getCache().evictEntityRegion(User.class);
+    sessionFactory.getCache().evictEntityRegion(Organization.class);
+    sessionFactory.getCache().evictEntityRegion(Project.class);
+  }
+
+  private void deleteGroups(NamedParameterJdbcTemplate namedJdbcTemplate, MapSqlParameterSource params, String table,
+                            String groupType, List<Long> groups) {
+    MapSqlParameterSource groupParams = new MapSqlParameterSource(params.getValues())
+        .addValue("groups", orNone(groups))
+        .addValue("groupType", groupType);
+    // Applications and invitations point at interviews, so they are removed before them
+    for (String sql : new String[]{DELETE_MEMBERS, DELETE_INVITATIONS, DELETE_APPLICANTS, DELETE_INTERVIEWS,
+        UNLINK_PROFILES, DELETE_PROFILES, DELETE_GROUPS}) {
+      namedJdbcTemplate.update(String.format(sql, table), groupParams);
+    }
+  }
+
+  private void track(Set<Long> ids, Long id) {
+    // Inside a transaction the test rolls back on its own
+    if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+      ids.add(id);
+    }
+  }
+
+  private static List<Long> drain(Set<Long> ids) {
+    List<Long> drained = new ArrayList<>(ids);
+    ids.removeAll(drained);
+    return drained;
+  }
+
+  // MySQL rejects an empty IN (), and -1 matches no id
+  private static Collection<Long> orNone(List<Long> ids) {
+    return ids.isEmpty() ? Collections.singletonList(-1L) : ids;
+  }
+}
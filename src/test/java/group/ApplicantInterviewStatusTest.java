@@ -0,0 +1,74 @@
+package group;
+
+import framework.EntityHelper;
+import framework.RestTester;
+import org.junit.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import server.entities.dto.group.interview.Interview;
+import server.entities.dto.group.project.Project;
+import server.entities.dto.group.project.ProjectApplication;
+import server.entities.dto.user.User;
+import server.repositories.group.project.ProjectApplicantRepository;
+import server.service.ApplicantUpdateService;
+
+import javax.persistence.EntityManager;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+
+import static junit.framework.TestCase.assertEquals;
+import static server.constants.Availability.NOT_AVAILABLE;
+
+/**
+ * Runs the interview status job over one applicant whose interview is over and one whose interview is still ahead
+ */
+public class ApplicantInterviewStatusTest extends RestTester {
+
+  @Autowired
+  private ApplicantUpdateService applicantUpdateService;
+
+  @Autowired
+  private EntityHelper entityHelper;
+
+  @Autowired
+  private ProjectApplicantRepository projectApplicantRepository;
+
+  @Autowired
+  private EntityManager entityManager;
+
+  @Autowired
+  private JdbcTemplate jdbcTemplate;
+
+  @Test
+  public void onlyEndedInterviewsAreMarkedInterviewed() {
+    String run = Long.toString(System.currentTimeMillis());
+    Project project = entityHelper.createProject(entityHelper.createUser("owner-" + run), "status-" + run);
+
+    LocalDateTime now = ZonedDateTime.now(ZoneOffset.UTC).toLocalDateTime();
+    ProjectApplication ended = createApplicant(project, entityHelper.createUser("ended-" + run), now.minusHours(2));
+    ProjectApplication upcoming = createApplicant(project, entityHelper.createUser("upcoming-" + run), now.plusHours(2));
+    entityManager.flush();
+
+    applicantUpdateService.interviewScheduleUpdater();
+
+    assertEquals("interviewed", status(ended));
+    assertEquals("interview_scheduled", status(upcoming));
+  }
+
+  private String status(ProjectApplication applicant) {
+    return jdbcTemplate.queryForObject("SELECT status FROM project_applicant WHERE id = ?", String.class, applicant.getId());
+  }
+
+  private ProjectApplication createApplicant(Project project, User user, LocalDateTime start) {
+    Interview interview = entityHelper.createInterview(project, user, start);
+    interview.setAvailability(NOT_AVAILABLE);
+
+    ProjectApplication applicant = new ProjectApplication();
+    applicant.setGroup(project);
+    applicant.setSender(user);
+    applicant.setInterview(interview);
+    applicant.setStatus("interview_scheduled");
+    return projectApplicantRepository.save(applicant);
+  }
+}
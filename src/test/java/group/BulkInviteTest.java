@@ -0,0 +1,94 @@
+package group;
+
+import framework.EntityHelper;
+import framework.RequestHelper;
+import framework.RestTester;
+import org.junit.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import server.constants.RoleValue;
+import server.controllers.FuseSessionController;
+import server.controllers.rest.response.GeneralResponse;
+import server.entities.dto.FuseSession;
+import server.entities.dto.group.project.Project;
+import server.entities.dto.user.User;
+import server.entities.user_to_group.relationships.RelationshipFactory;
+import server.repositories.group.project.ProjectMemberRepository;
+
+import java.util.List;
+import java.util.Map;
+
+import static junit.framework.TestCase.assertEquals;
+import static junit.framework.TestCase.assertNotNull;
+import static junit.framework.TestCase.assertNull;
+import static server.controllers.rest.response.BaseResponse.Status.OK;
+import static server.controllers.rest.response.CannedResponse.ALREADY_JOINED_OR_INVITED;
+import static server.controllers.rest.response.CannedResponse.NO_USER_FOUND;
+
+/**
+ * Invites a few hundred users to a project with one request
+ */
+public class BulkInviteTest extends RestTester {
+
+  private static final int USERS = 300;
+
+  @Autowired
+  private RequestHelper requestHelper;
+
+  @Autowired
+  private FuseSessionController fuseSessionController;
+
+  @Autowired
+  private RelationshipFactory relationshipFactory;
+
+  @Autowired
+  private EntityHelper entityHelper;
+
+  @Autowired
+  private ProjectMemberRepository projectMemberRepository;
+
+  @Test
+  @SuppressWarnings("unchecked")
+  public void invitesEveryUserOnce() throws Exception {
+    String run = Long.toString(System.currentTimeMillis());
+    User owner = entityHelper.createUser("owner-" + run);
+    Project project = entityHelper.createProject(owner, null, "bulk-invite-" + run, "INVITE");
+    relationshipFactory.createUserToProjectRelationship(owner, project).addRelationship(RoleValue.OWNER);
+    relationshipFactory.createUserToProjectRelationship(owner, project).addRelationship(RoleValue.ADMIN);
+    FuseSession session = fuseSessionController.createSession(owner);
+
+    // Every other user is given by email; the list ends with the owner, an unknown email and a repeated user
+    StringBuilder body = new StringBuilder("[");
+    User first = null;
+    for (int i = 0; i < USERS; i++) {
+      User user = entityHelper.createUser("invitee-" + run + "-" + i);
+      if (first == null) {
+        first = user;
+      }
+      body.append(i % 2 == 0 ? "{\"id\":" + user.getId() + "}" : "{\"email\":\"" + user.getEmail() + "\"}").append(",");
+    }
+    body.append("{\"id\":").append(owner.getId()).append("},");
+    body.append("{\"email\":\"nobody-").append(run).append("@test.com\"},");
+    body.append("{\"id\":").append(first.getId()).append("}]");
+
+    GeneralResponse response = requestHelper.makePostRequest(session.getSessionId(), body.toString(),
+        "/projects/" + project.getId() + "/invite");
+
+    assertEquals(OK, response.getStatus());
+    List<Map<String, Object>> results = (List<Map<String, Object>>) response.getData();
+    assertEquals(USERS + 3, results.size());
+    for (int i = 0; i < USERS; i++) {
+      assertNotNull(results.get(i).get("invitationId"));
+      assertNull(results.get(i).get("error"));
+    }
+    assertEquals(ALREADY_JOINED_OR_INVITED, results.get(USERS).get("error"));
+    assertEquals(NO_USER_FOUND, results.get(USERS + 1).get("error"));
+    assertEquals(ALREADY_JOINED_OR_INVITED, results.get(USERS + 2).get("error"));
+    assertEquals(RoleValue.INVITED_TO_JOIN, projectMemberRepository.getRoles(project, first).get(0).intValue());
+
+    // Inviting the same users again sends nothing
+    response = requestHelper.makePostRequest(session.getSessionId(), body.toString(),
+        "/projects/" + project.getId() + "/invite");
+    results = (List<Map<String, Object>>) response.getData();
+    results.forEach(result -> assertNull(result.get("invitationId")));
+  }
+}
@@ -0,0 +1,103 @@
+package group;
+
+import framework.EntityHelper;
+import framework.RestTester;
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import server.constants.RoleValue;
+import server.entities.dto.group.Group;
+import server.entities.dto.group.organization.Organization;
+import server.entities.dto.group.project.Project;
+import server.entities.dto.user.User;
+import server.entities.user_to_group.permissions.GroupPermissions;
+import server.entities.user_to_group.permissions.PermissionFactory;
+import server.entities.user_to_group.permissions.UserToGroupPermission;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static junit.framework.TestCase.assertEquals;
+
+/**
+ * Evaluates one user against projects spread over several organizations, group by group and in bulk
+ */
+public class BulkPermissionBenchmarkTest extends RestTester {
+
+  private static final Logger logger = LoggerFactory.getLogger(BulkPermissionBenchmarkTest.class);
+
+  private static final int ORGANIZATIONS = 20;
+  private static final int PROJECTS_PER_ORGANIZATION = 25;
+  private static final int ROUNDS = 5;
+
+  @Autowired
+  private PermissionFactory permissionFactory;
+
+  @Autowired
+  private EntityHelper entityHelper;
+
+  @Test
+  public void bulkMatchesPerGroupPermissions() {
+    String run = Long.toString(System.currentTimeMillis());
+    User owner = entityHelper.createUser("owner-" + run);
+    User user = entityHelper.createUser("user-" + run);
+
+    List<Group> groups = new ArrayList<>();
+    for (int o = 0; o < ORGANIZATIONS; o++) {
+      Organization organization = entityHelper.createOrganization(owner, "bulk-" + run + "-" + o,
+          o % 2 == 0 ? "NONE" : "INVITE");
+      groups.add(organization);
+
+      // The user belongs to every third organization
+      if (o % 3 == 0) {
+        entityHelper.addMember(organization, user, RoleValue.DEFAULT_USER);
+      }
+
+      for (int p = 0; p < PROJECTS_PER_ORGANIZATION; p++) {
+        Project project = entityHelper.createProject(owner, organization, "bulk-" + run + "-" + o + "-" + p,
+            p % 2 == 0 ? "NONE" : "INVITE");
+        groups.add(project);
+
+        if (p % 5 == 0) {
+          entityHelper.addMember(project, user, p % 10 == 0 ? RoleValue.ADMIN : RoleValue.INVITED_TO_JOIN);
+        }
+      }
+    }
+
+    long perGroupNanos = 0;
+    long bulkNanos = 0;
+    for (int round = 0; round < ROUNDS; round++) {
+      long start = System.nanoTime();
+      List<UserToGroupPermission<?>> perGroup = new ArrayList<>();
+      for (Group group : groups) {
+        UserToGroupPermission<?> permission = group instanceof Project ?
+            permissionFactory.createUserToProjectPermission(user, (Project) group) :
+            permissionFactory.createUserToOrganizationPermission(user, (Organization) group);
+        permission.canJoin();
+        permission.hasApplied();
+        perGroup.add(permission);
+      }
+      perGroupNanos += System.nanoTime() - start;
+
+      start = System.nanoTime();
+      GroupPermissions bulk = permissionFactory.createUserToGroupPermissions(user, groups);
+      for (Group group : groups) {
+        bulk.get(group).canJoin();
+        bulk.get(group).hasApplied();
+      }
+      bulkNanos += System.nanoTime() - start;
+
+      for (int i = 0; i < groups.size(); i++) {
+        UserToGroupPermission<?> expected = perGroup.get(i);
+        UserToGroupPermission<?> actual = bulk.get(groups.get(i));
+        assertEquals(expected.canJoin(), actual.canJoin());
+        assertEquals(expected.canUpdate(), actual.canUpdate());
+        assertEquals(expected.hasApplied(), actual.hasApplied());
+      }
+    }
+
+    logger.info(String.format("%d groups x %d rounds: per group %.2f ms/round, bulk %.2f ms/round",
+        groups.size(), ROUNDS, perGroupNanos / 1e6 / ROUNDS, bulkNanos / 1e6 / ROUNDS));
+  }
+}
@@ -0,0 +1,69 @@
+package group;
+
+import framework.EntityHelper;
+import framework.RestTester;
+import org.junit.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import server.constants.RoleValue;
+import server.controllers.FuseSessionController;
+import server.entities.dto.FuseSession;
+import server.entities.dto.group.project.Project;
+import server.entities.dto.user.User;
+import server.entities.user_to_group.relationships.RelationshipFactory;
+
+import static junit.framework.TestCase.assertEquals;
+import static junit.framework.TestCase.assertFalse;
+import static junit.framework.TestCase.assertNotNull;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+/**
+ * Revalidates a project with If-None-Match before and after the viewer joins it
+ */
+public class ConditionalGetTest extends RestTester {
+
+  @Autowired
+  private MockMvc mockMvc;
+
+  @Autowired
+  private FuseSessionController fuseSessionController;
+
+  @Autowired
+  private RelationshipFactory relationshipFactory;
+
+  @Autowired
+  private EntityHelper entityHelper;
+
+  @Test
+  public void notModifiedUntilTheProjectChanges() throws Exception {
+    String run = Long.toString(System.currentTimeMillis());
+    User viewer = entityHelper.createUser("viewer-" + run);
+    Project project = entityHelper.createProject(entityHelper.createUser("owner-" + run), "etag-" + run);
+    FuseSession session = fuseSessionController.createSession(viewer);
+    String path = "/projects/" + project.getId();
+
+    MockHttpServletResponse first = perform(get(path), session);
+    assertEquals(200, first.getStatus());
+    String eTag = first.getHeader("ETag");
+    assertNotNull(eTag);
+
+    MockHttpServletResponse revalidated = perform(get(path).header("If-None-Match", eTag), session);
+    assertEquals(304, revalidated.getStatus());
+    assertEquals("", revalidated.getContentAsString());
+
+    // The summary is a different representation of the same project
+    assertEquals(200, perform(get(path).param("view", "summary").header("If-None-Match", eTag), session).getStatus());
+
+    // Joining changes what the viewer is allowed to do, and with it the ETag
+    relationshipFactory.createUserToProjectRelationship(viewer, project).addRelationship(RoleValue.DEFAULT_USER);
+    MockHttpServletResponse changed = perform(get(path).header("If-None-Match", eTag), session);
+    assertEquals(200, changed.getStatus());
+    assertFalse(eTag.equals(changed.getHeader("ETag")));
+  }
+
+  private MockHttpServletResponse perform(MockHttpServletRequestBuilder request, FuseSession session) throws Exception {
+    return mockMvc.perform(request.header("SESSIONID", session.getSessionId())).andReturn().getResponse();
+  }
+}
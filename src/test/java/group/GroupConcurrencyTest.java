@@ -0,0 +1,156 @@
+package group;
+
+import framework.EntityHelper;
+import framework.RequestHelper;
+import org.junit.After;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.web.servlet.MockMvc;
+import server.Application;
+import server.config.Dependencies;
+import server.controllers.FuseSessionController;
+import server.controllers.rest.response.GeneralResponse;
+import server.entities.dto.FuseSession;
+import server.entities.dto.group.project.Project;
+import server.entities.dto.user.User;
+import server.repositories.group.project.ProjectMemberRepository;
+import server.repositories.group.project.ProjectRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static junit.framework.TestCase.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static server.controllers.rest.response.BaseResponse.Status.OK;
+
+/**
+ * Creates and joins groups from many threads at once. Not transactional like {@link framework.RestTester}: every
+ * request has to commit so the other threads can see it, so the users and groups are deleted after each test.
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest
+@ContextConfiguration(classes = {Dependencies.class, Application.class})
+@ComponentScan("framework")
+@AutoConfigureMockMvc
+public class GroupConcurrencyTest {
+
+  private static final Logger logger = LoggerFactory.getLogger(GroupConcurrencyTest.class);
+
+  private static final int THREADS = 16;
+  private static final int GROUPS = 8;
+  private static final int USERS_PER_GROUP = 50;
+
+  @Autowired
+  private MockMvc mockMvc;
+
+  @Autowired
+  private RequestHelper requestHelper;
+
+  @Autowired
+  private EntityHelper entityHelper;
+
+  @Autowired
+  private FuseSessionController fuseSessionController;
+
+  @Autowired
+  private ProjectRepository projectRepository;
+
+  @Autowired
+  private ProjectMemberRepository projectMemberRepository;
+
+  @After
+  public void deleteCreated() throws InterruptedException {
+    entityHelper.deleteCreated();
+  }
+
+  @Test
+  public void joinsManyGroupsInParallel() throws Exception {
+    String run = Long.toString(System.currentTimeMillis());
+    User owner = entityHelper.createUser("owner-" + run);
+
+    List<Project> projects = new ArrayList<>();
+    List<Callable<GeneralResponse>> joins = new ArrayList<>();
+    for (int g = 0; g < GROUPS; g++) {
+      Project project = entityHelper.createProject(owner, "concurrency-" + run + "-" + g);
+      projects.add(project);
+      for (int u = 0; u < USERS_PER_GROUP; u++) {
+        FuseSession session = fuseSessionController.createSession(entityHelper.createUser("joiner-" + run + "-" + g + "-" + u));
+        joins.add(() -> requestHelper.makePostRequest(session.getSessionId(), null, "/projects/" + project.getId() + "/join"));
+      }
+    }
+
+    long start = System.nanoTime();
+    List<GeneralResponse> responses = runAll(joins);
+    double seconds = (System.nanoTime() - start) / 1e9;
+    logger.info(String.format("%d joins across %d groups on %d threads: %.1f joins/sec",
+        responses.size(), GROUPS, THREADS, responses.size() / seconds));
+
+    responses.forEach(r -> assertEquals(OK, r.getStatus()));
+    for (Project project : projects) {
+      assertEquals(USERS_PER_GROUP, projectMemberRepository.getUsersByGroup(project).size());
+      assertEquals(USERS_PER_GROUP, projectRepository.findOne(project.getId()).getNumberOfMembers().intValue());
+    }
+  }
+
+  @Test
+  public void sameUserJoinsOnce() throws Exception {
+    String run = Long.toString(System.currentTimeMillis());
+    Project project = entityHelper.createProject(entityHelper.createUser("owner-" + run), "concurrency-" + run);
+    FuseSession session = fuseSessionController.createSession(entityHelper.createUser("joiner-" + run));
+
+    List<Callable<GeneralResponse>> joins = new ArrayList<>();
+    for (int i = 0; i < THREADS; i++) {
+      joins.add(() -> requestHelper.makePostRequest(session.getSessionId(), null, "/projects/" + project.getId() + "/join"));
+    }
+
+    long succeeded = runAll(joins).stream().filter(r -> r.getStatus() == OK).count();
+    assertEquals(1, succeeded);
+    assertEquals(1, projectMemberRepository.getRoles(project, session.getUser()).size());
+  }
+
+  @Test
+  public void duplicateCreateIsRejected() throws Exception {
+    String run = Long.toString(System.currentTimeMillis());
+    FuseSession session = fuseSessionController.createSession(entityHelper.createUser("owner-" + run));
+    String contents = requestHelper.getContentsFromResources("project/createProject1").replace("project 1", "project " + run);
+
+    List<Callable<Integer>> creates = new ArrayList<>();
+    for (int i = 0; i < THREADS; i++) {
+      creates.add(() -> mockMvc.perform(post("/projects")
+          .contentType(MediaType.APPLICATION_JSON_UTF8)
+          .header("SESSIONID", session.getSessionId())
+          .content(contents)).andReturn().getResponse().getStatus());
+    }
+
+    List<Integer> codes = runAll(creates);
+    assertEquals(1, codes.stream().filter(code -> code == 200).count());
+    assertEquals(THREADS - 1, codes.stream().filter(code -> code == 400).count());
+    assertEquals(1, projectRepository.getGroups(session.getUser(), "project " + run).size());
+  }
+
+  private <R> List<R> runAll(List<Callable<R>> tasks) throws Exception {
+    ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+    try {
+      List<R> results = new ArrayList<>();
+      for (Future<R> future : executor.invokeAll(tasks)) {
+        results.add(future.get());
+      }
+      return results;
+    } finally {
+      executor.shutdown();
+    }
+  }
+}
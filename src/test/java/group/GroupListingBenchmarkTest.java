@@ -0,0 +1,143 @@
+package group;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import framework.EntityHelper;
+import framework.RestTester;
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.web.servlet.MockMvc;
+import server.constants.RoleValue;
+import server.controllers.FuseSessionController;
+import server.controllers.rest.response.GeneralResponse;
+import server.entities.dto.FuseSession;
+import server.entities.dto.group.project.Project;
+import server.entities.dto.group.project.ProjectMember;
+import server.entities.dto.user.User;
+import server.entities.user_to_group.permissions.PermissionFactory;
+import server.entities.user_to_group.permissions.UserToGroupPermission;
+import server.repositories.group.project.ProjectMemberRepository;
+import server.repositories.group.project.ProjectRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static junit.framework.TestCase.assertEquals;
+import static junit.framework.TestCase.assertFalse;
+import static junit.framework.TestCase.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static server.controllers.rest.response.BaseResponse.Status.OK;
+
+/**
+ * Lists 10k projects page by page and compares per-group permission checks with the batched ones
+ */
+public class GroupListingBenchmarkTest extends RestTester {
+
+  private static final Logger logger = LoggerFactory.getLogger(GroupListingBenchmarkTest.class);
+
+  private static final int GROUPS = 10000;
+  private static final int PAGE_SIZE = 100;
+
+  @Autowired
+  private MockMvc mockMvc;
+
+  @Autowired
+  private FuseSessionController fuseSessionController;
+
+  @Autowired
+  private PermissionFactory permissionFactory;
+
+  @Autowired
+  private EntityHelper entityHelper;
+
+  @Autowired
+  private ProjectRepository projectRepository;
+
+  @Autowired
+  private ProjectMemberRepository projectMemberRepository;
+
+  @Test
+  @SuppressWarnings("unchecked")
+  public void listTenThousandGroups() throws Exception {
+    String run = Long.toString(System.currentTimeMillis());
+    User owner = entityHelper.createUser("owner-" + run);
+    User member = entityHelper.createUser("member-" + run);
+    FuseSession session = fuseSessionController.createSession(member);
+
+    List<Project> projects = new ArrayList<>();
+    for (int i = 0; i < GROUPS; i++) {
+      Project project = new Project();
+      project.setName("listing-" + run + "-" + i);
+      project.setOwner(owner);
+      project.setRestriction("NONE");
+      project.setDeleted(false);
+      projects.add(project);
+    }
+    projectRepository.save(projects);
+
+    // The member joins every tenth project
+    List<ProjectMember> memberships = new ArrayList<>();
+    for (int i = 0; i < GROUPS; i += 10) {
+      ProjectMember membership = new ProjectMember();
+      membership.setGroup(projects.get(i));
+      membership.setUser(member);
+      membership.setRoleId(RoleValue.DEFAULT_USER);
+      memberships.add(membership);
+    }
+    projectMemberRepository.save(memberships);
+
+    long start = System.nanoTime();
+    int pages = 0;
+    int listed = 0;
+    List<Map<String, Object>> page;
+    do {
+      String json = mockMvc.perform(get("/projects")
+          .header("SESSIONID", session.getSessionId())
+          .param("page", Integer.toString(pages))
+          .param("size", Integer.toString(PAGE_SIZE)))
+          .andReturn().getResponse().getContentAsString();
+      GeneralResponse response = new ObjectMapper().readValue(json, GeneralResponse.class);
+      assertEquals(OK, response.getStatus());
+      page = (List<Map<String, Object>>) response.getData();
+      listed += page.size();
+      pages++;
+    } while (page.size() == PAGE_SIZE);
+    long listingMillis = (System.nanoTime() - start) / 1000000;
+    logger.info(String.format("Listed %d groups in %d pages: %d ms (%.2f ms/page)",
+        listed, pages, listingMillis, (double) listingMillis / pages));
+    assertTrue(listed >= GROUPS);
+
+    List<Project> firstPage = projects.subList(0, PAGE_SIZE);
+
+    start = System.nanoTime();
+    for (Project project : firstPage) {
+      UserToGroupPermission<Project> permission = permissionFactory.createUserToProjectPermission(member, project);
+      permission.canJoin();
+      permission.hasApplied();
+      permission.canUpdate();
+    }
+    long perGroupMicros = (System.nanoTime() - start) / 1000;
+
+    start = System.nanoTime();
+    Map<Long, ? extends UserToGroupPermission<Project>> batched =
+        permissionFactory.createUserToProjectPermissions(member, firstPage);
+    for (Project project : firstPage) {
+      UserToGroupPermission<Project> permission = batched.get(project.getId());
+      permission.canJoin();
+      permission.hasApplied();
+      permission.canUpdate();
+    }
+    long batchedMicros = (System.nanoTime() - start) / 1000;
+    logger.info(String.format("Permissions for %d groups: per group %d us, batched %d us",
+        PAGE_SIZE, perGroupMicros, batchedMicros));
+
+    for (int i = 0; i < PAGE_SIZE; i++) {
+      Project project = firstPage.get(i);
+      boolean isMember = i % 10 == 0;
+      assertEquals(isMember, batched.get(project.getId()).isMember());
+      assertFalse(batched.get(project.getId()).canUpdate());
+    }
+  }
+}
@@ -0,0 +1,61 @@
+package group;
+
+import framework.EntityHelper;
+import framework.RestTester;
+import org.junit.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.web.servlet.MockMvc;
+import server.controllers.FuseSessionController;
+import server.entities.dto.FuseSession;
+import server.entities.dto.group.project.Project;
+import server.entities.dto.group.project.ProjectProfile;
+import server.entities.dto.user.User;
+import server.repositories.group.project.ProjectRepository;
+
+import static junit.framework.TestCase.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+/**
+ * Compares the summary and detail views of a project and of a user
+ */
+public class GroupViewTest extends RestTester {
+
+  @Autowired
+  private MockMvc mockMvc;
+
+  @Autowired
+  private FuseSessionController fuseSessionController;
+
+  @Autowired
+  private EntityHelper entityHelper;
+
+  @Autowired
+  private ProjectRepository projectRepository;
+
+  @Test
+  public void summaryIsSmallerThanDetail() throws Exception {
+    String run = Long.toString(System.currentTimeMillis());
+    User owner = entityHelper.createUser("owner-" + run);
+    Project project = entityHelper.createProject(owner, "views-" + run);
+    ProjectProfile profile = new ProjectProfile();
+    profile.setHeadline("headline-" + run);
+    profile.setSummary("A long description of the project that only the detail view carries. " + run);
+    project.setProfile(profile);
+    profile.setProject(project);
+    project = projectRepository.save(project);
+    FuseSession session = fuseSessionController.createSession(owner);
+
+    for (String path : new String[]{"/projects/" + project.getId(), "/users/" + owner.getId()}) {
+      String summary = read(session, path, "summary");
+      String detail = read(session, path, "detail");
+      assertTrue(summary.contains("\"status\":\"OK\""));
+      assertTrue(summary.length() < detail.length());
+    }
+    assertTrue(read(session, "/projects/" + project.getId(), "summary").contains("headline-" + run));
+  }
+
+  private String read(FuseSession session, String path, String view) throws Exception {
+    return mockMvc.perform(get(path).header("SESSIONID", session.getSessionId()).param("view", view))
+        .andReturn().getResponse().getContentAsString();
+  }
+}
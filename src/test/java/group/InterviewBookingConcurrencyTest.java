@@ -0,0 +1,111 @@
+package group;
+
+import framework.EntityHelper;
+import org.junit.After;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit4.SpringRunner;
+import server.Application;
+import server.config.Dependencies;
+import server.entities.dto.group.interview.Interview;
+import server.entities.dto.group.project.Project;
+import server.entities.dto.user.User;
+import server.repositories.group.InterviewRepository;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static junit.framework.TestCase.assertEquals;
+import static junit.framework.TestCase.assertTrue;
+import static server.constants.Availability.AVAILABLE;
+import static server.constants.Availability.NOT_AVAILABLE;
+
+/**
+ * Books one interview slot from many threads at once. Not transactional like {@link framework.RestTester}: every
+ * booking has to commit so the other threads can see it.
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest
+@ContextConfiguration(classes = {Dependencies.class, Application.class})
+@ComponentScan("framework")
+public class InterviewBookingConcurrencyTest {
+
+  private static final int THREADS = 16;
+  private static final int APPLICANTS = 64;
+
+  @Autowired
+  private EntityHelper entityHelper;
+
+  @Autowired
+  private InterviewRepository interviewRepository;
+
+  @After
+  public void deleteCreated() throws InterruptedException {
+    entityHelper.deleteCreated();
+  }
+
+  @Test
+  public void slotIsBookedOnce() throws Exception {
+    String run = Long.toString(System.currentTimeMillis());
+    Project project = entityHelper.createProject(entityHelper.createUser("owner-" + run), "booking-" + run);
+    Interview interview = entityHelper.createInterview(project, null, now().plusDays(1));
+
+    List<User> applicants = new ArrayList<>();
+    List<Callable<Integer>> bookings = new ArrayList<>();
+    for (int i = 0; i < APPLICANTS; i++) {
+      User applicant = entityHelper.createUser("applicant-" + run + "-" + i);
+      applicants.add(applicant);
+      bookings.add(() -> interviewRepository.book(interview.getId(), project.getId(), project.getGroupType(), applicant, now()));
+    }
+
+    int booked = 0;
+    for (int updated : runAll(bookings)) {
+      booked += updated;
+    }
+    assertEquals(1, booked);
+
+    Interview saved = interviewRepository.findOne(interview.getId());
+    assertEquals(NOT_AVAILABLE, saved.getAvailability());
+    Long bookedBy = saved.getUser().getId();
+    assertTrue(applicants.stream().anyMatch(applicant -> applicant.getId().equals(bookedBy)));
+  }
+
+  @Test
+  public void pastSlotIsNotBooked() {
+    String run = Long.toString(System.currentTimeMillis());
+    Project project = entityHelper.createProject(entityHelper.createUser("owner-" + run), "booking-" + run);
+    Interview interview = entityHelper.createInterview(project, null, now().minusHours(1));
+
+    assertEquals(0, interviewRepository.book(interview.getId(), project.getId(), project.getGroupType(),
+        entityHelper.createUser("applicant-" + run), now()));
+    assertEquals(AVAILABLE, interviewRepository.findOne(interview.getId()).getAvailability());
+  }
+
+  private static LocalDateTime now() {
+    return ZonedDateTime.now(ZoneOffset.UTC).toLocalDateTime();
+  }
+
+  private List<Integer> runAll(List<Callable<Integer>> tasks) throws Exception {
+    ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+    try {
+      List<Integer> results = new ArrayList<>();
+      for (Future<Integer> future : executor.invokeAll(tasks)) {
+        results.add(future.get());
+      }
+      return results;
+    } finally {
+      executor.shutdown();
+    }
+  }
+}
@@ -0,0 +1,111 @@
+package group;
+
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import server.entities.dto.TimeInterval;
+import server.entities.dto.group.interview.Interview;
+import server.utility.InterviewSchedule;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static junit.framework.TestCase.assertEquals;
+import static junit.framework.TestCase.assertFalse;
+import static junit.framework.TestCase.assertTrue;
+
+/**
+ * Checks new slots against a group's existing ones by comparing every pair and with {@link InterviewSchedule}
+ */
+public class InterviewScheduleBenchmarkTest {
+
+  private static final Logger logger = LoggerFactory.getLogger(InterviewScheduleBenchmarkTest.class);
+
+  private static final int EXISTING = 20000;
+  private static final int ADDED = 2000;
+  private static final int ROUNDS = 5;
+
+  private static final LocalDateTime START = LocalDateTime.of(2030, 1, 1, 0, 0);
+
+  @Test
+  public void indexMatchesPairwiseComparison() {
+    Random random = new Random(42);
+    List<Interview> existing = new ArrayList<>();
+    for (int i = 0; i < EXISTING; i++) {
+      existing.add(slot(random.nextInt(EXISTING * 60), 15 + random.nextInt(45)));
+    }
+    List<Interview> added = new ArrayList<>();
+    for (int i = 0; i < ADDED; i++) {
+      added.add(slot(random.nextInt(EXISTING * 60), 15 + random.nextInt(45)));
+    }
+
+    long pairwiseNanos = 0;
+    long indexNanos = 0;
+    for (int round = 0; round < ROUNDS; round++) {
+      long start = System.nanoTime();
+      boolean[] expected = new boolean[ADDED];
+      for (int i = 0; i < ADDED; i++) {
+        for (Interview interview : existing) {
+          if (overlaps(added.get(i), interview)) {
+            expected[i] = true;
+            break;
+          }
+        }
+      }
+      pairwiseNanos += System.nanoTime() - start;
+
+      start = System.nanoTime();
+      InterviewSchedule schedule = new InterviewSchedule(existing);
+      boolean[] actual = new boolean[ADDED];
+      for (int i = 0; i < ADDED; i++) {
+        actual[i] = schedule.overlaps(added.get(i).getStartDateTime(), added.get(i).getEndDateTime());
+      }
+      indexNanos += System.nanoTime() - start;
+
+      assertTrue(Arrays.equals(expected, actual));
+    }
+
+    logger.info(String.format("%d new slots against %d existing: pairwise %.2f ms/round, index %.2f ms/round",
+        ADDED, EXISTING, pairwiseNanos / 1e6 / ROUNDS, indexNanos / 1e6 / ROUNDS));
+  }
+
+  @Test
+  public void findsOverlapsAndFreeWindows() {
+    InterviewSchedule schedule = new InterviewSchedule(Arrays.asList(slot(60, 30), slot(0, 30), slot(70, 10), slot(180, 60)));
+
+    assertFalse(schedule.overlaps(at(30), at(60)));
+    assertTrue(schedule.overlaps(at(29), at(31)));
+    assertTrue(schedule.overlaps(at(75), at(200)));
+    assertFalse(schedule.overlapsAny(Arrays.asList(slot(30, 15), slot(45, 15), slot(90, 90))));
+    assertTrue(schedule.overlapsAny(Arrays.asList(slot(30, 15), slot(40, 15))));
+    assertTrue(schedule.overlapsAny(Arrays.asList(slot(0, 30))));
+
+    List<TimeInterval> windows = schedule.getFreeWindows(at(15), at(300), Duration.ofMinutes(45));
+    assertEquals(2, windows.size());
+    assertEquals(at(90), windows.get(0).getStartDateTime());
+    assertEquals(at(180), windows.get(0).getEndDateTime());
+    assertEquals(at(240), windows.get(1).getStartDateTime());
+    assertEquals(at(300), windows.get(1).getEndDateTime());
+
+    assertEquals(3, schedule.getFreeWindows(at(15), at(300), Duration.ZERO).size());
+  }
+
+  private static boolean overlaps(Interview a, Interview b) {
+    return a.getStartDateTime().isBefore(b.getEndDateTime()) && b.getStartDateTime().isBefore(a.getEndDateTime());
+  }
+
+  private static LocalDateTime at(int minutes) {
+    return START.plusMinutes(minutes);
+  }
+
+  private static Interview slot(int startMinutes, int lengthMinutes) {
+    Interview interview = new Interview();
+    interview.setStartDateTime(at(startMinutes));
+    interview.setEndDateTime(at(startMinutes + lengthMinutes));
+    return interview;
+  }
+}
@@ -0,0 +1,76 @@
+package group;
+
+import framework.EntityHelper;
+import framework.RestTester;
+import org.junit.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import server.controllers.rest.errors.BadDataException;
+import server.entities.dto.TimeInterval;
+import server.entities.dto.group.organization.Organization;
+import server.entities.dto.user.User;
+import server.handlers.InterviewTemplateHelper;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.List;
+
+import static junit.framework.TestCase.assertEquals;
+import static junit.framework.TestCase.fail;
+import static server.constants.Recurrence.WEEKLY;
+
+/**
+ * Generates a weekly interview template for every project of an organization in one batch
+ */
+public class InterviewTemplateBatchTest extends RestTester {
+
+  private static final int PROJECTS = 50;
+
+  @Autowired
+  private InterviewTemplateHelper interviewTemplateHelper;
+
+  @Autowired
+  private EntityHelper entityHelper;
+
+  @Autowired
+  private JdbcTemplate jdbcTemplate;
+
+  @Test
+  public void weeklyTemplateCreatesSlotsForEveryProject() throws BadDataException {
+    String run = Long.toString(System.currentTimeMillis());
+    User owner = entityHelper.createUser("owner-" + run);
+    Organization organization = entityHelper.createOrganization(owner, "template-" + run);
+    for (int i = 0; i < PROJECTS; i++) {
+      entityHelper.createProject(owner, organization, "template-" + run + "-" + i);
+    }
+
+    LocalDateTime start = ZonedDateTime.now(ZoneOffset.UTC).toLocalDateTime().plusDays(1).withNano(0);
+    List<TimeInterval> occurrences = interviewTemplateHelper.getOccurrences(start, start.plusMinutes(30), WEEKLY,
+        start.plusWeeks(3).toString() + "Z");
+    assertEquals(4, occurrences.size());
+    assertEquals(start.plusWeeks(3), occurrences.get(3).getStartDateTime());
+
+    int created = interviewTemplateHelper.createTemplates(organization, occurrences);
+    assertEquals(PROJECTS * 4, created);
+
+    assertEquals(PROJECTS * 4, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM interview i "
+        + "INNER JOIN project p ON p.id = i.group_id AND i.group_type = 'Project' "
+        + "WHERE p.organization_id = ? AND i.available = 'Y'", Integer.class, organization.getId()).intValue());
+    assertEquals(4, interviewTemplateHelper.getAllTemplates(organization).size());
+
+    try {
+      interviewTemplateHelper.getOccurrences(start, start.plusMinutes(30), "hourly", start.plusDays(1).toString() + "Z");
+      fail();
+    } catch (BadDataException e) {
+      // expected
+    }
+
+    try {
+      interviewTemplateHelper.getOccurrences(start, start.plusMinutes(30), WEEKLY, "next month");
+      fail();
+    } catch (BadDataException e) {
+      // expected
+    }
+  }
+}
@@ -0,0 +1,144 @@
+package group;
+
+import framework.EntityHelper;
+import framework.RestTester;
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import server.constants.RoleValue;
+import server.entities.dto.group.organization.Organization;
+import server.entities.dto.group.organization.OrganizationMember;
+import server.entities.dto.group.project.Project;
+import server.entities.dto.group.project.ProjectMember;
+import server.entities.dto.user.User;
+import server.entities.dto.user.UserProjectCount;
+import server.entities.user_to_group.permissions.PermissionFactory;
+import server.entities.user_to_group.permissions.UserToGroupPermission;
+import server.handlers.StatisticsHelper;
+import server.repositories.UserRepository;
+import server.repositories.group.organization.OrganizationMemberRepository;
+import server.repositories.group.project.ProjectMemberRepository;
+import server.repositories.group.project.ProjectRepository;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static junit.framework.TestCase.assertEquals;
+
+/**
+ * Counts the projects of 1,000 organization members over 200 projects, member by member and with the grouped query
+ */
+public class MemberProjectCountBenchmarkTest extends RestTester {
+
+  private static final Logger logger = LoggerFactory.getLogger(MemberProjectCountBenchmarkTest.class);
+
+  private static final int MEMBERS = 1000;
+  private static final int PROJECTS = 200;
+
+  @Autowired
+  private StatisticsHelper statisticsHelper;
+
+  @Autowired
+  private PermissionFactory permissionFactory;
+
+  @Autowired
+  private EntityHelper entityHelper;
+
+  @Autowired
+  private UserRepository userRepository;
+
+  @Autowired
+  private OrganizationMemberRepository organizationMemberRepository;
+
+  @Autowired
+  private ProjectRepository projectRepository;
+
+  @Autowired
+  private ProjectMemberRepository projectMemberRepository;
+
+  @Test
+  public void groupedCountMatchesPerMemberCount() throws Exception {
+    String run = Long.toString(System.currentTimeMillis());
+    User admin = entityHelper.createUser("admin-" + run);
+    Organization organization = entityHelper.createOrganization(admin, "counts-" + run);
+
+    List<User> users = new ArrayList<>();
+    for (int u = 0; u < MEMBERS; u++) {
+      User user = new User();
+      user.setName("member-" + run + "-" + u);
+      user.setEmail("member-" + run + "-" + u + "@test.com");
+      users.add(user);
+    }
+    users = userRepository.save(users);
+
+    List<OrganizationMember> organizationMembers = new ArrayList<>();
+    organizationMembers.add(organizationMember(organization, admin, RoleValue.ADMIN));
+    users.forEach(user -> organizationMembers.add(organizationMember(organization, user, RoleValue.DEFAULT_USER)));
+    organizationMemberRepository.save(organizationMembers);
+
+    List<Project> projects = new ArrayList<>();
+    for (int p = 0; p < PROJECTS; p++) {
+      Project project = new Project();
+      project.setName("counts-" + run + "-" + p);
+      project.setOwner(admin);
+      project.setOrganization(organization);
+      project.setRestriction("NONE");
+      project.setDeleted(false);
+      projects.add(project);
+    }
+    projects = projectRepository.save(projects);
+
+    // Every member joins every twentieth project; invitations alone don't count as membership
+    List<ProjectMember> projectMembers = new ArrayList<>();
+    for (int u = 0; u < MEMBERS; u++) {
+      for (int p = u % 20; p < PROJECTS; p += 20) {
+        projectMembers.add(projectMember(projects.get(p), users.get(u), u % 7 == 0 ? RoleValue.ADMIN : RoleValue.DEFAULT_USER));
+      }
+      projectMembers.add(projectMember(projects.get((u + 1) % PROJECTS), users.get(u), RoleValue.INVITED_TO_JOIN));
+    }
+    projectMemberRepository.save(projectMembers);
+
+    long start = System.nanoTime();
+    Map<Long, Integer> perMember = new HashMap<>();
+    for (User user : users) {
+      perMember.put(user.getId(), (int) permissionFactory.createUserToProjectPermissions(user, projects).values().stream()
+          .filter(UserToGroupPermission::isMember).count());
+    }
+    long perMemberMillis = (System.nanoTime() - start) / 1000000;
+
+    start = System.nanoTime();
+    List<UserProjectCount> grouped = statisticsHelper.organizationMembersProjectCount(organization.getId(), admin);
+    long groupedMillis = (System.nanoTime() - start) / 1000000;
+    logger.info(String.format("%d members x %d projects: per member %d ms, grouped %d ms",
+        MEMBERS, PROJECTS, perMemberMillis, groupedMillis));
+
+    assertEquals(MEMBERS + 1, grouped.size());
+    for (UserProjectCount count : grouped) {
+      if (count.getUser().getId().equals(admin.getId())) {
+        assertEquals(0, count.getProjectCount());
+      } else {
+        assertEquals(PROJECTS / 20, count.getProjectCount());
+        assertEquals(perMember.get(count.getUser().getId()).intValue(), count.getProjectCount());
+      }
+    }
+  }
+
+  private OrganizationMember organizationMember(Organization organization, User user, int role) {
+    OrganizationMember member = new OrganizationMember();
+    member.setGroup(organization);
+    member.setUser(user);
+    member.setRoleId(role);
+    return member;
+  }
+
+  private ProjectMember projectMember(Project project, User user, int role) {
+    ProjectMember member = new ProjectMember();
+    member.setGroup(project);
+    member.setUser(user);
+    member.setRoleId(role);
+    return member;
+  }
+}
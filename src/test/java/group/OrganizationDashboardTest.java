@@ -0,0 +1,110 @@
+package group;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import framework.EntityHelper;
+import org.junit.After;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.web.servlet.MockMvc;
+import server.Application;
+import server.config.Dependencies;
+import server.constants.RoleValue;
+import server.controllers.FuseSessionController;
+import server.controllers.rest.response.GeneralResponse;
+import server.entities.dto.FuseSession;
+import server.entities.dto.group.organization.Organization;
+import server.entities.dto.group.project.Project;
+import server.entities.dto.user.User;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static junit.framework.TestCase.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static server.controllers.rest.response.BaseResponse.Status.DENIED;
+import static server.controllers.rest.response.BaseResponse.Status.OK;
+
+/**
+ * Loads the organization dashboard, from the cache and again after an interview is added. Not transactional like
+ * {@link framework.RestTester}: the sections are computed on other threads, which only see committed data.
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest
+@ContextConfiguration(classes = {Dependencies.class, Application.class})
+@ComponentScan("framework")
+@AutoConfigureMockMvc
+public class OrganizationDashboardTest {
+
+  @Autowired
+  private MockMvc mockMvc;
+
+  @Autowired
+  private FuseSessionController fuseSessionController;
+
+  @Autowired
+  private EntityHelper entityHelper;
+
+  @After
+  public void deleteCreated() throws InterruptedException {
+    entityHelper.deleteCreated();
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  public void dashboardIsCachedUntilSomethingChanges() throws Exception {
+    String run = Long.toString(System.currentTimeMillis());
+    User admin = entityHelper.createUser("admin-" + run);
+    User member = entityHelper.createUser("member-" + run);
+
+    Organization organization = entityHelper.createOrganization(admin, "dashboard-" + run);
+    entityHelper.addMember(organization, admin, RoleValue.ADMIN);
+    entityHelper.addMember(organization, member, RoleValue.DEFAULT_USER);
+    Project project = entityHelper.createProject(admin, organization, "dashboard-" + run);
+    LocalDateTime tomorrow = LocalDateTime.now().plusDays(1);
+    entityHelper.createInterview(project, member, tomorrow);
+
+    String path = "/statistics/organizations/" + organization.getId() + "/dashboard";
+    FuseSession adminSession = fuseSessionController.createSession(admin);
+
+    Map<String, Object> first = getDashboard(path, adminSession);
+    assertEquals(2, ((List<?>) first.get("memberProjectCounts")).size());
+    assertEquals(1, totalInterviews(first));
+
+    Map<String, Object> cached = getDashboard(path, adminSession);
+    assertEquals(first.get("generatedAt"), cached.get("generatedAt"));
+
+    GeneralResponse denied = request(path, fuseSessionController.createSession(member));
+    assertEquals(DENIED, denied.getStatus());
+
+    entityHelper.createInterview(project, null, tomorrow.plusHours(1));
+    Map<String, Object> changed = getDashboard(path, adminSession);
+    assertEquals(2, totalInterviews(changed));
+  }
+
+  @SuppressWarnings("unchecked")
+  private int totalInterviews(Map<String, Object> dashboard) {
+    List<Map<String, Object>> summary = (List<Map<String, Object>>) dashboard.get("projectInterviewSummary");
+    assertEquals(1, summary.size());
+    return ((Number) summary.get(0).get("totalInterviews")).intValue();
+  }
+
+  @SuppressWarnings("unchecked")
+  private Map<String, Object> getDashboard(String path, FuseSession session) throws Exception {
+    GeneralResponse response = request(path, session);
+    assertEquals(OK, response.getStatus());
+    return (Map<String, Object>) response.getData();
+  }
+
+  private GeneralResponse request(String path, FuseSession session) throws Exception {
+    String json = mockMvc.perform(get(path).header("SESSIONID", session.getSessionId()))
+        .andReturn().getResponse().getContentAsString();
+    return new ObjectMapper().readValue(json, GeneralResponse.class);
+  }
+}
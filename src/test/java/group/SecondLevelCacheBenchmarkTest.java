@@ -0,0 +1,99 @@
+package group;
+
+import framework.EntityHelper;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.After;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.web.servlet.MockMvc;
+import server.Application;
+import server.config.Dependencies;
+import server.controllers.FuseSessionController;
+import server.entities.dto.FuseSession;
+import server.entities.dto.group.project.Project;
+import server.entities.dto.user.User;
+
+import static junit.framework.TestCase.assertEquals;
+import static junit.framework.TestCase.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+/**
+ * Reads the same project and user over and over, first with the second-level cache emptied before every request and
+ * then with it warm. Not transactional like {@link framework.RestTester}: inside one transaction every read after the
+ * first is served by the session itself and the second-level cache is never asked.
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest
+@ContextConfiguration(classes = {Dependencies.class, Application.class})
+@ComponentScan("framework")
+@AutoConfigureMockMvc
+public class SecondLevelCacheBenchmarkTest {
+
+  private static final Logger logger = LoggerFactory.getLogger(SecondLevelCacheBenchmarkTest.class);
+
+  private static final int REQUESTS = 500;
+
+  @Autowired
+  private MockMvc mockMvc;
+
+  @Autowired
+  private SessionFactory sessionFactory;
+
+  @Autowired
+  private FuseSessionController fuseSessionController;
+
+  @Autowired
+  private EntityHelper entityHelper;
+
+  @After
+  public void deleteCreated() throws InterruptedException {
+    entityHelper.deleteCreated();
+  }
+
+  @Test
+  public void cachedReadsOfProjectsAndUsers() throws Exception {
+    String run = Long.toString(System.currentTimeMillis());
+    User owner = entityHelper.createUser("owner-" + run);
+    Project project = entityHelper.createProject(owner, "cache-" + run);
+    FuseSession session = fuseSessionController.createSession(entityHelper.createUser("reader-" + run));
+
+    String[] paths = {"/projects/" + project.getId(), "/users/" + owner.getId()};
+    Statistics statistics = sessionFactory.getStatistics();
+
+    long coldNanos = 0;
+    for (int i = 0; i < REQUESTS; i++) {
+      sessionFactory.getCache().evictAllRegions();
+      long start = System.nanoTime();
+      read(session, paths[i % paths.length]);
+      coldNanos += System.nanoTime() - start;
+    }
+
+    long hitsBefore = statistics.getSecondLevelCacheHitCount();
+    long warmNanos = 0;
+    for (int i = 0; i < REQUESTS; i++) {
+      long start = System.nanoTime();
+      read(session, paths[i % paths.length]);
+      warmNanos += System.nanoTime() - start;
+    }
+    long hits = statistics.getSecondLevelCacheHitCount() - hitsBefore;
+
+    logger.info(String.format("%d reads: %.3f ms/read without the second-level cache, %.3f ms/read with it (%d cache hits)",
+        REQUESTS, coldNanos / 1e6 / REQUESTS, warmNanos / 1e6 / REQUESTS, hits));
+    assertTrue(hits >= REQUESTS);
+  }
+
+  private void read(FuseSession session, String path) throws Exception {
+    int status = mockMvc.perform(get(path).header("SESSIONID", session.getSessionId()))
+        .andReturn().getResponse().getStatus();
+    assertEquals(200, status);
+  }
+}
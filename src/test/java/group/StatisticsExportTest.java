@@ -0,0 +1,103 @@
+package group;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import framework.EntityHelper;
+import org.junit.After;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import server.Application;
+import server.config.Dependencies;
+import server.constants.RoleValue;
+import server.controllers.FuseSessionController;
+import server.entities.dto.FuseSession;
+import server.entities.dto.group.organization.Organization;
+import server.entities.dto.group.project.Project;
+import server.entities.dto.user.User;
+
+import java.time.LocalDateTime;
+
+import static junit.framework.TestCase.assertEquals;
+import static junit.framework.TestCase.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+/**
+ * Downloads organization statistics as CSV and NDJSON. Not transactional like {@link framework.RestTester}: the
+ * export streams on its own connection after the request thread has returned, so it only sees committed data.
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest
+@ContextConfiguration(classes = {Dependencies.class, Application.class})
+@ComponentScan("framework")
+@AutoConfigureMockMvc
+public class StatisticsExportTest {
+
+  @Autowired
+  private MockMvc mockMvc;
+
+  @Autowired
+  private FuseSessionController fuseSessionController;
+
+  @Autowired
+  private EntityHelper entityHelper;
+
+  @After
+  public void deleteCreated() throws InterruptedException {
+    entityHelper.deleteCreated();
+  }
+
+  @Test
+  public void exportsCsvAndNdjson() throws Exception {
+    String run = Long.toString(System.currentTimeMillis());
+    User admin = entityHelper.createUser("admin-" + run);
+    User member = entityHelper.createUser("member, \"quoted\" " + run);
+
+    Organization organization = entityHelper.createOrganization(admin, "export-" + run);
+    entityHelper.addMember(organization, admin, RoleValue.ADMIN);
+    entityHelper.addMember(organization, member, RoleValue.DEFAULT_USER);
+    Project project = entityHelper.createProject(admin, organization, "export-" + run);
+    LocalDateTime tomorrow = LocalDateTime.now().plusDays(1);
+    entityHelper.createInterview(project, member, tomorrow);
+    entityHelper.createInterview(project, null, tomorrow);
+
+    String path = "/statistics/organizations/" + organization.getId() + "/export/";
+    FuseSession adminSession = fuseSessionController.createSession(admin);
+
+    MockHttpServletResponse csv = export(path + "project-interview-breakdown?format=csv", adminSession);
+    assertEquals(200, csv.getStatus());
+    assertTrue(csv.getContentType().startsWith("text/csv"));
+    String[] lines = csv.getContentAsString().split("\r\n");
+    assertEquals(3, lines.length);
+    assertTrue(lines[0].startsWith("id,org_id,proj_id,proj_name,member_id,member_name"));
+    assertTrue(csv.getContentAsString().contains("\"member, \"\"quoted\"\" " + run + "\""));
+
+    MockHttpServletResponse ndjson = export(path + "invalid-profiles-breakdown?format=ndjson", adminSession);
+    assertEquals(200, ndjson.getStatus());
+    String[] rows = ndjson.getContentAsString().split("\n");
+    assertEquals(2, rows.length);
+    ObjectMapper objectMapper = new ObjectMapper();
+    for (String row : rows) {
+      JsonNode node = objectMapper.readTree(row);
+      assertEquals(organization.getId().longValue(), node.get("org_id").asLong());
+    }
+
+    assertEquals(400, export(path + "nothing", adminSession).getStatus());
+    assertEquals(400, export(path + "project-interview-summary?format=xml", adminSession).getStatus());
+    assertEquals(401, export(path + "project-interview-summary", fuseSessionController.createSession(member)).getStatus());
+  }
+
+  private MockHttpServletResponse export(String path, FuseSession session) throws Exception {
+    MvcResult result = mockMvc.perform(get(path).header("SESSIONID", session.getSessionId())).andReturn();
+    return mockMvc.perform(asyncDispatch(result)).andReturn().getResponse();
+  }
+}
@@ -0,0 +1,130 @@
+package group;
+
+import framework.EntityHelper;
+import framework.RestTester;
+import org.junit.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import server.constants.RoleValue;
+import server.entities.dto.group.interview.Interview;
+import server.entities.dto.group.organization.Organization;
+import server.entities.dto.group.project.Project;
+import server.entities.dto.statistics.MemberProjectOrganizationInterviewSummaryView;
+import server.entities.dto.statistics.ProjectOrganizationInterviewSummaryView;
+import server.entities.dto.statistics.UsersWithInvalidProfilesBreakdownView;
+import server.entities.dto.statistics.UsersWithInvalidProfilesSummaryView;
+import server.entities.dto.user.User;
+import server.entities.dto.user.UserProfile;
+import server.repositories.UserRepository;
+import server.repositories.group.InterviewRepository;
+import server.repositories.group.organization.OrganizationRepository;
+import server.service.StatisticsRebuildService;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static junit.framework.TestCase.assertEquals;
+import static junit.framework.TestCase.assertFalse;
+import static junit.framework.TestCase.assertTrue;
+
+/**
+ * Changes interviews, projects and profiles and checks that the statistics tables follow, before and after a rebuild
+ */
+public class StatisticsTablesTest extends RestTester {
+
+  @PersistenceContext
+  private EntityManager entityManager;
+
+  @Autowired
+  private StatisticsRebuildService statisticsRebuildService;
+
+  @Autowired
+  private EntityHelper entityHelper;
+
+  @Autowired
+  private UserRepository userRepository;
+
+  @Autowired
+  private OrganizationRepository organizationRepository;
+
+  @Autowired
+  private InterviewRepository interviewRepository;
+
+  @Test
+  public void tablesFollowChanges() {
+    String run = Long.toString(System.currentTimeMillis());
+    User admin = entityHelper.createUser("admin-" + run);
+    User member = entityHelper.createUser("member-" + run);
+    UserProfile profile = new UserProfile();
+    profile.setHeadline("Headline");
+    member.setProfile(profile);
+    member = userRepository.save(member);
+
+    Organization organization = entityHelper.createOrganization(admin, "stats-" + run);
+    entityHelper.addMember(organization, admin, RoleValue.ADMIN);
+    entityHelper.addMember(organization, member, RoleValue.DEFAULT_USER);
+    entityHelper.addMember(organization, member, RoleValue.INVITED_TO_INTERVIEW);
+    Project project = entityHelper.createProject(admin, organization, "stats-" + run);
+
+    LocalDateTime tomorrow = LocalDateTime.now().plusDays(1);
+    entityHelper.createInterview(project, null, tomorrow);
+    Interview booked = entityHelper.createInterview(project, member, tomorrow.plusHours(1));
+    entityHelper.createInterview(project, member, LocalDateTime.now().minusDays(1));
+
+    Long organizationId = organization.getId();
+    assertProjectSummary(organizationId, "stats-" + run, 3, 2);
+    assertEquals(1, upcomingInterviews(organizationId, member).longValue());
+    assertEquals(2, organizationRepository.getProjectOrganizationInterviewBreakdown(organizationId).size());
+    assertProfiles(organizationId, member, false);
+
+    // Rename the project, release one interview and complete the member's profile
+    project.setName("renamed-" + run);
+    booked.setUser(null);
+    interviewRepository.save(booked);
+    member.getProfile().setSummary("Summary");
+    entityManager.flush();
+
+    assertProjectSummary(organizationId, "renamed-" + run, 3, 1);
+    assertEquals(0, upcomingInterviews(organizationId, member).longValue());
+    assertProfiles(organizationId, member, true);
+
+    statisticsRebuildService.rebuild();
+    assertProjectSummary(organizationId, "renamed-" + run, 3, 1);
+    assertEquals(0, upcomingInterviews(organizationId, member).longValue());
+    assertProfiles(organizationId, member, true);
+
+    project.setDeleted(true);
+    entityManager.flush();
+    assertTrue(organizationRepository.getProjectOrganizationInterviewSummary(organizationId).isEmpty());
+  }
+
+  private void assertProjectSummary(Long organizationId, String name, long total, long used) {
+    List<ProjectOrganizationInterviewSummaryView> summary = organizationRepository.getProjectOrganizationInterviewSummary(organizationId);
+    assertEquals(1, summary.size());
+    assertEquals(name, summary.get(0).getProjectName());
+    assertEquals(total, summary.get(0).getTotalInterviews().longValue());
+    assertEquals(used, summary.get(0).getUsedInterviews().longValue());
+  }
+
+  private Long upcomingInterviews(Long organizationId, User member) {
+    return organizationRepository.getMemberProjectOrganizationInterviewSummary(organizationId).stream()
+        .filter(row -> row.getMemberId().equals(member.getId()))
+        .map(MemberProjectOrganizationInterviewSummaryView::getNumberOfInterviews)
+        .findFirst().orElse(-1L);
+  }
+
+  private void assertProfiles(Long organizationId, User member, boolean hasSummary) {
+    List<UsersWithInvalidProfilesSummaryView> summary = organizationRepository.getUsersWithInvalidProfilesSummary(organizationId);
+    assertEquals(1, summary.size());
+    assertEquals(2, summary.get(0).getNumMembers().longValue());
+    assertEquals(hasSummary ? 1 : 2, summary.get(0).getNumMembersNoSummary().longValue());
+    assertEquals(1, summary.get(0).getNumMembersNoHeadline().longValue());
+
+    UsersWithInvalidProfilesBreakdownView breakdown = organizationRepository.getUsersWithInvalidProfilesBreakdown(organizationId)
+        .stream().filter(row -> row.getMemberId().equals(member.getId())).findFirst().get();
+    assertTrue(breakdown.isHasHeadline());
+    assertFalse(breakdown.isHasThumbnail());
+    assertEquals(hasSummary, breakdown.isHasSummary());
+  }
+}